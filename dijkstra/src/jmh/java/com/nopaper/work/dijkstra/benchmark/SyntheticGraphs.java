@@ -0,0 +1,168 @@
+/**
+ * @package com.nopaper.work.dijkstra.benchmark -> dijkstra
+ * @author saikatbarman
+ * @date 2025 28-Nov-2025 10:04:51 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.Location;
+
+/**
+ * Synthetic road-like graphs for the benchmarks, as request payloads so that every layer
+ * from JSON to the search can be fed the same graph. Node spacing is about 100 m around
+ * Kolkata with an average degree of about 5 (grid) or 7 (geometric), like a city road network.
+ * <p>
+ * 10M nodes need a large heap for the payload alone, e.g. {@code -jvmArgs -Xmx24g}.
+ */
+public final class SyntheticGraphs {
+
+    private static final double ORIGIN_LATITUDE = 22.0;
+    private static final double ORIGIN_LONGITUDE = 88.0;
+    private static final double SPACING = 0.001;
+
+    public enum Topology {
+        /** Jittered square grid, right and lower neighbours plus a diagonal on every third cell. */
+        GRID,
+        /** Uniform random points, each connected to all points within a fixed radius. */
+        GEOMETRIC
+    }
+
+    public record Payload(List<LocationDTO> locations, List<PathRequest.Connection> connections) {
+
+        public int size() {
+            return locations.size();
+        }
+
+        public List<Location> toLocations() {
+            List<Location> converted = new ArrayList<>(locations.size());
+            for (LocationDTO dto : locations)
+                converted.add(new Location(dto.getName(), dto.getLatitude(), dto.getLongitude()));
+            return converted;
+        }
+
+        /**
+         * Builds and compiles the graph through the public API
+         */
+        public GeographicGraph toGraph(List<Location> converted) {
+            GeographicGraph graph = new GeographicGraph();
+            converted.forEach(graph::addLocation);
+            for (PathRequest.Connection connection : connections)
+                graph.addEdge(converted.get(connection.getFrom()), converted.get(connection.getTo()));
+            graph.getCsrGraph();
+            return graph;
+        }
+
+        public PathRequest request(int startIndex, int endIndex) {
+            PathRequest request = new PathRequest();
+            request.setLocations(locations);
+            request.setConnections(connections);
+            request.setStartIndex(startIndex);
+            request.setEndIndex(endIndex);
+            return request;
+        }
+    }
+
+    private SyntheticGraphs() {}
+
+    public static Payload generate(Topology topology, int nodes, long seed) {
+        return topology == Topology.GRID ? grid(nodes, seed) : geometric(nodes, seed);
+    }
+
+    /**
+     * @return {@code count} random (start, end) index pairs, flattened
+     */
+    public static int[] queries(int nodes, int count, long seed) {
+        Random random = new Random(seed);
+        int[] pairs = new int[2 * count];
+        for (int i = 0; i < pairs.length; i++)
+            pairs[i] = random.nextInt(nodes);
+        return pairs;
+    }
+
+    static Payload grid(int nodes, long seed) {
+        Random random = new Random(seed);
+        int side = (int) Math.ceil(Math.sqrt(nodes));
+        List<LocationDTO> locations = new ArrayList<>(side * side);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                double lat = ORIGIN_LATITUDE + row * SPACING + random.nextDouble() * SPACING / 2;
+                double lon = ORIGIN_LONGITUDE + col * SPACING + random.nextDouble() * SPACING / 2;
+                locations.add(new LocationDTO("n" + (row * side + col), lat, lon));
+            }
+        }
+
+        List<PathRequest.Connection> connections = new ArrayList<>(side * side * 7 / 3);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int id = row * side + col;
+                if (col + 1 < side)
+                    connections.add(new PathRequest.Connection(id, id + 1));
+                if (row + 1 < side)
+                    connections.add(new PathRequest.Connection(id, id + side));
+                if (col + 1 < side && row + 1 < side && random.nextInt(3) == 0)
+                    connections.add(new PathRequest.Connection(id, id + side + 1));
+            }
+        }
+        return new Payload(locations, connections);
+    }
+
+    static Payload geometric(int nodes, long seed) {
+        Random random = new Random(seed);
+        double extent = Math.sqrt(nodes) * SPACING;
+        // Expected degree = nodes * pi * r^2 / extent^2 = 7, enough for one giant component
+        double radius = extent * Math.sqrt(7.0 / (Math.PI * nodes));
+
+        double[] lat = new double[nodes];
+        double[] lon = new double[nodes];
+        List<LocationDTO> locations = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            lat[i] = ORIGIN_LATITUDE + random.nextDouble() * extent;
+            lon[i] = ORIGIN_LONGITUDE + random.nextDouble() * extent;
+            locations.add(new LocationDTO("n" + i, lat[i], lon[i]));
+        }
+
+        // Bucket the points into cells of the radius, so only neighbouring cells are compared
+        int cells = Math.max(1, (int) (extent / radius));
+        int[] head = new int[cells * cells];
+        int[] next = new int[nodes];
+        Arrays.fill(head, -1);
+        for (int i = 0; i < nodes; i++) {
+            int cell = cellOf(lat[i] - ORIGIN_LATITUDE, cells, extent) * cells
+                     + cellOf(lon[i] - ORIGIN_LONGITUDE, cells, extent);
+            next[i] = head[cell];
+            head[cell] = i;
+        }
+
+        double radiusSquared = radius * radius;
+        List<PathRequest.Connection> connections = new ArrayList<>(nodes * 3);
+        for (int i = 0; i < nodes; i++) {
+            int row = cellOf(lat[i] - ORIGIN_LATITUDE, cells, extent);
+            int col = cellOf(lon[i] - ORIGIN_LONGITUDE, cells, extent);
+            for (int r = Math.max(0, row - 1); r <= Math.min(cells - 1, row + 1); r++) {
+                for (int c = Math.max(0, col - 1); c <= Math.min(cells - 1, col + 1); c++) {
+                    for (int j = head[r * cells + c]; j != -1; j = next[j]) {
+                        double dLat = lat[i] - lat[j];
+                        double dLon = lon[i] - lon[j];
+                        // Each pair once
+                        if (j > i && dLat * dLat + dLon * dLon <= radiusSquared)
+                            connections.add(new PathRequest.Connection(i, j));
+                    }
+                }
+            }
+        }
+        return new Payload(locations, connections);
+    }
+
+    private static int cellOf(double offset, int cells, double extent) {
+        return Math.min(cells - 1, (int) (offset / extent * cells));
+    }
+}
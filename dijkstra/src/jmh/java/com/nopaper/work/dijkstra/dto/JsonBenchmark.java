@@ -0,0 +1,91 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 28-Nov-2025 12:14:36 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * Jackson (de)serialization of the request and response bodies of /shortest, against
+ * the {@link BinaryPathCodec} encoding of the same response. The response carries a
+ * path through {@code pathLength} locations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"100", "10000"})
+    int nodes;
+
+    @Param({"10", "1000"})
+    int pathLength;
+
+    // Same inclusion as the application (spring.jackson.default-property-inclusion)
+    ObjectMapper objectMapper = new ObjectMapper().setDefaultPropertyInclusion(JsonInclude.Include.NON_NULL);
+    byte[] requestBody;
+    PathResponse response;
+
+    @Setup
+    public void generate() throws Exception {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(SyntheticGraphs.Topology.GRID, nodes, 42);
+        requestBody = objectMapper.writeValueAsBytes(payload.request(0, payload.size() - 1));
+
+        List<LocationDTO> path = new ArrayList<>(pathLength);
+        List<PathResponse.PathSegment> segments = new ArrayList<>(pathLength);
+        for (int i = 0; i < pathLength; i++) {
+            path.add(payload.locations().get(i % payload.size()));
+            if (i > 0) {
+                segments.add(new PathResponse.PathSegment(path.get(i - 1), path.get(i), 0.11));
+            }
+        }
+        response = new PathResponse();
+        response.setPathFound(true);
+        response.setPath(path);
+        response.setSegments(segments);
+        response.setTotalDistanceKm(0.11 * (pathLength - 1));
+        response.setMessage("Shortest path found successfully");
+    }
+
+    @Benchmark
+    public PathRequest readRequest() throws Exception {
+        return objectMapper.readValue(requestBody, PathRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] writeResponseBinary() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + 32 * pathLength);
+        BinaryPathCodec.write(response, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 28-Nov-2025 11:57:03 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Haversine distance, the weight of every edge built from a request, one pair per call
+ * and through the {@link GeoDistance} batch kernel. Reported per pair; the batch cases
+ * are vectorized since the benchmarks run with the Vector API module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistanceBenchmark {
+
+    private static final int POINTS = 1024;
+
+    Location[] locations;
+    double[] latitudes;
+    double[] longitudes;
+
+    // Consecutive points as the pairs of a batch
+    double[] lat1;
+    double[] lon1;
+    double[] lat2;
+    double[] lon2;
+    double[] distances = new double[POINTS - 1];
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        locations = new Location[POINTS];
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            latitudes[i] = 22.0 + random.nextDouble();
+            longitudes[i] = 88.0 + random.nextDouble();
+            locations[i] = new Location("n" + i, latitudes[i], longitudes[i]);
+        }
+        lat1 = Arrays.copyOfRange(latitudes, 0, POINTS - 1);
+        lon1 = Arrays.copyOfRange(longitudes, 0, POINTS - 1);
+        lat2 = Arrays.copyOfRange(latitudes, 1, POINTS);
+        lon2 = Arrays.copyOfRange(longitudes, 1, POINTS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public double distanceTo() {
+        double sum = 0;
+        for (int i = 1; i < POINTS; i++)
+            sum += locations[i - 1].distanceTo(locations[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public double distanceKm() {
+        double sum = 0;
+        for (int i = 1; i < POINTS; i++)
+            sum += Location.distanceKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public double[] haversineBatch() {
+        GeoDistance.distancesKm(GeoDistance.Mode.HAVERSINE, lat1, lon1, lat2, lon2, distances, POINTS - 1);
+        return distances;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(POINTS - 1)
+    public double[] equirectangularBatch() {
+        GeoDistance.distancesKm(GeoDistance.Mode.EQUIRECTANGULAR, lat1, lon1, lat2, lon2, distances, POINTS - 1);
+        return distances;
+    }
+}
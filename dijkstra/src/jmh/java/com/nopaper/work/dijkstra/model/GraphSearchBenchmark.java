@@ -0,0 +1,81 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 28-Nov-2025 11:38:25 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * Point-to-point queries on a prebuilt graph, per algorithm. Preprocessing for ALT and
+ * contraction hierarchies is done in the trial setup and not measured; queries cycle
+ * through a fixed set of random pairs so that runs are comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphSearchBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    @Param({"DIJKSTRA", "A_STAR", "BIDIRECTIONAL_DIJKSTRA", "ALT", "CONTRACTION_HIERARCHIES"})
+    SearchAlgorithm algorithm;
+
+    GeographicGraph graph;
+    int[] pairs;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void build() {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        List<Location> locations = payload.toLocations();
+        graph = payload.toGraph(locations);
+        if (algorithm == SearchAlgorithm.ALT)
+            graph.getLandmarkIndex();
+        if (algorithm == SearchAlgorithm.CONTRACTION_HIERARCHIES)
+            graph.getContractionHierarchy();
+
+        // Node ids of the query locations, resolved once
+        CsrGraph compiled = graph.getCsrGraph();
+        pairs = SyntheticGraphs.queries(locations.size(), QUERIES, 7);
+        for (int i = 0; i < pairs.length; i++)
+            pairs[i] = compiled.indexOf(locations.get(pairs[i]));
+    }
+
+    @Benchmark
+    public SearchResult search(Cursor cursor) {
+        int q = cursor.next++ % QUERIES;
+        return graph.search(pairs[2 * q], pairs[2 * q + 1], algorithm, SearchQueueType.DEFAULT);
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 01-Dec-2025 04:21:37 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * Top-k loopless routes between random node pairs, with the spur searches of each path on
+ * a pool of 1 to N workers. {@code k = 1} is a single A* search and the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class KShortestPathsBenchmark {
+
+    private static final int QUERIES = 64;
+
+    @Param({"10000", "100000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    @Param({"1", "4", "10"})
+    int k;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    GeographicGraph graph;
+    ForkJoinPool pool;
+    int[] pairs;
+    int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        graph = payload.toGraph(payload.toLocations());
+        pairs = SyntheticGraphs.queries(graph.getCsrGraph().getNodeCount(), QUERIES, 7);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Parallel streams started from a pool's worker run on that pool
+    @Benchmark
+    public List<SearchResult> kShortestPaths() {
+        int q = next++ % QUERIES;
+        return pool.submit(() -> graph.kShortestPaths(pairs[2 * q], pairs[2 * q + 1], k,
+                                                      SearchQueueType.DEFAULT)).join();
+    }
+}
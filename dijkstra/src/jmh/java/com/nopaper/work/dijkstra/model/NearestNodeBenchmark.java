@@ -0,0 +1,98 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 02-Dec-2025 12:26:05 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * Snapping coordinates to the nearest node: a {@link SpatialIndex} lookup against the
+ * linear scan clients had to do before, and the one-off cost of building the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NearestNodeBenchmark {
+
+    private static final int POINTS = 1024;
+
+    @Param({"10000", "1000000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    CsrGraph graph;
+    SpatialIndex index;
+    double[] latitudes;
+    double[] longitudes;
+    int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        graph = payload.toGraph(payload.toLocations()).getCsrGraph();
+        index = new SpatialIndex(graph);
+
+        // Points jittered around random nodes, like GPS fixes near the network
+        Random random = new Random(7);
+        latitudes = new double[POINTS];
+        longitudes = new double[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            int node = random.nextInt(graph.getNodeCount());
+            latitudes[i] = graph.getLatitude(node) + (random.nextDouble() - 0.5) * 0.01;
+            longitudes[i] = graph.getLongitude(node) + (random.nextDouble() - 0.5) * 0.01;
+        }
+    }
+
+    @Benchmark
+    public int nearestNode() {
+        int i = next++ % POINTS;
+        return index.nearest(latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        int i = next++ % POINTS;
+        int nearest = -1;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            double distance = Location.distanceKm(latitudes[i], longitudes[i], graph.getLatitude(v),
+                                                  graph.getLongitude(v));
+            if (distance < nearestDistance) {
+                nearest = v;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SpatialIndex buildIndex() {
+        return new SpatialIndex(graph);
+    }
+}
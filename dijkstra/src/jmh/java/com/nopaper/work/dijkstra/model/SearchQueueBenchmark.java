@@ -0,0 +1,95 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 11-Nov-2025 03:22:09 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * Point-to-point Dijkstra queries per {@link SearchQueueType}, with the inserts,
+ * decrease-keys and polls of each query reported as secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SearchQueueBenchmark {
+
+    private static final int QUERIES = 100;
+
+    @Param({"100000", "1000000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    @Param({"PRIORITY_QUEUE", "BINARY_HEAP", "QUATERNARY_HEAP", "RADIX_HEAP"})
+    SearchQueueType queueType;
+
+    CsrGraph graph;
+    int[] pairs;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long inserts;
+        public long decreases;
+        public long polls;
+
+        int next;
+        SearchContext context;
+    }
+
+    @Setup(Level.Trial)
+    public void build() {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        List<Location> locations = payload.toLocations();
+        graph = payload.toGraph(locations).getCsrGraph();
+
+        // Node ids of the query locations, resolved once
+        pairs = SyntheticGraphs.queries(locations.size(), QUERIES, 7);
+        for (int i = 0; i < pairs.length; i++)
+            pairs[i] = graph.indexOf(locations.get(pairs[i]));
+    }
+
+    @Benchmark
+    public int search(Counters counters) {
+        if (counters.context == null)
+            counters.context = new SearchContext(graph.getNodeCount());
+        SearchContext context = counters.context;
+        int q = counters.next++ % QUERIES;
+
+        context.reset();
+        SearchQueue queue = context.useQueue(queueType);
+        long inserts = queue.getInsertCount();
+        long decreases = queue.getDecreaseCount();
+        long polls = queue.getPollCount();
+        int settled = ShortestPathSearch.search(graph, context, pairs[2 * q], pairs[2 * q + 1], Heuristic.NONE);
+        counters.inserts += queue.getInsertCount() - inserts;
+        counters.decreases += queue.getDecreaseCount() - decreases;
+        counters.polls += queue.getPollCount() - polls;
+        return settled;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 05:12:40 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * Routes between random node pairs over a partitioned graph, all shards in this JVM, so
+ * the cost of the cell and overlay searches is measured without the network. Dijkstra on
+ * the whole graph is the baseline; the partitioning itself is measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShardedRouteBenchmark {
+
+    private static final int QUERIES = 64;
+    private static final int SHARDS = 4;
+
+    @Param({"10000", "100000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    @Param({"1024", "4096"})
+    int maxCellSize;
+
+    GeographicGraph whole;
+    CsrGraph graph;
+    GraphPartition partition;
+    GraphShard[] shards;
+    ExecutorService executor;
+    int[] pairs;
+    int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        whole = payload.toGraph(payload.toLocations());
+        graph = whole.getCsrGraph();
+        PartitionedGraph partitioned = PartitionedGraph.build(graph, maxCellSize, SHARDS);
+        partition = partitioned.getPartition();
+        shards = new GraphShard[SHARDS];
+        for (int i = 0; i < SHARDS; i++)
+            shards[i] = new GraphShard(partition, i, partitioned.getShard(i), partitioned.getOverlay());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        pairs = SyntheticGraphs.queries(graph.getNodeCount(), QUERIES, 7);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public RoutePath shardedRoute() {
+        int q = next++ % QUERIES;
+        return shards[0].route(partition.nodeOf(pairs[2 * q]), partition.nodeOf(pairs[2 * q + 1]),
+                               i -> shards[i], executor);
+    }
+
+    @Benchmark
+    public SearchResult dijkstra() {
+        int q = next++ % QUERIES;
+        return whole.search(pairs[2 * q], pairs[2 * q + 1], SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT);
+    }
+
+    @Benchmark
+    public PartitionedGraph partition() {
+        return PartitionedGraph.build(graph, maxCellSize, SHARDS);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 01-Dec-2025 11:52:06 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+
+/**
+ * One-to-all shortest path trees over the whole graph: the sequential Dijkstra search
+ * ({@code threads = 0}) against delta-stepping on a pool of 1 to N workers. {@code delta}
+ * is in multiples of the average edge weight; it is ignored by the sequential search.
+ * <p>
+ * For scaling curves, pass the machine's thread counts, e.g.
+ * {@code -Djmh.args="ShortestPathTree -p nodes=1000000 -p threads=0,1,2,4,8,16,32,64"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ShortestPathTreeBenchmark {
+
+    private static final int SOURCES = 16;
+
+    @Param({"100000", "1000000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    @Param({"0", "1", "2", "4", "8"})
+    int threads;
+
+    @Param({"1", "4", "16"})
+    double delta;
+
+    GeographicGraph graph;
+    ForkJoinPool pool;
+    double deltaKm;
+    int[] sources;
+    int next;
+
+    @Setup(Level.Trial)
+    public void build() {
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        graph = payload.toGraph(payload.toLocations());
+        CsrGraph compiled = graph.getCsrGraph();
+        // The default delta is four average edge weights
+        deltaKm = DeltaStepping.defaultDelta(compiled) / 4 * delta;
+        sources = SyntheticGraphs.queries(compiled.getNodeCount(), SOURCES / 2, 7);
+        if (threads > 0)
+            pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        if (pool != null)
+            pool.shutdown();
+    }
+
+    @Benchmark
+    public ShortestPathTree oneToAll() {
+        int source = sources[next++ % SOURCES];
+        return threads == 0
+                ? graph.shortestPathTree(source, Double.POSITIVE_INFINITY)
+                : graph.parallelShortestPathTree(source, Double.POSITIVE_INFINITY, deltaKm, pool);
+    }
+}
@@ -0,0 +1,155 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 28-Nov-2025 10:31:12 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.model.CsrGraph;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.Location;
+
+/**
+ * Cost of turning a request payload into a searchable graph: DTO conversion, edge
+ * insertion with Haversine weights, and compilation to the CSR snapshot. For comparison,
+ * the cost of reweighting a batch of edges of a built graph.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="GraphBuild -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphBuildBenchmark {
+
+    private static final int UPDATES = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    SyntheticGraphs.Payload payload;
+    List<Location> locations;
+    int[] from;
+    int[] to;
+
+    /**
+     * Fresh graph with all locations but no edges, created before every call of addEdges
+     */
+    @State(Scope.Thread)
+    public static class EmptyGraph {
+
+        GeographicGraph graph;
+
+        @Setup(Level.Invocation)
+        public void create(GraphBuildBenchmark benchmark) {
+            graph = new GeographicGraph();
+            benchmark.locations.forEach(graph::addLocation);
+        }
+    }
+
+    /**
+     * Built graph whose first {@link #UPDATES} connections are raised by half and restored
+     * in turn, so that every call publishes a new snapshot
+     */
+    @State(Scope.Thread)
+    public static class BuiltGraph {
+
+        GeographicGraph graph;
+        int[] from;
+        int[] to;
+        double[][] weights;
+        int next;
+
+        @Setup(Level.Trial)
+        public void build(GraphBuildBenchmark benchmark) {
+            graph = new GeographicGraph();
+            benchmark.locations.forEach(graph::addLocation);
+            graph.addEdges(benchmark.from, benchmark.to);
+            CsrGraph compiled = graph.getCsrGraph();
+
+            int count = Math.min(UPDATES, benchmark.from.length);
+            from = Arrays.copyOf(benchmark.from, count);
+            to = Arrays.copyOf(benchmark.to, count);
+            weights = new double[2][count];
+            for (int i = 0; i < count; i++) {
+                weights[1][i] = compiled.getEdgeWeight(from[i], to[i]);
+                weights[0][i] = 1.5 * weights[1][i];
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        payload = SyntheticGraphs.generate(topology, nodes, 42);
+        locations = payload.toLocations();
+        from = new int[payload.connections().size()];
+        to = new int[from.length];
+        for (int i = 0; i < from.length; i++) {
+            from[i] = payload.connections().get(i).getFrom();
+            to[i] = payload.connections().get(i).getTo();
+        }
+    }
+
+    /**
+     * The full request-time build as done by {@link PathFinderService}
+     */
+    @Benchmark
+    public CsrGraph buildGraph() {
+        List<Location> converted = PathFinderService.convertToLocations(payload.locations());
+        return PathFinderService.buildGraph(converted, payload.connections()).getCsrGraph();
+    }
+
+    /**
+     * Edge insertion alone, without conversion and compilation
+     */
+    @Benchmark
+    public GeographicGraph addEdges(EmptyGraph empty) {
+        for (PathRequest.Connection connection : payload.connections()) {
+            empty.graph.addEdge(locations.get(connection.getFrom()), locations.get(connection.getTo()));
+        }
+        return empty.graph;
+    }
+
+    /**
+     * The same edges as one batch, with weights computed in parallel
+     */
+    @Benchmark
+    public GeographicGraph addEdgesBatch(EmptyGraph empty) {
+        empty.graph.addEdges(from, to);
+        return empty.graph;
+    }
+
+    /**
+     * Copy-on-write reweighting of {@link #UPDATES} edges, against building the graph anew
+     */
+    @Benchmark
+    public CsrGraph updateEdgeWeights(BuiltGraph built) {
+        built.graph.updateEdgeWeights(built.from, built.to, built.weights[built.next++ & 1]);
+        return built.graph.getCsrGraph();
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 28-Nov-2025 11:06:40 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.DijkstraApplication;
+import com.nopaper.work.dijkstra.benchmark.SyntheticGraphs;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.dto.PathResponse;
+
+/**
+ * End-to-end cost of a /shortest request without the socket: JSON body to
+ * {@link PathRequest}, {@link PathFinderService#findShortestPath(PathRequest)}, and the
+ * {@link PathResponse} back to JSON, with the application's own ObjectMapper.
+ * <p>
+ * Payload sizes stay at what clients post (see {@code api.max-locations}). With
+ * {@code caching} off both the graph build cache and the path result cache are disabled,
+ * so every request builds its graph; with it on, the payloads repeat and hit the caches.
+ * {@code waypoints} adds random stops between start and end, whose legs are searched in
+ * parallel on the one graph of the request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RequestBenchmark {
+
+    private static final int QUERIES = 64;
+
+    @Param({"100", "1000", "10000"})
+    int nodes;
+
+    @Param({"GRID", "GEOMETRIC"})
+    SyntheticGraphs.Topology topology;
+
+    @Param({"false", "true"})
+    boolean caching;
+
+    @Param({"0", "20"})
+    int waypoints;
+
+    ConfigurableApplicationContext context;
+    PathFinderService service;
+    ObjectMapper objectMapper;
+    byte[][] bodies;
+    int next;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(DijkstraApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false);
+        if (!caching) {
+            builder.properties("api.cache.max-entries=0", "api.graph-cache.max-bytes=0");
+        }
+        context = builder.run("--logging.level.root=WARN");
+        service = context.getBean(PathFinderService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        SyntheticGraphs.Payload payload = SyntheticGraphs.generate(topology, nodes, 42);
+        int[] queries = SyntheticGraphs.queries(payload.size(), QUERIES, 7);
+        Random random = new Random(11);
+        bodies = new byte[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            PathRequest request = payload.request(queries[2 * q], queries[2 * q + 1]);
+            if (waypoints > 0) {
+                request.setWaypointIndices(random.ints(waypoints, 0, payload.size()).boxed().toList());
+            }
+            bodies[q] = objectMapper.writeValueAsBytes(request);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] shortestPath() throws Exception {
+        byte[] body = bodies[next++ % QUERIES];
+        PathRequest request = objectMapper.readValue(body, PathRequest.class);
+        PathResponse response = service.findShortestPath(request);
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * @package com.nopaper.work.dijkstra.config -> dijkstra
+ * @author saikatbarman
+ * @date 2025 26-Nov-2025 11:52:31 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.nopaper.work.dijkstra.model.SearchResult;
+import com.nopaper.work.dijkstra.service.PathCacheKey;
+import com.nopaper.work.dijkstra.service.QueryCache;
+
+/**
+ * Query result caches; a size of 0 disables caching
+ */
+@Configuration
+public class CacheConfig {
+    
+    @Bean
+    public QueryCache<PathCacheKey, SearchResult> pathCache(
+            @Value("${api.cache.max-entries:10000}") int maxEntries,
+            @Value("${api.cache.ttl:10m}") Duration ttl) {
+        return new QueryCache<>(maxEntries, ttl);
+    }
+}
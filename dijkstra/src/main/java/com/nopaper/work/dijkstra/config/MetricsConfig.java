@@ -0,0 +1,43 @@
+/**
+ * @package com.nopaper.work.dijkstra.config -> dijkstra
+ * @author saikatbarman
+ * @date 2025 29-Nov-2025 11:24:08 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.service.PathMetrics;
+
+/**
+ * Times JSON response serialization; replaces Spring Boot's default converter, keeping
+ * the application's ObjectMapper
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   PathMetrics metrics) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException {
+                long start = System.nanoTime();
+                try {
+                    super.writeInternal(object, type, outputMessage);
+                } finally {
+                    metrics.recordSerialization(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * @package com.nopaper.work.dijkstra.config -> dijkstra
+ * @author saikatbarman
+ * @date 2025 30-Nov-2025 02:48:31 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.config;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.nopaper.work.dijkstra.dto.BinaryPathCodec;
+import com.nopaper.work.dijkstra.dto.GraphPathRequest;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.dto.PathResponse;
+import com.nopaper.work.dijkstra.service.PathMetrics;
+
+/**
+ * Registers the {@link BinaryPathCodec} encoding next to JSON. Path requests are read from
+ * it when sent with its content type, and path responses are written in it when it is the
+ * accepted type; all other endpoints stay JSON only.
+ * <p>
+ * The converter is appended after the default ones, so JSON remains the response type
+ * for clients that accept anything.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+    
+    private final PathMetrics metrics;
+    
+    public WireFormatConfig(PathMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(binaryPathMessageConverter());
+    }
+    
+    private HttpMessageConverter<Object> binaryPathMessageConverter() {
+        return new AbstractHttpMessageConverter<>(MediaType.parseMediaType(BinaryPathCodec.MEDIA_TYPE)) {
+            @Override
+            protected boolean supports(Class<?> clazz) {
+                return clazz == PathRequest.class || clazz == GraphPathRequest.class
+                    || clazz == PathResponse.class;
+            }
+            
+            @Override
+            protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+                try {
+                    if (clazz == PathRequest.class) {
+                        return BinaryPathCodec.readPathRequest(inputMessage.getBody());
+                    }
+                    if (clazz == GraphPathRequest.class) {
+                        return BinaryPathCodec.readGraphPathRequest(inputMessage.getBody());
+                    }
+                    return BinaryPathCodec.readPathResponse(inputMessage.getBody());
+                } catch (IOException e) {
+                    throw new HttpMessageNotReadableException("Invalid binary message: " + e.getMessage(),
+                                                              e, inputMessage);
+                }
+            }
+            
+            @Override
+            protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+                long start = System.nanoTime();
+                try {
+                    if (object instanceof PathRequest request) {
+                        BinaryPathCodec.write(request, outputMessage.getBody());
+                    } else if (object instanceof GraphPathRequest request) {
+                        BinaryPathCodec.write(request, outputMessage.getBody());
+                    } else {
+                        BinaryPathCodec.write((PathResponse) object, outputMessage.getBody());
+                    }
+                } finally {
+                    metrics.recordSerialization(System.nanoTime() - start);
+                }
+            }
+        };
+    }
+}
@@ -6,21 +6,40 @@
  */
 package com.nopaper.work.dijkstra.controller;
 
+import java.io.InputStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.nopaper.work.dijkstra.dto.BoundaryResponse;
+import com.nopaper.work.dijkstra.dto.EdgeUpdateRequest;
+import com.nopaper.work.dijkstra.dto.GraphPathRequest;
+import com.nopaper.work.dijkstra.dto.GraphRequest;
+import com.nopaper.work.dijkstra.dto.GraphResponse;
+import com.nopaper.work.dijkstra.dto.IsochroneRequest;
+import com.nopaper.work.dijkstra.dto.IsochroneResponse;
+import com.nopaper.work.dijkstra.dto.MatrixRequest;
+import com.nopaper.work.dijkstra.dto.MatrixResponse;
+import com.nopaper.work.dijkstra.dto.NearestRequest;
+import com.nopaper.work.dijkstra.dto.NearestResponse;
 import com.nopaper.work.dijkstra.dto.PathRequest;
 import com.nopaper.work.dijkstra.dto.PathResponse;
 import com.nopaper.work.dijkstra.service.PathFinderService;
+import com.nopaper.work.dijkstra.service.QueryCache;
 
 /**
  * 
@@ -62,6 +81,340 @@ public class PathFinderController {
         }
     }
     
+    /**
+     * Find shortest path endpoint for large payloads; the body is read as a stream and
+     * validated while the graph is built
+     * 
+     * POST /api/v1/path/shortest/stream
+     * 
+     * @param body PathRequest JSON
+     * @return PathResponse with shortest path details
+     */
+    @PostMapping(value = "/shortest/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PathResponse> findShortestPath(InputStream body) {
+        logger.info("Received streamed request to find shortest path");
+        
+        PathResponse response = pathFinderService.findShortestPath(body);
+        
+        if (response.isPathFound()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+    
+    /**
+     * Upload a graph once for repeated queries
+     * 
+     * POST /api/v1/path/graphs
+     * 
+     * @param request GraphRequest with locations, connections and optional preprocessing
+     * @return GraphResponse with the graph ID
+     */
+    @PostMapping("/graphs")
+    public ResponseEntity<GraphResponse> registerGraph(@Valid @RequestBody GraphRequest request) {
+        logger.info("Received request to register graph");
+        
+        GraphResponse response = pathFinderService.registerGraph(request);
+        
+        if (response.isRegistered()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Upload a large graph; the body is read as a stream and validated while the graph is built
+     * 
+     * POST /api/v1/path/graphs/stream
+     * 
+     * @param body GraphRequest JSON
+     * @return GraphResponse with the graph ID
+     */
+    @PostMapping(value = "/graphs/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GraphResponse> registerGraph(InputStream body) {
+        logger.info("Received streamed request to register graph");
+        
+        GraphResponse response = pathFinderService.registerGraph(body);
+        
+        if (response.isRegistered()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Registered graph details endpoint
+     * 
+     * GET /api/v1/path/graphs/{graphId}
+     */
+    @GetMapping("/graphs/{graphId}")
+    public ResponseEntity<GraphResponse> getGraph(@PathVariable String graphId) {
+        GraphResponse response = pathFinderService.getGraph(graphId);
+        
+        if (response.isRegistered()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+    
+    /**
+     * Remove a registered graph
+     * 
+     * DELETE /api/v1/path/graphs/{graphId}
+     */
+    @DeleteMapping("/graphs/{graphId}")
+    public ResponseEntity<Void> removeGraph(@PathVariable String graphId) {
+        if (pathFinderService.removeGraph(graphId)) {
+            return ResponseEntity.noContent().build();
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Change the weights of connections in a registered graph, or remove them
+     * 
+     * PATCH /api/v1/path/graphs/{graphId}/edges
+     * 
+     * @param request EdgeUpdateRequest with location indices into the uploaded locations
+     * @return GraphResponse describing the updated graph
+     */
+    @PatchMapping("/graphs/{graphId}/edges")
+    public ResponseEntity<GraphResponse> updateEdges(@PathVariable String graphId,
+                                                     @Valid @RequestBody EdgeUpdateRequest request) {
+        logger.info("Received request to update edges of graph {}", graphId);
+        
+        GraphResponse response = pathFinderService.updateEdges(graphId, request);
+        
+        if (response.isRegistered()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Find shortest path in a registered graph
+     * 
+     * POST /api/v1/path/graphs/{graphId}/shortest
+     * 
+     * @param request GraphPathRequest with start/end indices into the uploaded locations, or points
+     *                to snap to them
+     * @return PathResponse with shortest path details
+     */
+    @PostMapping("/graphs/{graphId}/shortest")
+    public ResponseEntity<PathResponse> findShortestPath(@PathVariable String graphId,
+                                                         @Valid @RequestBody GraphPathRequest request) {
+        logger.info("Received request to find shortest path in graph {}", graphId);
+        
+        PathResponse response = pathFinderService.findShortestPath(graphId, request);
+        
+        if (response.isPathFound()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+    
+    /**
+     * Distance matrix endpoint
+     * 
+     * POST /api/v1/path/matrix
+     * 
+     * @param request MatrixRequest with locations, connections and source/target indices
+     * @return MatrixResponse with source-by-target distances
+     */
+    @PostMapping("/matrix")
+    public ResponseEntity<MatrixResponse> computeMatrix(@Valid @RequestBody MatrixRequest request) {
+        logger.info("Received request to compute distance matrix");
+        
+        return matrixResult(pathFinderService.computeMatrix(request));
+    }
+    
+    /**
+     * Distance matrix in a registered graph
+     * 
+     * POST /api/v1/path/graphs/{graphId}/matrix
+     * 
+     * @param request MatrixRequest with source/target indices into the uploaded locations
+     * @return MatrixResponse with source-by-target distances
+     */
+    @PostMapping("/graphs/{graphId}/matrix")
+    public ResponseEntity<MatrixResponse> computeMatrix(@PathVariable String graphId,
+                                                        @Valid @RequestBody MatrixRequest request) {
+        logger.info("Received request to compute distance matrix in graph {}", graphId);
+        
+        return matrixResult(pathFinderService.computeMatrix(graphId, request));
+    }
+    
+    /**
+     * Isochrone endpoint: everything reachable within a distance of the start
+     * 
+     * POST /api/v1/path/isochrone
+     * 
+     * @param request IsochroneRequest with locations, connections, start index and distance
+     * @return IsochroneResponse with the reachable locations and their boundary
+     */
+    @PostMapping("/isochrone")
+    public ResponseEntity<IsochroneResponse> computeIsochrone(@Valid @RequestBody IsochroneRequest request) {
+        logger.info("Received request to compute isochrone");
+        
+        return isochroneResult(pathFinderService.computeIsochrone(request));
+    }
+    
+    /**
+     * Isochrone in a registered graph
+     * 
+     * POST /api/v1/path/graphs/{graphId}/isochrone
+     * 
+     * @param request IsochroneRequest with the start index into the uploaded locations
+     * @return IsochroneResponse with the reachable locations and their boundary
+     */
+    @PostMapping("/graphs/{graphId}/isochrone")
+    public ResponseEntity<IsochroneResponse> computeIsochrone(@PathVariable String graphId,
+                                                              @Valid @RequestBody IsochroneRequest request) {
+        logger.info("Received request to compute isochrone in graph {}", graphId);
+        
+        return isochroneResult(pathFinderService.computeIsochrone(graphId, request));
+    }
+    
+    /**
+     * Snap points, e.g. GPS fixes, to the nearest locations of a registered graph
+     * 
+     * POST /api/v1/path/graphs/{graphId}/nearest
+     * 
+     * @param request NearestRequest with the points
+     * @return NearestResponse with the location index and distance of every point
+     */
+    @PostMapping("/graphs/{graphId}/nearest")
+    public ResponseEntity<NearestResponse> findNearest(@PathVariable String graphId,
+                                                       @Valid @RequestBody NearestRequest request) {
+        logger.info("Received request to snap points to graph {}", graphId);
+        
+        NearestResponse response = pathFinderService.findNearest(graphId, request);
+        
+        if (response.isComputed()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Find shortest path endpoint of the partitioned graph served by this instance and its
+     * peers
+     * 
+     * POST /api/v1/path/sharded/shortest
+     * 
+     * @param request GraphPathRequest with start/end node ids of the graph that was partitioned
+     * @return PathResponse with shortest path details
+     */
+    @PostMapping("/sharded/shortest")
+    public ResponseEntity<PathResponse> findShardedPath(@Valid @RequestBody GraphPathRequest request) {
+        logger.info("Received request to find shortest path in the sharded graph");
+        
+        PathResponse response = pathFinderService.findShardedPath(request);
+        
+        if (response.isPathFound()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+    
+    /**
+     * In-cell distances to the cell boundary, called by peer instances while routing
+     * 
+     * GET /api/v1/path/shard/boundary?node={node}
+     */
+    @GetMapping("/shard/boundary")
+    public ResponseEntity<BoundaryResponse> findBoundaryDistances(@RequestParam int node) {
+        BoundaryResponse response = pathFinderService.findBoundaryDistances(node);
+        
+        if (response.isComputed()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * In-cell shortest path, called by peer instances to unpack a route
+     * 
+     * GET /api/v1/path/shard/cell-path?from={from}&to={to}
+     */
+    @GetMapping("/shard/cell-path")
+    public ResponseEntity<PathResponse> findCellPath(@RequestParam int from, @RequestParam int to) {
+        PathResponse response = pathFinderService.findCellPath(from, to);
+        
+        if (response.isPathFound()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+    }
+    
+    private ResponseEntity<IsochroneResponse> isochroneResult(IsochroneResponse response) {
+        if (response.isComputed()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    private ResponseEntity<MatrixResponse> matrixResult(MatrixResponse response) {
+        if (response.isComputed()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Path result cache statistics
+     * 
+     * GET /api/v1/path/cache
+     */
+    @GetMapping("/cache")
+    public ResponseEntity<QueryCache.Stats> getCacheStats() {
+        return ResponseEntity.ok(pathFinderService.getCacheStats());
+    }
+    
+    /**
+     * Statistics of the cache of graphs built from request payloads
+     * 
+     * GET /api/v1/path/cache/graphs
+     */
+    @GetMapping("/cache/graphs")
+    public ResponseEntity<QueryCache.Stats> getGraphCacheStats() {
+        return ResponseEntity.ok(pathFinderService.getGraphCacheStats());
+    }
+    
+    /**
+     * Clear the path result and graph caches
+     * 
+     * DELETE /api/v1/path/cache
+     */
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        pathFinderService.clearCache();
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Path-finding metrics for Prometheus
+     * 
+     * GET /api/v1/path/metrics
+     */
+    @GetMapping(value = "/metrics", produces = "text/plain;version=0.0.4;charset=utf-8")
+    public ResponseEntity<String> getMetrics() {
+        return ResponseEntity.ok(pathFinderService.scrapeMetrics());
+    }
+    
     /**
      * Health check endpoint
      * 
@@ -0,0 +1,415 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 30-Nov-2025 02:16:45 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+/**
+ * Compact binary encoding of path queries and results, the alternative to JSON for
+ * clients that send large graphs or fetch many routes.
+ * <p>
+ * Values are written in {@link DataOutputStream} order (big-endian); strings are modified
+ * UTF-8 with a two-byte length, lists an int count followed by their elements. Every
+ * message starts with {@link #MAGIC}, whose last byte is the format version. A
+ * {@link PathResponse} stores each path location once: segments are written as their
+ * distances only, since their endpoints are consecutive path locations. Route legs and
+ * alternative routes follow, the latter as a list of responses without their own magic.
+ * Absent strings are written empty, absent numbers as NaN or -1.
+ */
+public final class BinaryPathCodec {
+
+    public static final String MEDIA_TYPE = "application/x-dijkstra-path";
+
+    // "DJK" and format version 4; 2 added alternative routes, 3 start and end points, 4 waypoints
+    static final int MAGIC = 0x444A4B04;
+
+    private static final int STATISTICS = 1;
+    private static final int COMPACT = 2;
+    private static final int PATH_FOUND = 4;
+    private static final int CACHED = 8;
+
+    // Counts are read from the wire; lists and arrays grow past this only as elements actually arrive
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private BinaryPathCodec() {}
+
+    public static void write(PathRequest request, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        List<LocationDTO> locations = request.getLocations() != null ? request.getLocations() : List.of();
+        data.writeInt(locations.size());
+        for (LocationDTO location : locations) {
+            writeLocation(data, location);
+        }
+        List<PathRequest.Connection> connections =
+            request.getConnections() != null ? request.getConnections() : List.of();
+        data.writeInt(connections.size());
+        for (PathRequest.Connection connection : connections) {
+            data.writeInt(connection.getFrom());
+            data.writeInt(connection.getTo());
+        }
+        writeQuery(data, request.getStartIndex(), request.getEndIndex(), request.getAlgorithm(),
+                   request.getIncludeStatistics(), request.getCompact(), request.getAlternatives(),
+                   request.getStart(), request.getEnd(), request.getWaypointIndices());
+        data.flush();
+    }
+
+    public static PathRequest readPathRequest(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        checkMagic(data);
+        PathRequest request = new PathRequest();
+        int locationCount = readCount(data);
+        List<LocationDTO> locations = new ArrayList<>(Math.min(locationCount, INITIAL_CAPACITY));
+        for (int i = 0; i < locationCount; i++) {
+            locations.add(readLocation(data));
+        }
+        int connectionCount = readCount(data);
+        List<PathRequest.Connection> connections = new ArrayList<>(Math.min(connectionCount, INITIAL_CAPACITY));
+        for (int i = 0; i < connectionCount; i++) {
+            connections.add(new PathRequest.Connection(data.readInt(), data.readInt()));
+        }
+        request.setLocations(locations);
+        request.setConnections(connections);
+        request.setStartIndex(readIndex(data));
+        request.setEndIndex(readIndex(data));
+        request.setAlgorithm(readAlgorithm(data));
+        int flags = data.readUnsignedByte();
+        request.setIncludeStatistics((flags & STATISTICS) != 0);
+        request.setCompact((flags & COMPACT) != 0);
+        request.setAlternatives(readAlternatives(data));
+        request.setStart(readPoint(data));
+        request.setEnd(readPoint(data));
+        request.setWaypointIndices(readWaypoints(data));
+        return request;
+    }
+
+    public static void write(GraphPathRequest request, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        writeQuery(data, request.getStartIndex(), request.getEndIndex(), request.getAlgorithm(),
+                   request.getIncludeStatistics(), request.getCompact(), request.getAlternatives(),
+                   request.getStart(), request.getEnd(), request.getWaypointIndices());
+        data.flush();
+    }
+
+    public static GraphPathRequest readGraphPathRequest(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        checkMagic(data);
+        GraphPathRequest request = new GraphPathRequest(readIndex(data), readIndex(data));
+        request.setAlgorithm(readAlgorithm(data));
+        int flags = data.readUnsignedByte();
+        request.setIncludeStatistics((flags & STATISTICS) != 0);
+        request.setCompact((flags & COMPACT) != 0);
+        request.setAlternatives(readAlternatives(data));
+        request.setStart(readPoint(data));
+        request.setEnd(readPoint(data));
+        request.setWaypointIndices(readWaypoints(data));
+        return request;
+    }
+
+    public static void write(PathResponse response, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        writeResponse(data, response);
+        data.flush();
+    }
+
+    public static PathResponse readPathResponse(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        checkMagic(data);
+        return readResponse(data);
+    }
+
+    private static void writeResponse(DataOutputStream data, PathResponse response) throws IOException {
+        int flags = (response.isPathFound() ? PATH_FOUND : 0)
+                  | (Boolean.TRUE.equals(response.getCached()) ? CACHED : 0)
+                  | (response.getStatistics() != null ? STATISTICS : 0);
+        data.writeByte(flags);
+        data.writeUTF(orEmpty(response.getMessage()));
+        data.writeUTF(orEmpty(response.getAlgorithm()));
+        data.writeDouble(response.getTotalDistanceKm());
+        data.writeDouble(response.getTotalDistanceMiles());
+        data.writeInt(response.getSettledNodes() != null ? response.getSettledNodes() : -1);
+
+        List<LocationDTO> path = response.getPath() != null ? response.getPath() : List.of();
+        data.writeInt(path.size());
+        for (LocationDTO location : path) {
+            writeLocation(data, location);
+        }
+        List<PathResponse.PathSegment> segments =
+            response.getSegments() != null ? response.getSegments() : List.of();
+        data.writeInt(segments.size());
+        for (PathResponse.PathSegment segment : segments) {
+            data.writeDouble(segment.getDistanceKm());
+        }
+
+        int[] indices = response.getPathIndices() != null ? response.getPathIndices() : new int[0];
+        data.writeInt(indices.length);
+        for (int index : indices) {
+            data.writeInt(index);
+        }
+        writeDoubles(data, response.getCoordinates());
+        writeDoubles(data, response.getSegmentDistancesKm());
+
+        PathResponse.SearchStatistics statistics = response.getStatistics();
+        if (statistics != null) {
+            data.writeDouble(orNaN(statistics.getGraphMs()));
+            data.writeDouble(orNaN(statistics.getSearchMs()));
+            data.writeDouble(orNaN(statistics.getConversionMs()));
+            data.writeDouble(orNaN(statistics.getAlternativesMs()));
+            data.writeInt(statistics.getSettledNodes() != null ? statistics.getSettledNodes() : -1);
+            data.writeLong(statistics.getRelaxedEdges() != null ? statistics.getRelaxedEdges() : -1);
+            data.writeLong(statistics.getQueuePushes() != null ? statistics.getQueuePushes() : -1);
+        }
+
+        List<PathResponse.RouteLeg> legs = response.getLegs();
+        data.writeInt(legs != null ? legs.size() : -1);
+        if (legs != null) {
+            for (PathResponse.RouteLeg leg : legs) {
+                data.writeInt(leg.getFromIndex());
+                data.writeInt(leg.getToIndex());
+                data.writeDouble(leg.getDistanceKm());
+                data.writeDouble(leg.getDistanceMiles());
+                data.writeInt(leg.getSegmentCount());
+            }
+        }
+
+        // -1 if none were requested, which is not the same as an empty list
+        List<PathResponse> alternatives = response.getAlternatives();
+        data.writeInt(alternatives != null ? alternatives.size() : -1);
+        if (alternatives != null) {
+            for (PathResponse alternative : alternatives) {
+                writeResponse(data, alternative);
+            }
+        }
+    }
+
+    private static PathResponse readResponse(DataInputStream data) throws IOException {
+        PathResponse response = new PathResponse();
+        int flags = data.readUnsignedByte();
+        response.setPathFound((flags & PATH_FOUND) != 0);
+        response.setCached((flags & CACHED) != 0 ? Boolean.TRUE : null);
+        response.setMessage(orNull(data.readUTF()));
+        response.setAlgorithm(orNull(data.readUTF()));
+        response.setTotalDistanceKm(data.readDouble());
+        response.setTotalDistanceMiles(data.readDouble());
+        int settledNodes = data.readInt();
+        response.setSettledNodes(settledNodes >= 0 ? settledNodes : null);
+
+        int pathSize = readCount(data);
+        List<LocationDTO> path = new ArrayList<>(Math.min(pathSize, INITIAL_CAPACITY));
+        for (int i = 0; i < pathSize; i++) {
+            path.add(readLocation(data));
+        }
+        int segmentCount = readCount(data);
+        if (segmentCount > 0 && segmentCount != pathSize - 1) {
+            throw new IOException("Segment count does not match path");
+        }
+        List<PathResponse.PathSegment> segments = new ArrayList<>(Math.min(segmentCount, INITIAL_CAPACITY));
+        for (int i = 0; i < segmentCount; i++) {
+            segments.add(new PathResponse.PathSegment(path.get(i), path.get(i + 1), data.readDouble()));
+        }
+        if (pathSize > 0) {
+            response.setPath(path);
+            response.setSegments(segments);
+        }
+
+        int indexCount = readCount(data);
+        if (indexCount > 0) {
+            int[] indices = new int[Math.min(indexCount, INITIAL_CAPACITY)];
+            for (int i = 0; i < indexCount; i++) {
+                if (i == indices.length) {
+                    indices = Arrays.copyOf(indices, grownCapacity(i, indexCount));
+                }
+                indices[i] = data.readInt();
+            }
+            response.setPathIndices(indices);
+        }
+        response.setCoordinates(readDoubles(data));
+        response.setSegmentDistancesKm(readDoubles(data));
+
+        if ((flags & STATISTICS) != 0) {
+            PathResponse.SearchStatistics statistics = new PathResponse.SearchStatistics();
+            statistics.setGraphMs(orNull(data.readDouble()));
+            statistics.setSearchMs(orNull(data.readDouble()));
+            statistics.setConversionMs(orNull(data.readDouble()));
+            statistics.setAlternativesMs(orNull(data.readDouble()));
+            int settled = data.readInt();
+            statistics.setSettledNodes(settled >= 0 ? settled : null);
+            long relaxed = data.readLong();
+            statistics.setRelaxedEdges(relaxed >= 0 ? relaxed : null);
+            long pushes = data.readLong();
+            statistics.setQueuePushes(pushes >= 0 ? pushes : null);
+            response.setStatistics(statistics);
+        }
+
+        int legCount = data.readInt();
+        if (legCount >= 0) {
+            List<PathResponse.RouteLeg> legs = new ArrayList<>(Math.min(legCount, INITIAL_CAPACITY));
+            for (int i = 0; i < legCount; i++) {
+                legs.add(new PathResponse.RouteLeg(data.readInt(), data.readInt(), data.readDouble(),
+                                                   data.readDouble(), data.readInt()));
+            }
+            response.setLegs(legs);
+        }
+
+        int alternativeCount = data.readInt();
+        if (alternativeCount >= 0) {
+            List<PathResponse> alternatives = new ArrayList<>(Math.min(alternativeCount, INITIAL_CAPACITY));
+            for (int i = 0; i < alternativeCount; i++) {
+                alternatives.add(readResponse(data));
+            }
+            response.setAlternatives(alternatives);
+        }
+        return response;
+    }
+
+    private static void writeQuery(DataOutputStream data, Integer startIndex, Integer endIndex,
+                                   SearchAlgorithm algorithm, Boolean includeStatistics,
+                                   Boolean compact, Integer alternatives, PointDTO start,
+                                   PointDTO end, List<Integer> waypointIndices) throws IOException {
+        data.writeInt(startIndex != null ? startIndex : -1);
+        data.writeInt(endIndex != null ? endIndex : -1);
+        data.writeUTF(algorithm != null ? algorithm.name() : "");
+        data.writeByte((Boolean.TRUE.equals(includeStatistics) ? STATISTICS : 0)
+                     | (Boolean.TRUE.equals(compact) ? COMPACT : 0));
+        data.writeInt(alternatives != null ? alternatives : -1);
+        writePoint(data, start);
+        writePoint(data, end);
+        data.writeInt(waypointIndices != null ? waypointIndices.size() : -1);
+        if (waypointIndices != null) {
+            for (Integer index : waypointIndices) {
+                data.writeInt(index != null ? index : -1);
+            }
+        }
+    }
+
+    private static List<Integer> readWaypoints(DataInputStream data) throws IOException {
+        int count = data.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<Integer> waypointIndices = new ArrayList<>(Math.min(count, INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            waypointIndices.add(readIndex(data));
+        }
+        return waypointIndices;
+    }
+
+    // -1 stands for absent; other negative counts are kept, so validation rejects them
+    private static Integer readAlternatives(DataInputStream data) throws IOException {
+        int alternatives = data.readInt();
+        return alternatives != -1 ? alternatives : null;
+    }
+
+    private static void writePoint(DataOutputStream data, PointDTO point) throws IOException {
+        data.writeDouble(point != null ? orNaN(point.getLatitude()) : Double.NaN);
+        data.writeDouble(point != null ? orNaN(point.getLongitude()) : Double.NaN);
+    }
+
+    private static PointDTO readPoint(DataInputStream data) throws IOException {
+        Double latitude = orNull(data.readDouble());
+        Double longitude = orNull(data.readDouble());
+        return latitude != null || longitude != null ? new PointDTO(latitude, longitude) : null;
+    }
+
+    private static void writeLocation(DataOutputStream data, LocationDTO location) throws IOException {
+        data.writeUTF(orEmpty(location.getName()));
+        data.writeDouble(orNaN(location.getLatitude()));
+        data.writeDouble(orNaN(location.getLongitude()));
+    }
+
+    // Missing values come back as null, so bean validation reports them as for JSON
+    private static LocationDTO readLocation(DataInputStream data) throws IOException {
+        return new LocationDTO(orNull(data.readUTF()), orNull(data.readDouble()), orNull(data.readDouble()));
+    }
+
+    private static void writeDoubles(DataOutputStream data, double[] values) throws IOException {
+        if (values == null) {
+            data.writeInt(0);
+            return;
+        }
+        data.writeInt(values.length);
+        for (double value : values) {
+            data.writeDouble(value);
+        }
+    }
+
+    private static double[] readDoubles(DataInputStream data) throws IOException {
+        int count = readCount(data);
+        if (count == 0) {
+            return null;
+        }
+        double[] values = new double[Math.min(count, INITIAL_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if (i == values.length) {
+                values = Arrays.copyOf(values, grownCapacity(i, count));
+            }
+            values[i] = data.readDouble();
+        }
+        return values;
+    }
+
+    // Arrays double as elements arrive, so a forged count fails on the missing data first
+    private static int grownCapacity(int length, int count) {
+        return (int) Math.min(2L * length, count);
+    }
+
+    private static SearchAlgorithm readAlgorithm(DataInputStream data) throws IOException {
+        String name = data.readUTF();
+        try {
+            return name.isEmpty() ? null : SearchAlgorithm.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown algorithm " + name);
+        }
+    }
+
+    private static Integer readIndex(DataInputStream data) throws IOException {
+        int index = data.readInt();
+        return index >= 0 ? index : null;
+    }
+
+    private static int readCount(DataInputStream data) throws IOException {
+        int count = data.readInt();
+        if (count < 0) {
+            throw new IOException("Negative element count");
+        }
+        return count;
+    }
+
+    private static void checkMagic(DataInputStream data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a " + MEDIA_TYPE + " message or unsupported version");
+        }
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String orNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double orNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 03:02:19 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+/**
+ * Response DTO of a shard with the in-cell distance from a node to every boundary node
+ * of its cell, in overlay order; {@code distancesKm[i]} is null if unreachable
+ */
+public class BoundaryResponse {
+    
+    private boolean computed;
+    private Double[] distancesKm;
+    private String message;
+    
+    // Constructors
+    public BoundaryResponse() {}
+    
+    // Getters and Setters
+    public boolean isComputed() { return computed; }
+    public void setComputed(boolean computed) { this.computed = computed; }
+    
+    public Double[] getDistancesKm() { return distancesKm; }
+    public void setDistancesKm(Double[] distancesKm) { this.distancesKm = distancesKm; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,74 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 30-Nov-2025 04:12:37 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Request DTO for changing the edge weights of a registered graph, e.g. for closures or
+ * congestion
+ */
+public class EdgeUpdateRequest {
+    
+    @NotEmpty(message = "Updates list cannot be empty")
+    @Valid
+    private List<EdgeUpdate> updates;
+    
+    /**
+     * New weight of the connection between two uploaded locations, or its removal
+     */
+    public static class EdgeUpdate {
+        @NotNull
+        private Integer from;
+        
+        @NotNull
+        private Integer to;
+        
+        // At least the great-circle distance between the locations; required unless removing
+        @PositiveOrZero(message = "Weight must not be negative")
+        private Double weightKm;
+        
+        // Optional; removes the connection, weightKm is ignored
+        private Boolean remove;
+        
+        public EdgeUpdate() {}
+        
+        public EdgeUpdate(Integer from, Integer to, Double weightKm) {
+            this.from = from;
+            this.to = to;
+            this.weightKm = weightKm;
+        }
+        
+        public Integer getFrom() { return from; }
+        public void setFrom(Integer from) { this.from = from; }
+        
+        public Integer getTo() { return to; }
+        public void setTo(Integer to) { this.to = to; }
+        
+        public Double getWeightKm() { return weightKm; }
+        public void setWeightKm(Double weightKm) { this.weightKm = weightKm; }
+        
+        public Boolean getRemove() { return remove; }
+        public void setRemove(Boolean remove) { this.remove = remove; }
+    }
+    
+    // Constructors
+    public EdgeUpdateRequest() {}
+    
+    public EdgeUpdateRequest(List<EdgeUpdate> updates) {
+        this.updates = updates;
+    }
+    
+    // Getters and Setters
+    public List<EdgeUpdate> getUpdates() { return updates; }
+    public void setUpdates(List<EdgeUpdate> updates) { this.updates = updates; }
+}
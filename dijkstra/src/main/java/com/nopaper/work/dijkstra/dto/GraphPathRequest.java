@@ -0,0 +1,93 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 22-Nov-2025 10:21:08 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+
+/**
+ * Request DTO for finding a shortest path in a registered graph
+ */
+public class GraphPathRequest {
+    
+    // Either the index or a point to snap to the nearest location; the index wins
+    private Integer startIndex;
+    
+    @Valid
+    private PointDTO start;
+    
+    private Integer endIndex;
+    
+    @Valid
+    private PointDTO end;
+    
+    // Optional; defaults to DIJKSTRA
+    private SearchAlgorithm algorithm;
+    
+    // Optional; adds timings and search effort to the response, for debugging slow routes
+    private Boolean includeStatistics;
+    
+    // Optional; returns the path as location indices and one coordinate array instead of
+    // location objects and segments
+    private Boolean compact;
+    
+    // Optional; number of alternative routes to return besides the shortest path
+    @PositiveOrZero(message = "Alternatives cannot be negative")
+    private Integer alternatives;
+    
+    // Optional; location indices of stops visited in order between start and end
+    private List<Integer> waypointIndices;
+    
+    // Constructors
+    public GraphPathRequest() {}
+    
+    public GraphPathRequest(Integer startIndex, Integer endIndex) {
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+    }
+    
+    // Getters and Setters
+    public Integer getStartIndex() { return startIndex; }
+    public void setStartIndex(Integer startIndex) { this.startIndex = startIndex; }
+    
+    public Integer getEndIndex() { return endIndex; }
+    public void setEndIndex(Integer endIndex) { this.endIndex = endIndex; }
+    
+    public SearchAlgorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(SearchAlgorithm algorithm) { this.algorithm = algorithm; }
+    
+    public Boolean getIncludeStatistics() { return includeStatistics; }
+    public void setIncludeStatistics(Boolean includeStatistics) { this.includeStatistics = includeStatistics; }
+    
+    public Boolean getCompact() { return compact; }
+    public void setCompact(Boolean compact) { this.compact = compact; }
+    
+    public Integer getAlternatives() { return alternatives; }
+    public void setAlternatives(Integer alternatives) { this.alternatives = alternatives; }
+    
+    public List<Integer> getWaypointIndices() { return waypointIndices; }
+    public void setWaypointIndices(List<Integer> waypointIndices) { this.waypointIndices = waypointIndices; }
+    
+    public PointDTO getStart() { return start; }
+    public void setStart(PointDTO start) { this.start = start; }
+    
+    public PointDTO getEnd() { return end; }
+    public void setEnd(PointDTO end) { this.end = end; }
+    
+    @JsonIgnore
+    @AssertTrue(message = "Start location index or point is required")
+    public boolean isStartGiven() { return startIndex != null || start != null; }
+    
+    @JsonIgnore
+    @AssertTrue(message = "End location index or point is required")
+    public boolean isEndGiven() { return endIndex != null || end != null; }
+}
@@ -0,0 +1,45 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 22-Nov-2025 10:14:36 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request DTO for uploading a graph to the server-side registry
+ */
+public class GraphRequest {
+    
+    @NotEmpty(message = "Locations list cannot be empty")
+    @Size(min = 2, message = "At least 2 locations are required")
+    @Valid
+    private List<LocationDTO> locations;
+    
+    @NotEmpty(message = "Connections list cannot be empty")
+    @Valid
+    private List<PathRequest.Connection> connections;
+    
+    // Optional; algorithms whose preprocessing (CH, ALT) is built at upload time
+    private List<SearchAlgorithm> preprocess;
+    
+    // Constructors
+    public GraphRequest() {}
+    
+    // Getters and Setters
+    public List<LocationDTO> getLocations() { return locations; }
+    public void setLocations(List<LocationDTO> locations) { this.locations = locations; }
+    
+    public List<PathRequest.Connection> getConnections() { return connections; }
+    public void setConnections(List<PathRequest.Connection> connections) { this.connections = connections; }
+    
+    public List<SearchAlgorithm> getPreprocess() { return preprocess; }
+    public void setPreprocess(List<SearchAlgorithm> preprocess) { this.preprocess = preprocess; }
+}
@@ -0,0 +1,48 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 22-Nov-2025 10:26:52 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO describing a graph held in the server-side registry
+ */
+public class GraphResponse {
+    
+    private boolean registered;
+    private String graphId;
+    private Integer locationCount;
+    private Integer edgeCount;
+    private List<String> preprocessed;
+    private String createdAt;
+    private String message;
+    
+    // Constructors
+    public GraphResponse() {}
+    
+    // Getters and Setters
+    public boolean isRegistered() { return registered; }
+    public void setRegistered(boolean registered) { this.registered = registered; }
+    
+    public String getGraphId() { return graphId; }
+    public void setGraphId(String graphId) { this.graphId = graphId; }
+    
+    public Integer getLocationCount() { return locationCount; }
+    public void setLocationCount(Integer locationCount) { this.locationCount = locationCount; }
+    
+    public Integer getEdgeCount() { return edgeCount; }
+    public void setEdgeCount(Integer edgeCount) { this.edgeCount = edgeCount; }
+    
+    public List<String> getPreprocessed() { return preprocessed; }
+    public void setPreprocessed(List<String> preprocessed) { this.preprocessed = preprocessed; }
+    
+    public String getCreatedAt() { return createdAt; }
+    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,55 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 25-Nov-2025 11:04:29 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
+
+/**
+ * Request DTO for an isochrone: everything reachable within a distance of the start.
+ * Locations and connections are required for an inline graph and ignored for a
+ * registered one.
+ */
+public class IsochroneRequest {
+    
+    @Valid
+    private List<LocationDTO> locations;
+    
+    @Valid
+    private List<PathRequest.Connection> connections;
+    
+    @NotNull(message = "Start location index is required")
+    private Integer startIndex;
+    
+    @NotNull(message = "Maximum distance is required")
+    @PositiveOrZero(message = "Maximum distance cannot be negative")
+    private Double maxDistanceKm;
+    
+    // Optional; defaults to true. False returns only the boundary and counts
+    private Boolean includeLocations;
+    
+    // Constructors
+    public IsochroneRequest() {}
+    
+    // Getters and Setters
+    public List<LocationDTO> getLocations() { return locations; }
+    public void setLocations(List<LocationDTO> locations) { this.locations = locations; }
+    
+    public List<PathRequest.Connection> getConnections() { return connections; }
+    public void setConnections(List<PathRequest.Connection> connections) { this.connections = connections; }
+    
+    public Integer getStartIndex() { return startIndex; }
+    public void setStartIndex(Integer startIndex) { this.startIndex = startIndex; }
+    
+    public Double getMaxDistanceKm() { return maxDistanceKm; }
+    public void setMaxDistanceKm(Double maxDistanceKm) { this.maxDistanceKm = maxDistanceKm; }
+    
+    public Boolean getIncludeLocations() { return includeLocations; }
+    public void setIncludeLocations(Boolean includeLocations) { this.includeLocations = includeLocations; }
+}
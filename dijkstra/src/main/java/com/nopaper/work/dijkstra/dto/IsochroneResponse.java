@@ -0,0 +1,76 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 25-Nov-2025 11:17:53 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO containing the locations reachable within the requested distance
+ */
+public class IsochroneResponse {
+    
+    private boolean computed;
+    private LocationDTO start;
+    private Double maxDistanceKm;
+    private Integer reachableCount;
+    private List<ReachableLocation> reachable;
+    private List<LocationDTO> boundary;
+    private String message;
+    
+    // Inner class for reachable locations, in order of distance
+    public static class ReachableLocation {
+        private String name;
+        private double latitude;
+        private double longitude;
+        private double distanceKm;
+        
+        public ReachableLocation(String name, double latitude, double longitude, double distanceKm) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.distanceKm = distanceKm;
+        }
+        
+        // Getters and Setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        
+        public double getLatitude() { return latitude; }
+        public void setLatitude(double latitude) { this.latitude = latitude; }
+        
+        public double getLongitude() { return longitude; }
+        public void setLongitude(double longitude) { this.longitude = longitude; }
+        
+        public double getDistanceKm() { return distanceKm; }
+        public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+    }
+    
+    // Constructors
+    public IsochroneResponse() {}
+    
+    // Getters and Setters
+    public boolean isComputed() { return computed; }
+    public void setComputed(boolean computed) { this.computed = computed; }
+    
+    public LocationDTO getStart() { return start; }
+    public void setStart(LocationDTO start) { this.start = start; }
+    
+    public Double getMaxDistanceKm() { return maxDistanceKm; }
+    public void setMaxDistanceKm(Double maxDistanceKm) { this.maxDistanceKm = maxDistanceKm; }
+    
+    public Integer getReachableCount() { return reachableCount; }
+    public void setReachableCount(Integer reachableCount) { this.reachableCount = reachableCount; }
+    
+    public List<ReachableLocation> getReachable() { return reachable; }
+    public void setReachable(List<ReachableLocation> reachable) { this.reachable = reachable; }
+    
+    public List<LocationDTO> getBoundary() { return boundary; }
+    public void setBoundary(List<LocationDTO> boundary) { this.boundary = boundary; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,54 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 24-Nov-2025 12:31:05 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * Request DTO for a many-to-many distance matrix. Locations and connections are
+ * required for an inline graph and ignored for a registered one.
+ */
+public class MatrixRequest {
+    
+    @Valid
+    private List<LocationDTO> locations;
+    
+    @Valid
+    private List<PathRequest.Connection> connections;
+    
+    @NotEmpty(message = "Source indices cannot be empty")
+    private List<Integer> sourceIndices;
+    
+    @NotEmpty(message = "Target indices cannot be empty")
+    private List<Integer> targetIndices;
+    
+    // Optional; DIJKSTRA (default) or CONTRACTION_HIERARCHIES
+    private SearchAlgorithm algorithm;
+    
+    // Constructors
+    public MatrixRequest() {}
+    
+    // Getters and Setters
+    public List<LocationDTO> getLocations() { return locations; }
+    public void setLocations(List<LocationDTO> locations) { this.locations = locations; }
+    
+    public List<PathRequest.Connection> getConnections() { return connections; }
+    public void setConnections(List<PathRequest.Connection> connections) { this.connections = connections; }
+    
+    public List<Integer> getSourceIndices() { return sourceIndices; }
+    public void setSourceIndices(List<Integer> sourceIndices) { this.sourceIndices = sourceIndices; }
+    
+    public List<Integer> getTargetIndices() { return targetIndices; }
+    public void setTargetIndices(List<Integer> targetIndices) { this.targetIndices = targetIndices; }
+    
+    public SearchAlgorithm getAlgorithm() { return algorithm; }
+    public void setAlgorithm(SearchAlgorithm algorithm) { this.algorithm = algorithm; }
+}
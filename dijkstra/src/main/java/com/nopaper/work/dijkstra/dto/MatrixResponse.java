@@ -0,0 +1,43 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 24-Nov-2025 12:38:47 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+/**
+ * Response DTO containing a distance matrix; {@code distancesKm[i][j]} is the distance
+ * from the i-th source to the j-th target, null if unreachable
+ */
+public class MatrixResponse {
+    
+    private boolean computed;
+    private Integer sourceCount;
+    private Integer targetCount;
+    private Double[][] distancesKm;
+    private String algorithm;
+    private String message;
+    
+    // Constructors
+    public MatrixResponse() {}
+    
+    // Getters and Setters
+    public boolean isComputed() { return computed; }
+    public void setComputed(boolean computed) { this.computed = computed; }
+    
+    public Integer getSourceCount() { return sourceCount; }
+    public void setSourceCount(Integer sourceCount) { this.sourceCount = sourceCount; }
+    
+    public Integer getTargetCount() { return targetCount; }
+    public void setTargetCount(Integer targetCount) { this.targetCount = targetCount; }
+    
+    public Double[][] getDistancesKm() { return distancesKm; }
+    public void setDistancesKm(Double[][] distancesKm) { this.distancesKm = distancesKm; }
+    
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,34 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 02-Dec-2025 11:09:43 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Request DTO for snapping a batch of points to the nearest locations of a registered
+ * graph
+ */
+public class NearestRequest {
+    
+    @NotEmpty(message = "Points list cannot be empty")
+    @Valid
+    private List<PointDTO> points;
+    
+    // Constructors
+    public NearestRequest() {}
+    
+    public NearestRequest(List<PointDTO> points) {
+        this.points = points;
+    }
+    
+    // Getters and Setters
+    public List<PointDTO> getPoints() { return points; }
+    public void setPoints(List<PointDTO> points) { this.points = points; }
+}
@@ -0,0 +1,36 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 02-Dec-2025 11:15:28 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+/**
+ * Response DTO with the nearest location of every requested point, in request order:
+ * {@code indices[i]} is the location index the i-th point snapped to and
+ * {@code distancesKm[i]} its great-circle distance from the point
+ */
+public class NearestResponse {
+    
+    private boolean computed;
+    private int[] indices;
+    private double[] distancesKm;
+    private String message;
+    
+    // Constructors
+    public NearestResponse() {}
+    
+    // Getters and Setters
+    public boolean isComputed() { return computed; }
+    public void setComputed(boolean computed) { this.computed = computed; }
+    
+    public int[] getIndices() { return indices; }
+    public void setIndices(int[] indices) { this.indices = indices; }
+    
+    public double[] getDistancesKm() { return distancesKm; }
+    public void setDistancesKm(double[] distancesKm) { this.distancesKm = distancesKm; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
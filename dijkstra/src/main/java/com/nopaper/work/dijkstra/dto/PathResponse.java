@@ -19,6 +19,22 @@ public class PathResponse {
     private double totalDistanceMiles;
     private List<PathSegment> segments;
     private String message;
+    private String algorithm;
+    private Integer settledNodes;
+    private Boolean cached;
+    private SearchStatistics statistics;
+    
+    // Compact mode: request location index of every path node, its coordinates as
+    // latitude/longitude pairs, and the distance of every segment
+    private int[] pathIndices;
+    private double[] coordinates;
+    private double[] segmentDistancesKm;
+    
+    // Loopless routes other than the path, shortest first, when requested
+    private List<PathResponse> alternatives;
+    
+    // One entry per leg between consecutive stops when waypoints were given
+    private List<RouteLeg> legs;
     
     // Inner class for path segments
     public static class PathSegment {
@@ -43,6 +59,79 @@ public class PathResponse {
         public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
     }
     
+    // Inner class for the legs of a route with waypoints; the segments of a leg follow those
+    // of the legs before it
+    public static class RouteLeg {
+        private int fromIndex;
+        private int toIndex;
+        private double distanceKm;
+        private double distanceMiles;
+        private int segmentCount;
+        
+        public RouteLeg() {}
+        
+        public RouteLeg(int fromIndex, int toIndex, double distanceKm, double distanceMiles, int segmentCount) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.distanceKm = distanceKm;
+            this.distanceMiles = distanceMiles;
+            this.segmentCount = segmentCount;
+        }
+        
+        // Getters and Setters
+        public int getFromIndex() { return fromIndex; }
+        public void setFromIndex(int fromIndex) { this.fromIndex = fromIndex; }
+        
+        public int getToIndex() { return toIndex; }
+        public void setToIndex(int toIndex) { this.toIndex = toIndex; }
+        
+        public double getDistanceKm() { return distanceKm; }
+        public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+        
+        public double getDistanceMiles() { return distanceMiles; }
+        public void setDistanceMiles(double distanceMiles) { this.distanceMiles = distanceMiles; }
+        
+        public int getSegmentCount() { return segmentCount; }
+        public void setSegmentCount(int segmentCount) { this.segmentCount = segmentCount; }
+    }
+    
+    // Inner class for timings and search effort, returned on request
+    public static class SearchStatistics {
+        private Double graphMs;
+        private Double searchMs;
+        private Double conversionMs;
+        private Double alternativesMs;
+        private Integer settledNodes;
+        private Long relaxedEdges;
+        private Long queuePushes;
+        
+        public SearchStatistics() {}
+        
+        // Time to obtain the graph of an inline request, whether built or reused
+        public Double getGraphMs() { return graphMs; }
+        public void setGraphMs(Double graphMs) { this.graphMs = graphMs; }
+        
+        // Absent when the result came from the cache
+        public Double getSearchMs() { return searchMs; }
+        public void setSearchMs(Double searchMs) { this.searchMs = searchMs; }
+        
+        public Double getConversionMs() { return conversionMs; }
+        public void setConversionMs(Double conversionMs) { this.conversionMs = conversionMs; }
+        
+        // Time to find and convert the alternative routes, which are never cached
+        public Double getAlternativesMs() { return alternativesMs; }
+        public void setAlternativesMs(Double alternativesMs) { this.alternativesMs = alternativesMs; }
+        
+        public Integer getSettledNodes() { return settledNodes; }
+        public void setSettledNodes(Integer settledNodes) { this.settledNodes = settledNodes; }
+        
+        public Long getRelaxedEdges() { return relaxedEdges; }
+        public void setRelaxedEdges(Long relaxedEdges) { this.relaxedEdges = relaxedEdges; }
+        
+        public Long getQueuePushes() { return queuePushes; }
+        public void setQueuePushes(Long queuePushes) { this.queuePushes = queuePushes; }
+    }
+    
     // Constructors
     public PathResponse() {}
     
@@ -68,4 +157,31 @@ public class PathResponse {
     
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+    
+    public String getAlgorithm() { return algorithm; }
+    public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+    
+    public Integer getSettledNodes() { return settledNodes; }
+    public void setSettledNodes(Integer settledNodes) { this.settledNodes = settledNodes; }
+    
+    public Boolean getCached() { return cached; }
+    public void setCached(Boolean cached) { this.cached = cached; }
+    
+    public SearchStatistics getStatistics() { return statistics; }
+    public void setStatistics(SearchStatistics statistics) { this.statistics = statistics; }
+    
+    public int[] getPathIndices() { return pathIndices; }
+    public void setPathIndices(int[] pathIndices) { this.pathIndices = pathIndices; }
+    
+    public double[] getCoordinates() { return coordinates; }
+    public void setCoordinates(double[] coordinates) { this.coordinates = coordinates; }
+    
+    public double[] getSegmentDistancesKm() { return segmentDistancesKm; }
+    public void setSegmentDistancesKm(double[] segmentDistancesKm) { this.segmentDistancesKm = segmentDistancesKm; }
+    
+    public List<PathResponse> getAlternatives() { return alternatives; }
+    public void setAlternatives(List<PathResponse> alternatives) { this.alternatives = alternatives; }
+    
+    public List<RouteLeg> getLegs() { return legs; }
+    public void setLegs(List<RouteLeg> legs) { this.legs = legs; }
 }
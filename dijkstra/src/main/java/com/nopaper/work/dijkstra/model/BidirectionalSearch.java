@@ -0,0 +1,140 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 15-Nov-2025 02:12:40 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+/**
+ * Bidirectional Dijkstra and bidirectional A* over an undirected {@link CsrGraph}.
+ * <p>
+ * A forward search from the start and a backward search from the end run on their own
+ * {@link SearchContext}s; the shorter queue is expanded next. Every relaxation that
+ * reaches a node already seen by the other side is a candidate meeting point, and the
+ * search stops once the two smallest queue keys add up to at least the best candidate.
+ * <p>
+ * The A* variant uses the average potential {@code p(v) = (h_end(v) - h_start(v)) / 2}
+ * forward and {@code -p(v)} backward. Both potentials are consistent and sum to zero,
+ * so the same stopping criterion stays exact.
+ */
+final class BidirectionalSearch {
+
+    private final CsrGraph graph;
+    private final SearchContext forward;
+    private final SearchContext backward;
+    private final int startNode;
+    private final int endNode;
+    private final boolean goalDirected;
+
+    private double bestDistance = Double.MAX_VALUE;
+    // Best path found so far runs start -> meetingForward -> meetingBackward -> end
+    private int meetingForward = -1;
+    private int meetingBackward = -1;
+    private int settled;
+
+    BidirectionalSearch(CsrGraph graph, SearchContext forward, SearchContext backward,
+                        int startNode, int endNode, boolean goalDirected) {
+        this.graph = graph;
+        this.forward = forward;
+        this.backward = backward;
+        this.startNode = startNode;
+        this.endNode = endNode;
+        this.goalDirected = goalDirected;
+    }
+
+    /**
+     * Runs both searches until the shortest path is proven.
+     */
+    void run() {
+        SearchQueue forwardQueue = forward.getQueue();
+        SearchQueue backwardQueue = backward.getQueue();
+
+        forward.update(startNode, 0, -1);
+        forwardQueue.insertOrDecrease(startNode, potential(startNode, true));
+        backward.update(endNode, 0, -1);
+        backwardQueue.insertOrDecrease(endNode, potential(endNode, false));
+        if (startNode == endNode) {
+            bestDistance = 0;
+            meetingForward = startNode;
+        }
+
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if (forwardQueue.peekKey() + backwardQueue.peekKey() >= bestDistance)
+                break;
+
+            if (forwardQueue.size() <= backwardQueue.size())
+                expand(forward, backward, true);
+            else
+                expand(backward, forward, false);
+        }
+    }
+
+    private void expand(SearchContext side, SearchContext other, boolean isForward) {
+        int current = side.getQueue().poll();
+        settled++;
+
+        double currentDist = side.getDistance(current);
+        side.addRelaxedEdges(graph.getEdgeEnd(current) - graph.getEdgeStart(current));
+        for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+            int neighbor = graph.getTarget(edge);
+            double newDist = currentDist + graph.getWeight(edge);
+
+            if (newDist < side.getDistance(neighbor)) {
+                side.update(neighbor, newDist, current);
+                side.getQueue().insertOrDecrease(neighbor, newDist + potential(neighbor, isForward));
+            }
+
+            if (other.isReached(neighbor)) {
+                double candidate = newDist + other.getDistance(neighbor);
+                if (candidate < bestDistance) {
+                    bestDistance = candidate;
+                    meetingForward = isForward ? current : neighbor;
+                    meetingBackward = isForward ? neighbor : current;
+                }
+            }
+        }
+    }
+
+    private double potential(int node, boolean isForward) {
+        if (!goalDirected)
+            return 0;
+        double lat = graph.getLatitude(node);
+        double lon = graph.getLongitude(node);
+        double toEnd = Location.distanceKm(lat, lon, graph.getLatitude(endNode), graph.getLongitude(endNode));
+        double toStart = Location.distanceKm(lat, lon, graph.getLatitude(startNode), graph.getLongitude(startNode));
+        double potential = (toEnd - toStart) / 2;
+        return isForward ? potential : -potential;
+    }
+
+    double getDistance() {
+        return bestDistance;
+    }
+
+    int getSettledNodes() {
+        return settled;
+    }
+
+    /**
+     * Joins the forward parent chain of the meeting edge with its backward chain.
+     * @return node ids of the path in order; empty if unreachable
+     */
+    int[] buildPath() {
+        if (meetingForward == -1)
+            return new int[0]; // Unreachable
+
+        int forwardLength = 0;
+        for (int current = meetingForward; current != -1; current = forward.getParent(current))
+            forwardLength++;
+        int length = forwardLength;
+        for (int current = meetingBackward; current != -1; current = backward.getParent(current))
+            length++;
+
+        int[] path = new int[length];
+        for (int current = meetingForward, i = forwardLength - 1; current != -1; current = forward.getParent(current))
+            path[i--] = current;
+        for (int current = meetingBackward, i = forwardLength; current != -1; current = backward.getParent(current))
+            path[i++] = current;
+        return path;
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 01:48:40 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+/**
+ * The searches a shard of a partitioned graph answers for the cells it holds: all that
+ * {@link GraphShard#route} needs from the shards of the start and end nodes. Implemented
+ * by {@link GraphShard} itself and by clients of shards served by other instances.
+ * Node ids are those of the {@link GraphPartition}.
+ */
+public interface CellRouter {
+
+    /**
+     * @return distance from the node to every boundary node of its cell, indexed from
+     *         {@link GraphPartition#getOverlayStart(int)}; infinity if not reachable
+     *         inside the cell
+     */
+    double[] boundaryDistances(int node);
+
+    /**
+     * @return shortest path between two nodes of the same cell that stays in the cell;
+     *         empty if there is none
+     */
+    RoutePath cellPath(int from, int to);
+}
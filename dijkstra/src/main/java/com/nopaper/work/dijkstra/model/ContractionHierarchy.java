@@ -0,0 +1,329 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Nov-2025 07:55:31 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction Hierarchy over an undirected {@link CsrGraph}.
+ * <p>
+ * Every node has a rank, its position in the contraction order. The hierarchy keeps only
+ * upward edges, from a node to neighbours of higher rank, as a CSR structure of its own;
+ * an edge that is a shortcut records the contracted node it bypasses so that paths can be
+ * unpacked into original edges. A point-to-point query is a bidirectional Dijkstra that
+ * only relaxes upward edges.
+ */
+public final class ContractionHierarchy {
+
+    private static final int MAGIC = 0x444A4348; // "DJCH"
+    private static final int VERSION = 1;
+
+    private final CsrGraph graph;
+    private final IntBuffer rank;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private final IntBuffer middles;
+
+    ContractionHierarchy(CsrGraph graph, int[] rank, int[] offsets, int[] targets,
+                         double[] weights, int[] middles) {
+        this(graph, IntBuffer.wrap(rank), IntBuffer.wrap(offsets), IntBuffer.wrap(targets),
+             DoubleBuffer.wrap(weights), IntBuffer.wrap(middles));
+    }
+
+    /**
+     * Creates a hierarchy over existing buffers, e.g. mapped {@link GraphFile} sections.
+     */
+    ContractionHierarchy(CsrGraph graph, IntBuffer rank, IntBuffer offsets, IntBuffer targets,
+                         DoubleBuffer weights, IntBuffer middles) {
+        this.graph = graph;
+        this.rank = rank;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+    }
+
+    /**
+     * Orders the nodes of the graph and builds the shortcuts; this is the expensive
+     * preprocessing step and should run once per graph version.
+     */
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new ContractionHierarchyBuilder(graph).build();
+    }
+
+    /**
+     * @return the graph whose node ids this hierarchy uses
+     */
+    public CsrGraph getGraph() {
+        return graph;
+    }
+    public int getRank(int node) {
+        return rank.get(node);
+    }
+    /**
+     * @return number of upward edges, original and shortcut
+     */
+    public int getEdgeCount() {
+        return targets.capacity();
+    }
+    public int getShortcutCount() {
+        int shortcuts = 0;
+        for (int edge = 0; edge < middles.capacity(); edge++) {
+            if (middles.get(edge) != -1)
+                shortcuts++;
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Bidirectional upward search with stall-on-demand: a node is not expanded when a
+     * higher ranked neighbour already proves a shorter distance to it. Each side stops
+     * once its smallest key reaches the best distance found.
+     */
+    SearchResult search(SearchContext forward, SearchContext backward, int startNode, int endNode) {
+        SearchContext[] sides = { forward, backward };
+        forward.update(startNode, 0, -1);
+        forward.getQueue().insertOrDecrease(startNode, 0);
+        backward.update(endNode, 0, -1);
+        backward.getQueue().insertOrDecrease(endNode, 0);
+
+        double best = Double.MAX_VALUE;
+        int meeting = -1;
+        int settled = 0;
+        int turn = 0;
+
+        while (true) {
+            boolean forwardActive = isActive(forward, best);
+            boolean backwardActive = isActive(backward, best);
+            if (!forwardActive && !backwardActive)
+                break;
+
+            int expanded = forwardActive && backwardActive ? turn : (forwardActive ? 0 : 1);
+            turn = 1 - expanded;
+            SearchContext side = sides[expanded];
+            SearchContext other = sides[1 - expanded];
+
+            int current = side.getQueue().poll();
+            settled++;
+            double currentDist = side.getDistance(current);
+
+            if (other.isReached(current) && currentDist + other.getDistance(current) < best) {
+                best = currentDist + other.getDistance(current);
+                meeting = current;
+            }
+
+            if (isStalled(side, current, currentDist))
+                continue;
+            side.addRelaxedEdges(offsets.get(current + 1) - offsets.get(current));
+            for (int edge = offsets.get(current); edge < offsets.get(current + 1); edge++) {
+                int neighbor = targets.get(edge);
+                double newDist = currentDist + weights.get(edge);
+                if (newDist < side.getDistance(neighbor)) {
+                    side.update(neighbor, newDist, current);
+                    side.getQueue().insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+
+        int[] path = buildPath(forward, backward, meeting);
+        return new SearchResult(path, graph.getLocations(path), best, settled);
+    }
+
+    /**
+     * Exhaustive upward search with stall-on-demand, as used by many-to-many queries.
+     * Stalled nodes are left out: their distances are not exact, and no shortest path
+     * meets at one of them.
+     * @return the settled nodes that were not stalled; distances are in {@code side}
+     */
+    int[] searchUpward(SearchContext side, int source) {
+        SearchQueue queue = side.getQueue();
+        side.update(source, 0, -1);
+        queue.insertOrDecrease(source, 0);
+
+        int[] space = new int[64];
+        int count = 0;
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            double currentDist = side.getDistance(current);
+            if (isStalled(side, current, currentDist))
+                continue;
+
+            if (count == space.length)
+                space = Arrays.copyOf(space, count * 2);
+            space[count++] = current;
+            for (int edge = offsets.get(current); edge < offsets.get(current + 1); edge++) {
+                int neighbor = targets.get(edge);
+                double newDist = currentDist + weights.get(edge);
+                if (newDist < side.getDistance(neighbor)) {
+                    side.update(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+        return Arrays.copyOf(space, count);
+    }
+
+    private static boolean isActive(SearchContext side, double best) {
+        return !side.getQueue().isEmpty() && side.getQueue().peekKey() < best;
+    }
+
+    /**
+     * Unpacks the upward chains from the meeting node into original edges.
+     * @return node ids of the path in order; empty if unreachable
+     */
+    private int[] buildPath(SearchContext forward, SearchContext backward, int meeting) {
+        if (meeting == -1)
+            return new int[0]; // Unreachable
+
+        int length = 0;
+        for (int current = meeting; current != -1; current = forward.getParent(current))
+            length++;
+        int[] upChain = new int[length];
+        for (int current = meeting, i = length - 1; current != -1; current = forward.getParent(current))
+            upChain[i--] = current;
+
+        IntStream.Builder path = IntStream.builder();
+        path.add(upChain[0]);
+        for (int i = 1; i < length; i++)
+            unpack(upChain[i - 1], upChain[i], path);
+        for (int current = meeting; backward.getParent(current) != -1; current = backward.getParent(current))
+            unpack(current, backward.getParent(current), path);
+        return path.build().toArray();
+    }
+
+    private boolean isStalled(SearchContext side, int node, double distance) {
+        for (int edge = offsets.get(node); edge < offsets.get(node + 1); edge++) {
+            int higher = targets.get(edge);
+            if (side.getDistance(higher) + weights.get(edge) < distance)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Appends the original nodes of the hierarchy edge {@code from - to}, excluding
+     * {@code from} itself, to the path.
+     */
+    private void unpack(int from, int to, IntStream.Builder path) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = from;
+        stack[top++] = to;
+
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+            int middle = middles.get(findEdge(a, b));
+            if (middle == -1) {
+                path.add(b);
+                continue;
+            }
+            if (top + 4 > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            // Second half is pushed first so that the first half is unpacked first
+            stack[top++] = middle;
+            stack[top++] = b;
+            stack[top++] = a;
+            stack[top++] = middle;
+        }
+    }
+
+    private int findEdge(int a, int b) {
+        int lower = rank.get(a) < rank.get(b) ? a : b;
+        int higher = lower == a ? b : a;
+        for (int edge = offsets.get(lower); edge < offsets.get(lower + 1); edge++) {
+            if (targets.get(edge) == higher)
+                return edge;
+        }
+        throw new IllegalStateException("Hierarchy has no edge between " + a + " and " + b);
+    }
+
+    // Raw buffers for GraphFile; duplicates so that callers cannot move shared positions
+    IntBuffer ranks() {
+        return rank.duplicate();
+    }
+    IntBuffer offsets() {
+        return offsets.duplicate();
+    }
+    IntBuffer targets() {
+        return targets.duplicate();
+    }
+    DoubleBuffer weights() {
+        return weights.duplicate();
+    }
+    IntBuffer middles() {
+        return middles.duplicate();
+    }
+
+    /**
+     * Writes the hierarchy in a compact binary form; node ids refer to {@link #getGraph()}.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(rank.capacity());
+        data.writeInt(targets.capacity());
+        for (int i = 0; i < rank.capacity(); i++)
+            data.writeInt(rank.get(i));
+        for (int i = 0; i < offsets.capacity(); i++)
+            data.writeInt(offsets.get(i));
+        for (int i = 0; i < targets.capacity(); i++)
+            data.writeInt(targets.get(i));
+        for (int i = 0; i < weights.capacity(); i++)
+            data.writeDouble(weights.get(i));
+        for (int i = 0; i < middles.capacity(); i++)
+            data.writeInt(middles.get(i));
+        data.flush();
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #write(OutputStream)} for the same graph.
+     */
+    public static ContractionHierarchy read(InputStream in, CsrGraph graph) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC)
+            throw new IOException("Not a contraction hierarchy file");
+        int version = data.readInt();
+        if (version != VERSION)
+            throw new IOException("Unsupported contraction hierarchy version " + version);
+
+        int nodeCount = data.readInt();
+        int edgeCount = data.readInt();
+        if (nodeCount != graph.getNodeCount())
+            throw new IOException("Hierarchy has " + nodeCount + " nodes but the graph has "
+                                  + graph.getNodeCount());
+
+        int[] rank = new int[nodeCount];
+        int[] offsets = new int[nodeCount + 1];
+        int[] targets = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int[] middles = new int[edgeCount];
+        for (int i = 0; i < nodeCount; i++)
+            rank[i] = data.readInt();
+        for (int i = 0; i <= nodeCount; i++)
+            offsets[i] = data.readInt();
+        for (int i = 0; i < edgeCount; i++)
+            targets[i] = data.readInt();
+        for (int i = 0; i < edgeCount; i++)
+            weights[i] = data.readDouble();
+        for (int i = 0; i < edgeCount; i++)
+            middles[i] = data.readInt();
+        return new ContractionHierarchy(graph, rank, offsets, targets, weights, middles);
+    }
+}
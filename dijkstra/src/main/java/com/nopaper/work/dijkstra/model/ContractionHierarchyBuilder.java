@@ -0,0 +1,256 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Nov-2025 08:40:13 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Node ordering and shortcut construction for a {@link ContractionHierarchy}.
+ * <p>
+ * Nodes are contracted one at a time in order of increasing priority, where the
+ * priority is twice the edge difference (shortcuts added minus edges removed) plus the
+ * number of already contracted neighbours. Priorities are only updated lazily: a polled
+ * node whose recomputed priority is worse than the next one is re-queued.
+ * <p>
+ * Contracting {@code v} adds a shortcut {@code u - w} for each pair of remaining
+ * neighbours unless a bounded witness search finds a path of at most the same length
+ * that avoids {@code v}. The edges of {@code v} to its remaining neighbours become its
+ * upward edges in the hierarchy.
+ */
+final class ContractionHierarchyBuilder {
+
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+
+    private final CsrGraph graph;
+    private final int nodeCount;
+
+    // Remaining (uncontracted) graph, one growable adjacency list per node
+    private final int[][] adjTargets;
+    private final double[][] adjWeights;
+    private final int[][] adjMiddles;
+    private final int[] degree;
+    private final int[] contractedNeighbors;
+    private final SearchContext witness;
+    // Targets of the current witness search carry the current mark
+    private final int[] marks;
+    private int mark;
+
+    // Upward edges collected while contracting
+    private int[] upSources = new int[64];
+    private int[] upTargets = new int[64];
+    private double[] upWeights = new double[64];
+    private int[] upMiddles = new int[64];
+    private int upCount;
+
+    ContractionHierarchyBuilder(CsrGraph graph) {
+        this.graph = graph;
+        this.nodeCount = graph.getNodeCount();
+        this.adjTargets = new int[nodeCount][];
+        this.adjWeights = new double[nodeCount][];
+        this.adjMiddles = new int[nodeCount][];
+        this.degree = new int[nodeCount];
+        this.contractedNeighbors = new int[nodeCount];
+        this.witness = new SearchContext(nodeCount);
+        this.marks = new int[nodeCount];
+    }
+
+    ContractionHierarchy build() {
+        for (int v = 0; v < nodeCount; v++) {
+            int initial = Math.max(2, graph.getEdgeEnd(v) - graph.getEdgeStart(v));
+            adjTargets[v] = new int[initial];
+            adjWeights[v] = new double[initial];
+            adjMiddles[v] = new int[initial];
+        }
+        for (int v = 0; v < nodeCount; v++) {
+            for (int edge = graph.getEdgeStart(v); edge < graph.getEdgeEnd(v); edge++) {
+                int u = graph.getTarget(edge);
+                if (u != v)
+                    addOrImprove(v, u, graph.getWeight(edge), -1);
+            }
+        }
+
+        IndexedDaryHeap order = new IndexedDaryHeap(4, nodeCount);
+        for (int v = 0; v < nodeCount; v++)
+            order.insertOrDecrease(v, priority(v));
+
+        int[] rank = new int[nodeCount];
+        int nextRank = 0;
+        while (!order.isEmpty()) {
+            int v = order.poll();
+            double current = priority(v);
+            if (!order.isEmpty() && current > order.peekKey()) {
+                order.insertOrDecrease(v, current);
+                continue;
+            }
+
+            contract(v, false);
+            rank[v] = nextRank++;
+            for (int i = 0; i < degree[v]; i++) {
+                int u = adjTargets[v][i];
+                recordUpwardEdge(v, u, adjWeights[v][i], adjMiddles[v][i]);
+                remove(u, v);
+                contractedNeighbors[u]++;
+            }
+            degree[v] = 0;
+            adjTargets[v] = adjMiddles[v] = null;
+            adjWeights[v] = null;
+        }
+
+        return assemble(rank);
+    }
+
+    private double priority(int v) {
+        return 2 * (contract(v, true) - degree[v]) + contractedNeighbors[v];
+    }
+
+    /**
+     * Finds the shortcuts needed to contract {@code v}; adds them unless simulating.
+     * Simulations use a smaller witness limit, which can only overestimate shortcuts.
+     * @return number of shortcuts needed
+     */
+    private int contract(int v, boolean simulate) {
+        int[] targets = adjTargets[v];
+        double[] weights = adjWeights[v];
+        int count = degree[v];
+        int settleLimit = simulate ? SIMULATION_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT;
+        int shortcuts = 0;
+
+        for (int i = 0; i < count - 1; i++) {
+            int u = targets[i];
+            double maxVia = 0;
+            nextMark();
+            for (int j = i + 1; j < count; j++) {
+                maxVia = Math.max(maxVia, weights[i] + weights[j]);
+                marks[targets[j]] = mark;
+            }
+            witnessSearch(u, v, maxVia, count - 1 - i, settleLimit);
+
+            for (int j = i + 1; j < count; j++) {
+                int w = targets[j];
+                double via = weights[i] + weights[j];
+                if (witness.getDistance(w) <= via)
+                    continue;
+
+                shortcuts++;
+                if (!simulate) {
+                    addOrImprove(u, w, via, v);
+                    addOrImprove(w, u, via, v);
+                }
+            }
+        }
+        return shortcuts;
+    }
+
+    /**
+     * Bounded Dijkstra from {@code source} in the remaining graph, skipping {@code excluded}.
+     * Stops early once all {@code targetCount} marked targets are settled.
+     */
+    private void witnessSearch(int source, int excluded, double maxDistance, int targetCount, int settleLimit) {
+        witness.reset();
+        SearchQueue queue = witness.getQueue();
+        witness.update(source, 0, -1);
+        queue.insertOrDecrease(source, 0);
+
+        int settled = 0;
+        while (!queue.isEmpty() && settled++ < settleLimit && queue.peekKey() <= maxDistance) {
+            int current = queue.poll();
+            if (marks[current] == mark && --targetCount == 0)
+                break;
+
+            double currentDist = witness.getDistance(current);
+            for (int i = 0; i < degree[current]; i++) {
+                int neighbor = adjTargets[current][i];
+                if (neighbor == excluded)
+                    continue;
+                double newDist = currentDist + adjWeights[current][i];
+                if (newDist < witness.getDistance(neighbor)) {
+                    witness.update(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+    }
+
+    private void nextMark() {
+        if (++mark == 0) {
+            Arrays.fill(marks, 0);
+            mark = 1;
+        }
+    }
+
+    private void addOrImprove(int from, int to, double weight, int middle) {
+        int[] targets = adjTargets[from];
+        for (int i = 0; i < degree[from]; i++) {
+            if (targets[i] == to) {
+                if (weight < adjWeights[from][i]) {
+                    adjWeights[from][i] = weight;
+                    adjMiddles[from][i] = middle;
+                }
+                return;
+            }
+        }
+
+        int slot = degree[from]++;
+        if (slot == targets.length) {
+            adjTargets[from] = Arrays.copyOf(targets, slot * 2);
+            adjWeights[from] = Arrays.copyOf(adjWeights[from], slot * 2);
+            adjMiddles[from] = Arrays.copyOf(adjMiddles[from], slot * 2);
+        }
+        adjTargets[from][slot] = to;
+        adjWeights[from][slot] = weight;
+        adjMiddles[from][slot] = middle;
+    }
+
+    private void remove(int from, int to) {
+        int[] targets = adjTargets[from];
+        for (int i = 0; i < degree[from]; i++) {
+            if (targets[i] == to) {
+                int last = --degree[from];
+                targets[i] = targets[last];
+                adjWeights[from][i] = adjWeights[from][last];
+                adjMiddles[from][i] = adjMiddles[from][last];
+                return;
+            }
+        }
+    }
+
+    private void recordUpwardEdge(int source, int target, double weight, int middle) {
+        if (upCount == upSources.length) {
+            int capacity = upCount * 2;
+            upSources = Arrays.copyOf(upSources, capacity);
+            upTargets = Arrays.copyOf(upTargets, capacity);
+            upWeights = Arrays.copyOf(upWeights, capacity);
+            upMiddles = Arrays.copyOf(upMiddles, capacity);
+        }
+        upSources[upCount] = source;
+        upTargets[upCount] = target;
+        upWeights[upCount] = weight;
+        upMiddles[upCount] = middle;
+        upCount++;
+    }
+
+    private ContractionHierarchy assemble(int[] rank) {
+        int[] offsets = new int[nodeCount + 1];
+        for (int i = 0; i < upCount; i++)
+            offsets[upSources[i] + 1]++;
+        for (int v = 0; v < nodeCount; v++)
+            offsets[v + 1] += offsets[v];
+
+        int[] targets = new int[upCount];
+        double[] weights = new double[upCount];
+        int[] middles = new int[upCount];
+        int[] cursor = Arrays.copyOf(offsets, nodeCount);
+        for (int i = 0; i < upCount; i++) {
+            int slot = cursor[upSources[i]]++;
+            targets[slot] = upTargets[i];
+            weights[slot] = upWeights[i];
+            middles[slot] = upMiddles[i];
+        }
+        return new ContractionHierarchy(graph, rank, offsets, targets, weights, middles);
+    }
+}
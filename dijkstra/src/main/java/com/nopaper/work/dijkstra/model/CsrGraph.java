@@ -0,0 +1,622 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 08-Nov-2025 11:14:07 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable compressed-sparse-row (CSR) representation of a geographic graph.
+ * <p>
+ * Nodes are identified by dense {@code int} ids. The outgoing edges of node {@code v}
+ * occupy the index range {@code [getEdgeStart(v), getEdgeEnd(v))} of the parallel
+ * {@code targets}/{@code weights} arrays, so traversal touches contiguous primitive
+ * memory instead of per-node hash maps of boxed weights.
+ * <p>
+ * The arrays are held as primitive buffers: heap arrays for graphs from a
+ * {@link Builder}, or read-only views of a memory-mapped {@link GraphFile}. A mapped
+ * graph keeps no {@link Location} objects; they are created from the coordinates and
+ * the names table on demand, and the location-to-id index is only built on the first
+ * {@link #indexOf(Location)}. Likewise the {@link SpatialIndex} for coordinate lookups is
+ * built on the first {@link #nearestNode(double, double)}.
+ */
+public final class CsrGraph {
+
+    // Relative slack for weights computed with another Haversine implementation, e.g. vectorized
+    private static final double GREAT_CIRCLE_TOLERANCE = 1e-9;
+
+    private final Location[] locations;
+    private final IntBuffer nameOffsets;
+    private final ByteBuffer names;
+    private final DoubleBuffer latitudes;
+    private final DoubleBuffer longitudes;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+    private volatile Map<Location, Integer> index;
+    private volatile SpatialIndex spatialIndex;
+
+    private CsrGraph(Location[] locations, double[] latitudes, double[] longitudes,
+                     int[] offsets, int[] targets, double[] weights,
+                     Map<Location, Integer> index) {
+        this.locations = locations;
+        this.nameOffsets = null;
+        this.names = null;
+        this.latitudes = DoubleBuffer.wrap(latitudes);
+        this.longitudes = DoubleBuffer.wrap(longitudes);
+        this.offsets = IntBuffer.wrap(offsets);
+        this.targets = IntBuffer.wrap(targets);
+        this.weights = DoubleBuffer.wrap(weights);
+        this.index = index;
+    }
+
+    /**
+     * Creates a graph over existing buffers, e.g. mapped file sections. Location names are
+     * the UTF-8 byte ranges {@code [nameOffsets[v], nameOffsets[v + 1])} of {@code names}.
+     */
+    CsrGraph(IntBuffer nameOffsets, ByteBuffer names, DoubleBuffer latitudes, DoubleBuffer longitudes,
+             IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        this.locations = null;
+        this.nameOffsets = nameOffsets;
+        this.names = names;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    // A graph over the nodes of another one with new edge arrays
+    private CsrGraph(CsrGraph nodes, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        this.locations = nodes.locations;
+        this.nameOffsets = nodes.nameOffsets;
+        this.names = nodes.names;
+        this.latitudes = nodes.latitudes;
+        this.longitudes = nodes.longitudes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.index = nodes.index;
+        this.spatialIndex = nodes.spatialIndex;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getNodeCount() {
+        return latitudes.capacity();
+    }
+    /**
+     * @return number of directed edges; every undirected connection is stored twice
+     */
+    public int getEdgeCount() {
+        return targets.capacity();
+    }
+    public int getEdgeStart(int node) {
+        return offsets.get(node);
+    }
+    public int getEdgeEnd(int node) {
+        return offsets.get(node + 1);
+    }
+    public int getTarget(int edge) {
+        return targets.get(edge);
+    }
+    public double getWeight(int edge) {
+        return weights.get(edge);
+    }
+    /**
+     * @return weight of the lightest edge from source to target, infinity if there is none
+     */
+    public double getEdgeWeight(int source, int target) {
+        double weight = Double.POSITIVE_INFINITY;
+        for (int e = getEdgeStart(source); e < getEdgeEnd(source); e++) {
+            if (getTarget(e) == target)
+                weight = Math.min(weight, getWeight(e));
+        }
+        return weight;
+    }
+    public double getLatitude(int node) {
+        return latitudes.get(node);
+    }
+    public double getLongitude(int node) {
+        return longitudes.get(node);
+    }
+    public String getName(int node) {
+        if (locations != null)
+            return locations[node].getName();
+        int start = nameOffsets.get(node);
+        byte[] bytes = new byte[nameOffsets.get(node + 1) - start];
+        names.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    public Location getLocation(int node) {
+        if (locations != null)
+            return locations[node];
+        return new Location(getName(node), getLatitude(node), getLongitude(node));
+    }
+    /**
+     * @return locations of the given nodes in the same order, e.g. of a path
+     */
+    public List<Location> getLocations(int[] nodes) {
+        List<Location> result = new ArrayList<>(nodes.length);
+        for (int node : nodes)
+            result.add(getLocation(node));
+        return result;
+    }
+
+    /**
+     * @return true if the arrays are views of a mapped file rather than heap arrays
+     */
+    public boolean isMapped() {
+        return locations == null;
+    }
+
+    /**
+     * @return node id of the location, or -1 if it is not part of the graph
+     */
+    public int indexOf(Location location) {
+        Integer id = locationIndex().get(location);
+        return id == null ? -1 : id;
+    }
+
+    private Map<Location, Integer> locationIndex() {
+        Map<Location, Integer> current = index;
+        if (current != null)
+            return current;
+
+        synchronized (this) {
+            if (index == null) {
+                Map<Location, Integer> built = new HashMap<>();
+                for (int v = getNodeCount() - 1; v >= 0; v--)
+                    built.put(getLocation(v), v); // Lowest id wins for duplicate locations
+                index = built;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * @return id of the node nearest to the coordinates by great-circle distance, or -1 if
+     *         the graph has no nodes
+     */
+    public int nearestNode(double latitude, double longitude) {
+        return spatialIndex().nearest(latitude, longitude);
+    }
+
+    /**
+     * {@link #nearestNode(double, double)} for a batch of coordinates, looked up in parallel
+     */
+    public int[] nearestNodes(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length)
+            throw new IllegalArgumentException("Coordinate arrays differ in length");
+
+        SpatialIndex spatial = spatialIndex();
+        int[] nearest = new int[latitudes.length];
+        IntStream.range(0, nearest.length).parallel()
+            .forEach(i -> nearest[i] = spatial.nearest(latitudes[i], longitudes[i]));
+        return nearest;
+    }
+
+    private SpatialIndex spatialIndex() {
+        SpatialIndex current = spatialIndex;
+        if (current != null)
+            return current;
+
+        synchronized (this) {
+            if (spatialIndex == null)
+                spatialIndex = new SpatialIndex(this);
+            return spatialIndex;
+        }
+    }
+
+    /**
+     * Returns a copy of this graph in which the edges between {@code from[i]} and
+     * {@code to[i]} weigh {@code weights[i]} kilometers, in both directions and including
+     * parallel edges; a weight of {@link Double#POSITIVE_INFINITY} removes them. Later
+     * updates of a pair win. This graph is left as it is, so searches running on it are
+     * not affected.
+     * <p>
+     * Only the edge arrays are copied: node arrays and the location index are shared, and
+     * so are offsets and targets unless edges are removed. A weight may not be below the
+     * great-circle distance of its endpoints, the lower bound of the A* heuristics.
+     *
+     * @throws IllegalArgumentException if a node id or weight is invalid, or two nodes are
+     *         not connected
+     */
+    public CsrGraph withEdgeWeights(int[] from, int[] to, double[] weights) {
+        if (from.length != to.length || from.length != weights.length)
+            throw new IllegalArgumentException("Edge update arrays differ in length");
+
+        int nodeCount = getNodeCount();
+        double[] updated = new double[getEdgeCount()];
+        this.weights.get(0, updated);
+        boolean removed = false;
+        for (int i = 0; i < from.length; i++) {
+            int source = from[i];
+            int target = to[i];
+            double weight = weights[i];
+            if (source < 0 || source >= nodeCount || target < 0 || target >= nodeCount)
+                throw new IllegalArgumentException("Invalid connection indices");
+            if (!(weight >= 0))
+                throw new IllegalArgumentException("Edge weight must be a non-negative number");
+            double greatCircle = Location.distanceKm(getLatitude(source), getLongitude(source),
+                                                     getLatitude(target), getLongitude(target));
+            if (weight < greatCircle * (1 - GREAT_CIRCLE_TOLERANCE))
+                throw new IllegalArgumentException("Edge weight between nodes " + source + " and " + target
+                                                   + " is below the great-circle distance of its endpoints");
+            if (setWeight(updated, source, target, weight) + setWeight(updated, target, source, weight) == 0)
+                throw new IllegalArgumentException("No edge between nodes " + source + " and " + target);
+            removed |= weight == Double.POSITIVE_INFINITY;
+        }
+
+        if (!removed)
+            return new CsrGraph(this, offsets, targets, DoubleBuffer.wrap(updated));
+
+        // Compact in place; an edge never moves to a later slot
+        int[] compactOffsets = new int[nodeCount + 1];
+        int[] compactTargets = new int[updated.length];
+        int kept = 0;
+        for (int v = 0; v < nodeCount; v++) {
+            for (int e = getEdgeStart(v); e < getEdgeEnd(v); e++) {
+                if (updated[e] == Double.POSITIVE_INFINITY)
+                    continue;
+                compactTargets[kept] = getTarget(e);
+                updated[kept++] = updated[e];
+            }
+            compactOffsets[v + 1] = kept;
+        }
+        return new CsrGraph(this, IntBuffer.wrap(compactOffsets), IntBuffer.wrap(Arrays.copyOf(compactTargets, kept)),
+                            DoubleBuffer.wrap(Arrays.copyOf(updated, kept)));
+    }
+
+    // Sets the weight of every edge from source to target; returns how many there are
+    private int setWeight(double[] weights, int source, int target, double weight) {
+        int count = 0;
+        for (int e = getEdgeStart(source); e < getEdgeEnd(source); e++) {
+            if (getTarget(e) == target) {
+                weights[e] = weight;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Raw buffers for GraphFile; duplicates so that callers cannot move shared positions
+    IntBuffer offsets() {
+        return offsets.duplicate();
+    }
+    IntBuffer targets() {
+        return targets.duplicate();
+    }
+    DoubleBuffer weights() {
+        return weights.duplicate();
+    }
+    DoubleBuffer latitudes() {
+        return latitudes.duplicate();
+    }
+    DoubleBuffer longitudes() {
+        return longitudes.duplicate();
+    }
+
+    /**
+     * Accumulates locations and edges in growable primitive arrays and compacts them
+     * into a {@link CsrGraph} with a counting sort on the source node.
+     * The builder stays usable after {@link #build()}.
+     * <p>
+     * Batches of edges added with {@link #addEdges(int[], int[])} and large builds are
+     * processed in parallel; the resulting graph is the same as that of a sequential
+     * build, whatever the number of threads.
+     * <p>
+     * Edge weights are great-circle distances computed with the {@link GeoDistance.Mode}
+     * of the builder, {@code HAVERSINE} unless set otherwise.
+     */
+    public static final class Builder {
+
+        // Below this many edges or arcs the fork-join overhead outweighs the work
+        static final int PARALLEL_THRESHOLD = 1 << 15;
+
+        // Edges per batch distance computation; fixed so that results do not depend on threads
+        private static final int BLOCK = 1024;
+
+        private GeoDistance.Mode distanceMode = GeoDistance.Mode.HAVERSINE;
+
+        private final Map<Location, Integer> index = new HashMap<>();
+        private Location[] locations = new Location[16];
+        private double[] latitudes = new double[16];
+        private double[] longitudes = new double[16];
+        private int nodeCount;
+
+        private int[] sources = new int[32];
+        private int[] destinations = new int[32];
+        private double[] distances = new double[32];
+        private int arcCount;
+
+        // New weights by directed node pair, applied to the arcs before they are next used
+        private final Map<Long, Double> weightUpdates = new HashMap<>();
+
+        private Builder() {}
+
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        /**
+         * Sets how the weights of edges added afterwards are computed.
+         */
+        public Builder distanceMode(GeoDistance.Mode mode) {
+            this.distanceMode = mode;
+            return this;
+        }
+        public Location getLocation(int node) {
+            return locations[node];
+        }
+
+        /**
+         * Adds a location if it is not present yet.
+         * @return node id of the location
+         */
+        public int addLocation(Location location) {
+            Integer existing = index.get(location);
+            if (existing != null)
+                return existing;
+
+            if (nodeCount == locations.length) {
+                locations = Arrays.copyOf(locations, nodeCount * 2);
+                latitudes = Arrays.copyOf(latitudes, nodeCount * 2);
+                longitudes = Arrays.copyOf(longitudes, nodeCount * 2);
+            }
+            locations[nodeCount] = location;
+            latitudes[nodeCount] = location.getLatitude();
+            longitudes[nodeCount] = location.getLongitude();
+            index.put(location, nodeCount);
+            return nodeCount++;
+        }
+
+        /**
+         * Creates a bidirectional edge weighted by the great-circle distance of its endpoints.
+         */
+        public Builder addEdge(Location source, Location destination) {
+            Integer sourceId = index.get(source);
+            Integer destId = index.get(destination);
+
+            if (sourceId == null || destId == null)
+                throw new IllegalArgumentException("Both locations must be added to the graph first");
+
+            return addEdge(sourceId, destId, distance(sourceId, destId));
+        }
+
+        /**
+         * Creates a bidirectional edge between two node ids weighted by the great-circle
+         * distance of their locations.
+         */
+        public Builder addEdge(int source, int destination) {
+            if (source < 0 || source >= nodeCount || destination < 0 || destination >= nodeCount)
+                throw new IllegalArgumentException("Invalid connection indices");
+
+            return addEdge(source, destination, distance(source, destination));
+        }
+
+        private double distance(int source, int destination) {
+            return GeoDistance.distanceKm(distanceMode, latitudes[source], longitudes[source],
+                                          latitudes[destination], longitudes[destination]);
+        }
+
+        /**
+         * Creates a bidirectional edge between two node ids with the given weight.
+         */
+        public Builder addEdge(int source, int destination, double distance) {
+            if (source < 0 || source >= nodeCount || destination < 0 || destination >= nodeCount)
+                throw new IllegalArgumentException("Invalid connection indices");
+
+            applyWeightUpdates();
+            ensureArcCapacity(arcCount + 2);
+            setArcs(arcCount, source, destination, distance);
+            arcCount += 2;
+            return this;
+        }
+
+        /**
+         * Creates a bidirectional edge between {@code from[i]} and {@code to[i]} for every
+         * {@code i}, weighted by the great-circle distance of their locations. Equivalent to
+         * {@link #addEdge(int, int)} for each pair in order, except that the weights are
+         * computed in blocks with the {@link GeoDistance} batch kernel, in parallel for a
+         * large batch; vectorized weights may differ from the scalar ones in the last bits.
+         */
+        public Builder addEdges(int[] from, int[] to) {
+            if (from.length != to.length)
+                throw new IllegalArgumentException("Edge endpoint arrays differ in length");
+            for (int i = 0; i < from.length; i++) {
+                if (from[i] < 0 || from[i] >= nodeCount || to[i] < 0 || to[i] >= nodeCount)
+                    throw new IllegalArgumentException("Invalid connection indices");
+            }
+
+            applyWeightUpdates();
+            ensureArcCapacity(arcCount + 2 * from.length);
+            int base = arcCount;
+            IntStream blocks = IntStream.range(0, (from.length + BLOCK - 1) / BLOCK);
+            if (from.length >= PARALLEL_THRESHOLD)
+                blocks = blocks.parallel();
+            blocks.forEach(block -> {
+                int start = block * BLOCK;
+                int count = Math.min(BLOCK, from.length - start);
+                double[] lat1 = new double[count];
+                double[] lon1 = new double[count];
+                double[] lat2 = new double[count];
+                double[] lon2 = new double[count];
+                for (int i = 0; i < count; i++) {
+                    lat1[i] = latitudes[from[start + i]];
+                    lon1[i] = longitudes[from[start + i]];
+                    lat2[i] = latitudes[to[start + i]];
+                    lon2[i] = longitudes[to[start + i]];
+                }
+                double[] distances = new double[count];
+                GeoDistance.distancesKm(distanceMode, lat1, lon1, lat2, lon2, distances, count);
+                for (int i = 0; i < count; i++)
+                    setArcs(base + 2 * (start + i), from[start + i], to[start + i], distances[i]);
+            });
+            arcCount += 2 * from.length;
+            return this;
+        }
+
+        /**
+         * Sets the weight of all edges between {@code from[i]} and {@code to[i]} like
+         * {@link CsrGraph#withEdgeWeights} does for a built graph, without its checks. The
+         * updates are applied on the next build or edge addition, so edges added later keep
+         * their own weights.
+         */
+        Builder setEdgeWeights(int[] from, int[] to, double[] weights) {
+            for (int i = 0; i < from.length; i++) {
+                weightUpdates.put(pair(from[i], to[i]), weights[i]);
+                weightUpdates.put(pair(to[i], from[i]), weights[i]);
+            }
+            return this;
+        }
+
+        private void applyWeightUpdates() {
+            if (weightUpdates.isEmpty())
+                return;
+
+            // Both arcs of a removed edge go, so the remaining arcs stay in pairs
+            int kept = 0;
+            for (int i = 0; i < arcCount; i++) {
+                Double weight = weightUpdates.get(pair(sources[i], destinations[i]));
+                double distance = weight != null ? weight : distances[i];
+                if (distance == Double.POSITIVE_INFINITY)
+                    continue;
+                sources[kept] = sources[i];
+                destinations[kept] = destinations[i];
+                distances[kept++] = distance;
+            }
+            arcCount = kept;
+            weightUpdates.clear();
+        }
+
+        private static long pair(int source, int destination) {
+            return (long) source << 32 | destination;
+        }
+
+        private void ensureArcCapacity(int required) {
+            if (required <= sources.length)
+                return;
+
+            int capacity = Math.max(required, sources.length * 2);
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            distances = Arrays.copyOf(distances, capacity);
+        }
+
+        // The arc pair of an edge: source to destination, then back
+        private void setArcs(int arc, int source, int destination, double distance) {
+            sources[arc] = source;
+            destinations[arc] = destination;
+            distances[arc] = distance;
+            sources[arc + 1] = destination;
+            destinations[arc + 1] = source;
+            distances[arc + 1] = distance;
+        }
+
+        public CsrGraph build() {
+            applyWeightUpdates();
+            int[] offsets = new int[nodeCount + 1];
+            int[] targets = new int[arcCount];
+            double[] weights = new double[arcCount];
+            if (arcCount >= PARALLEL_THRESHOLD)
+                sortParallel(offsets, targets, weights);
+            else
+                sort(offsets, targets, weights);
+
+            return new CsrGraph(Arrays.copyOf(locations, nodeCount), Arrays.copyOf(latitudes, nodeCount),
+                                Arrays.copyOf(longitudes, nodeCount), offsets, targets, weights,
+                                new HashMap<>(index));
+        }
+
+        private void sort(int[] offsets, int[] targets, double[] weights) {
+            for (int i = 0; i < arcCount; i++)
+                offsets[sources[i] + 1]++;
+            for (int v = 0; v < nodeCount; v++)
+                offsets[v + 1] += offsets[v];
+
+            int[] cursor = Arrays.copyOf(offsets, nodeCount);
+            for (int i = 0; i < arcCount; i++) {
+                int slot = cursor[sources[i]]++;
+                targets[slot] = destinations[i];
+                weights[slot] = distances[i];
+            }
+        }
+
+        /**
+         * Stable counting sort over contiguous chunks of the arcs, one task per chunk: each
+         * chunk counts its sources, every node's slot range is split among the chunks in
+         * chunk order, and each chunk scatters its arcs into its share. Being stable, the
+         * result equals that of {@link #sort} for any number of chunks.
+         * <p>
+         * The per-chunk counts take {@code chunks * nodeCount} ints, so the chunk count is
+         * capped at the average number of arcs per node; with a single chunk the sequential
+         * sort is used.
+         */
+        private void sortParallel(int[] offsets, int[] targets, double[] weights) {
+            int chunks = (int) Math.min(ForkJoinPool.getCommonPoolParallelism(),
+                                        (long) arcCount / Math.max(1, nodeCount));
+            if (chunks < 2) {
+                sort(offsets, targets, weights);
+                return;
+            }
+
+            int[] arcSources = sources;
+            int[] arcDestinations = destinations;
+            double[] arcDistances = distances;
+            int[][] cursors = new int[chunks][];
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] counts = new int[nodeCount];
+                for (int i = chunkStart(c, chunks); i < chunkStart(c + 1, chunks); i++)
+                    counts[arcSources[i]]++;
+                cursors[c] = counts;
+            });
+
+            IntStream.range(0, nodeCount).parallel().forEach(v -> {
+                int degree = 0;
+                for (int[] counts : cursors)
+                    degree += counts[v];
+                offsets[v + 1] = degree;
+            });
+            Arrays.parallelPrefix(offsets, Integer::sum);
+
+            // Counts become the first slot of each chunk's share of a node's range
+            IntStream.range(0, nodeCount).parallel().forEach(v -> {
+                int slot = offsets[v];
+                for (int[] counts : cursors) {
+                    int count = counts[v];
+                    counts[v] = slot;
+                    slot += count;
+                }
+            });
+
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int[] cursor = cursors[c];
+                for (int i = chunkStart(c, chunks); i < chunkStart(c + 1, chunks); i++) {
+                    int slot = cursor[arcSources[i]]++;
+                    targets[slot] = arcDestinations[i];
+                    weights[slot] = arcDistances[i];
+                }
+            });
+        }
+
+        private int chunkStart(int chunk, int chunks) {
+            return (int) ((long) arcCount * chunk / chunks);
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 01-Dec-2025 10:24:51 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parallel one-to-all shortest paths by delta-stepping (Meyer and Sanders).
+ * <p>
+ * Tentative distances are grouped into buckets of width {@code delta}. The nodes filed in
+ * the lowest non-empty bucket form the frontier of a step, which is split into one chunk
+ * per worker of the pool. A worker relaxes all edges of its nodes, lowering distances in
+ * a shared array with a compare-and-set loop, and files every improved node into its own
+ * buckets, so steps need no locks. A bucket is repeated until no node falls back into it.
+ * As in the GAP benchmark suite there is no light/heavy edge split, and a node whose
+ * distance dropped into an earlier bucket after it was filed is skipped as stale.
+ * <p>
+ * A small delta approaches Dijkstra's order with little work per step; a large one gives
+ * big frontiers but relaxes some nodes several times before their distance is final.
+ * Parents would need a second word updated atomically with the distance, so they are
+ * recovered from the final distances instead.
+ */
+final class DeltaStepping {
+
+    // Frontiers below this many nodes are relaxed on the driving thread
+    static final int PARALLEL_THRESHOLD = 1024;
+
+    private static final VarHandle DISTANCES = MethodHandles.arrayElementVarHandle(double[].class);
+
+    private static final int PENDING = -2;
+
+    private final CsrGraph graph;
+    private final int source;
+    private final double maxDistance;
+    private final double delta;
+    private final double[] distances;
+    private final Buckets[] buckets;
+
+    private DeltaStepping(CsrGraph graph, int source, double maxDistance, double delta, int chunks) {
+        this.graph = graph;
+        this.source = source;
+        this.maxDistance = maxDistance;
+        this.delta = delta;
+        this.distances = new double[graph.getNodeCount()];
+        this.buckets = new Buckets[chunks];
+        for (int c = 0; c < chunks; c++)
+            buckets[c] = new Buckets();
+    }
+
+    /**
+     * Settles every node within {@code maxDistance} of the source on the given pool.
+     * Distances equal those of a sequential Dijkstra search; among equally short paths
+     * the tree may choose different parents.
+     */
+    static ShortestPathTree search(CsrGraph graph, int source, double maxDistance, double delta,
+                                   ForkJoinPool pool) {
+        if (!(delta > 0) || delta == Double.POSITIVE_INFINITY)
+            throw new IllegalArgumentException("Delta must be a positive number");
+
+        DeltaStepping search = new DeltaStepping(graph, source, maxDistance, delta, pool.getParallelism());
+        // Run the driver inside the pool so that every fork lands there too
+        return pool.invoke(ForkJoinTask.adapt(search::run));
+    }
+
+    /**
+     * @return a delta of a few average edge weights, which keeps frontiers large without
+     *         much repeated relaxation on road-like graphs
+     */
+    static double defaultDelta(CsrGraph graph) {
+        int edges = graph.getEdgeCount();
+        if (edges == 0)
+            return 1;
+        double total = 0;
+        for (int e = 0; e < edges; e++)
+            total += graph.getWeight(e);
+        return total > 0 ? 4 * total / edges : 1;
+    }
+
+    private ShortestPathTree run() {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+
+        int[] frontier = { source };
+        int frontierSize = 1;
+        long current = 0;
+        while (frontierSize > 0) {
+            relax(frontier, frontierSize, current);
+
+            long next = Long.MAX_VALUE;
+            for (Buckets chunk : buckets)
+                next = Math.min(next, chunk.next(current));
+            if (next == Long.MAX_VALUE)
+                break;
+
+            frontierSize = 0;
+            for (Buckets chunk : buckets) {
+                int size = chunk.size(next);
+                if (frontierSize + size > frontier.length)
+                    frontier = Arrays.copyOf(frontier, Math.max(2 * frontier.length, frontierSize + size));
+                frontierSize = chunk.drain(next, frontier, frontierSize);
+            }
+            current = next;
+        }
+        return tree();
+    }
+
+    private void relax(int[] frontier, int size, long current) {
+        forEachChunk(size, (chunk, from, to) -> relax(frontier, from, to, current, buckets[chunk]));
+    }
+
+    private void relax(int[] frontier, int from, int to, long current, Buckets chunk) {
+        for (int i = from; i < to; i++) {
+            int node = frontier[i];
+            double distance = (double) DISTANCES.getOpaque(distances, node);
+            if (bucket(distance) != current)
+                continue; // Filed again in an earlier bucket and relaxed there
+
+            for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+                double newDist = distance + graph.getWeight(edge);
+                if (newDist > maxDistance)
+                    continue;
+                int neighbor = graph.getTarget(edge);
+                if (lower(neighbor, newDist))
+                    chunk.add(bucket(newDist), current, neighbor);
+            }
+        }
+    }
+
+    // Lock-free minimum: retries only while the distance stays above the new one
+    private boolean lower(int node, double distance) {
+        double current = (double) DISTANCES.getOpaque(distances, node);
+        while (distance < current) {
+            double witness = (double) DISTANCES.compareAndExchange(distances, node, current, distance);
+            if (witness == current)
+                return true;
+            current = witness;
+        }
+        return false;
+    }
+
+    private long bucket(double distance) {
+        return (long) (distance / delta);
+    }
+
+    private ShortestPathTree tree() {
+        int count = 0;
+        for (double distance : distances) {
+            if (distance != Double.POSITIVE_INFINITY)
+                count++;
+        }
+        int[] reached = new int[count];
+        for (int v = 0, i = 0; v < distances.length; v++) {
+            if (distances[v] != Double.POSITIVE_INFINITY)
+                reached[i++] = v;
+        }
+
+        int[] parents = new int[distances.length];
+        forEachChunk(count, (chunk, from, to) -> {
+            for (int i = from; i < to; i++)
+                parents[reached[i]] = parent(reached[i]);
+        });
+        resolveTies(reached, parents);
+
+        int[] order = order(reached);
+        double[] treeDistances = new double[count];
+        int[] treeParents = new int[count];
+        for (int i = 0; i < count; i++) {
+            treeDistances[i] = distances[order[i]];
+            treeParents[i] = parents[order[i]];
+        }
+        return new ShortestPathTree(graph, order, treeDistances, treeParents);
+    }
+
+    /**
+     * Finds a neighbor whose final distance plus the edge weight gives exactly the node's
+     * distance; one exists since that neighbor was relaxed with its final distance. Every
+     * connection is stored in both directions with the same weight, so the node's own arcs
+     * stand for the incoming ones.
+     * @return the parent, or {@link #PENDING} if only neighbors at the same distance qualify
+     */
+    private int parent(int node) {
+        if (node == source)
+            return -1;
+        double distance = distances[node];
+        for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+            double neighborDistance = distances[graph.getTarget(edge)];
+            if (neighborDistance < distance && neighborDistance + graph.getWeight(edge) == distance)
+                return graph.getTarget(edge);
+        }
+        return PENDING;
+    }
+
+    /**
+     * Gives nodes reached over zero-weight edges a neighbor at the same distance that
+     * already has a parent, so that parent links cannot form a cycle. Rare, hence sequential.
+     */
+    private void resolveTies(int[] reached, int[] parents) {
+        int[] pending = Arrays.stream(reached).filter(v -> parents[v] == PENDING).toArray();
+        boolean progress = true;
+        while (pending.length > 0 && progress) {
+            progress = false;
+            for (int node : pending) {
+                double distance = distances[node];
+                for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+                    int neighbor = graph.getTarget(edge);
+                    if (parents[neighbor] != PENDING && distances[neighbor] == distance
+                            && distance + graph.getWeight(edge) == distance) {
+                        parents[node] = neighbor;
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+            pending = Arrays.stream(pending).filter(v -> parents[v] == PENDING).toArray();
+        }
+    }
+
+    /**
+     * Sorts the reached nodes by distance, the source first and other ties by node id: the
+     * distances are sorted on their own, and every node takes the next free position of
+     * its value.
+     */
+    private int[] order(int[] reached) {
+        int count = reached.length;
+        double[] sorted = new double[count];
+        for (int i = 0; i < count; i++)
+            sorted[i] = distances[reached[i]];
+        Arrays.parallelSort(sorted);
+
+        int[] first = new int[count];
+        forEachChunk(count, (chunk, from, to) -> {
+            for (int i = from; i < to; i++)
+                first[i] = lowerBound(sorted, distances[reached[i]]);
+        });
+
+        int[] order = new int[count];
+        int[] taken = new int[count];
+        order[0] = source;
+        taken[0] = 1;
+        for (int i = 0; i < count; i++) {
+            if (reached[i] != source)
+                order[first[i] + taken[first[i]]++] = reached[i];
+        }
+        return order;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+        void run(int chunk, int from, int to);
+    }
+
+    // Splits [0, size) into one contiguous range per chunk and runs them as pool tasks
+    private void forEachChunk(int size, RangeAction action) {
+        if (size < PARALLEL_THRESHOLD) {
+            action.run(0, 0, size);
+            return;
+        }
+        int chunks = buckets.length;
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            int from = (int) ((long) size * c / chunks);
+            int to = (int) ((long) size * (c + 1) / chunks);
+            tasks[c] = ForkJoinTask.adapt(() -> action.run(chunk, from, to));
+        }
+        ForkJoinTask.invokeAll(tasks);
+    }
+
+    /**
+     * The nodes one chunk filed, by bucket. Buckets from the current one on are kept in a
+     * ring that doubles when a node lands beyond it; since every tentative distance lies
+     * within one edge weight of the current bucket, the ring spans at most the longest
+     * edge divided by delta.
+     */
+    private static final class Buckets {
+
+        private int[][] nodes = new int[16][];
+        private int[] sizes = new int[16];
+        private int filed;
+
+        void add(long bucket, long current, int node) {
+            if (bucket - current >= nodes.length)
+                grow(bucket - current + 1, current);
+
+            int slot = (int) (bucket & (nodes.length - 1));
+            int[] list = nodes[slot];
+            if (list == null)
+                list = nodes[slot] = new int[16];
+            else if (sizes[slot] == list.length)
+                list = nodes[slot] = Arrays.copyOf(list, 2 * list.length);
+            list[sizes[slot]++] = node;
+            filed++;
+        }
+
+        private void grow(long span, long current) {
+            int capacity = nodes.length;
+            while (capacity < span)
+                capacity *= 2;
+            int[][] grownNodes = new int[capacity][];
+            int[] grownSizes = new int[capacity];
+            for (long bucket = current; bucket < current + nodes.length; bucket++) {
+                int slot = (int) (bucket & (nodes.length - 1));
+                int grownSlot = (int) (bucket & (capacity - 1));
+                grownNodes[grownSlot] = nodes[slot];
+                grownSizes[grownSlot] = sizes[slot];
+            }
+            nodes = grownNodes;
+            sizes = grownSizes;
+        }
+
+        /**
+         * @return the first non-empty bucket from {@code current} on, or
+         *         {@link Long#MAX_VALUE} if nothing is filed
+         */
+        long next(long current) {
+            if (filed == 0)
+                return Long.MAX_VALUE;
+            for (long bucket = current; ; bucket++) {
+                if (sizes[(int) (bucket & (nodes.length - 1))] > 0)
+                    return bucket;
+            }
+        }
+
+        int size(long bucket) {
+            return sizes[(int) (bucket & (nodes.length - 1))];
+        }
+
+        /**
+         * Appends the nodes of the bucket to the frontier and empties the bucket.
+         * @return the new frontier size
+         */
+        int drain(long bucket, int[] frontier, int frontierSize) {
+            int slot = (int) (bucket & (nodes.length - 1));
+            int size = sizes[slot];
+            if (size > 0)
+                System.arraycopy(nodes[slot], 0, frontier, frontierSize, size);
+            sizes[slot] = 0;
+            filed -= size;
+            return frontierSize + size;
+        }
+    }
+}
@@ -6,114 +6,483 @@
  */
 package com.nopaper.work.dijkstra.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Graph implementation for storing geographic locations and finding shortest paths.
+ * <p>
+ * Locations and edges are collected by a {@link CsrGraph.Builder}; searches run on an
+ * immutable {@link CsrGraph} snapshot that is compiled on first use after a change.
+ * Per-query state lives in pooled {@link SearchContext}s, so one graph can serve
+ * many concurrent searches.
+ * <p>
+ * A graph opened from a {@link GraphFile} wraps its mapped snapshot directly and has
+ * no builder; its locations and connections are read-only.
+ * <p>
+ * Edge weights of any graph can be changed with {@link #updateEdgeWeights}, which
+ * publishes a reweighted copy of the snapshot rather than rebuilding it; searches keep
+ * the snapshot they started on.
  */
 public class GeographicGraph {
 
-    private final Map<Location, Node> nodes = new HashMap<>();
+    public static final int DEFAULT_LANDMARK_COUNT = 16;
+
+    // Shared by all graphs so that a version also identifies the graph instance
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final CsrGraph.Builder builder;
+    private final SearchContextPool contextPool = new SearchContextPool();
+    private volatile CsrGraph compiled;
+    private volatile ContractionHierarchy hierarchy;
+    private volatile LandmarkIndex landmarkIndex;
+    // Index of an earlier snapshot with the same nodes, recomputed on next use instead of reselected
+    private LandmarkIndex staleLandmarks;
+    private volatile long version = VERSIONS.incrementAndGet();
+
+    public GeographicGraph() {
+        this(GeoDistance.Mode.HAVERSINE);
+    }
+
+    /**
+     * Creates an empty graph whose edge weights are computed with the given mode.
+     */
+    public GeographicGraph(GeoDistance.Mode distanceMode) {
+        this.builder = CsrGraph.builder().distanceMode(distanceMode);
+    }
+
+    /**
+     * Creates a read-only graph over a compiled snapshot, e.g. one built while a request
+     * body was streamed in, without keeping a builder alive next to it.
+     */
+    public static GeographicGraph of(CsrGraph graph) {
+        return new GeographicGraph(graph, null, null);
+    }
+
+    /**
+     * Creates a read-only graph over an existing snapshot and its preprocessing, if any.
+     */
+    GeographicGraph(CsrGraph graph, ContractionHierarchy hierarchy, LandmarkIndex landmarkIndex) {
+        this.builder = null;
+        this.compiled = graph;
+        this.hierarchy = hierarchy;
+        this.landmarkIndex = landmarkIndex;
+    }
+
+    /**
+     * @return a number that changes with every change of the graph and is never shared by
+     *         two graphs, e.g. for keying cached query results
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return false if the graph was opened from a file or stream, so that locations and
+     *         connections cannot be added; edge weights can still be updated
+     */
+    public boolean isMutable() {
+        return builder != null;
+    }
 
     /**
      * Adds a new location to the graph.
+     * @return node id of the location, the existing one if it was already present
      */
-    public void addLocation(Location location) {
-        nodes.putIfAbsent(location, new Node(location));
+    public synchronized int addLocation(Location location) {
+        checkMutable();
+        int node = builder.addLocation(location);
+        compiled = null;
+        version = VERSIONS.incrementAndGet();
+        hierarchy = null;
+        landmarkIndex = null;
+        staleLandmarks = null;
+        return node;
+    }
+
+    /**
+     * Creates a bidirectional edge between {@code from[i]} and {@code to[i]} for every
+     * {@code i}, given as node ids returned by {@link #addLocation(Location)}. Weights of
+     * large batches are computed in parallel.
+     */
+    public synchronized void addEdges(int[] from, int[] to) {
+        checkMutable();
+        builder.addEdges(from, to);
+        compiled = null;
+        version = VERSIONS.incrementAndGet();
+        hierarchy = null;
+        landmarkIndex = null;
+        staleLandmarks = null;
     }
 
     /**
      * Creates a bidirectional edge (connection) between two locations.
      */
-    public void addEdge(Location source, Location destination) {
-        Node sourceNode = nodes.get(source);
-        Node destNode = nodes.get(destination);
+    public synchronized void addEdge(Location source, Location destination) {
+        checkMutable();
+        builder.addEdge(source, destination);
+        compiled = null;
+        version = VERSIONS.incrementAndGet();
+        hierarchy = null;
+        landmarkIndex = null;
+        staleLandmarks = null;
+    }
+
+    /**
+     * Sets the weight of the edges between {@code from[i]} and {@code to[i]}, node ids of
+     * {@link #getCsrGraph()}, to {@code weights[i]} kilometers, or removes them for
+     * {@link Double#POSITIVE_INFINITY}; see {@link CsrGraph#withEdgeWeights}.
+     * <p>
+     * The update is copy-on-write: the reweighted snapshot replaces the current one in a
+     * single step, and searches already running finish on the one they started with. The
+     * contraction hierarchy depends on the weights and is rebuilt on next use. If no
+     * weight went down, the landmark distances are still lower bounds and stay in use;
+     * otherwise they are recomputed on next use, for the same landmarks.
+     */
+    public synchronized void updateEdgeWeights(int[] from, int[] to, double[] weights) {
+        CsrGraph current = getCsrGraph();
+        CsrGraph updated = current.withEdgeWeights(from, to, weights);
+        boolean decreased = false;
+        for (int i = 0; i < from.length && !decreased; i++)
+            decreased = weights[i] < current.getEdgeWeight(from[i], to[i]);
+
+        if (builder != null)
+            builder.setEdgeWeights(from, to, weights);
+        compiled = updated;
+        version = VERSIONS.incrementAndGet();
+        hierarchy = null;
+        LandmarkIndex landmarks = landmarkIndex;
+        if (landmarks != null && !decreased) {
+            landmarkIndex = landmarks.reweighted(updated);
+        } else {
+            landmarkIndex = null;
+            if (landmarks != null)
+                staleLandmarks = landmarks;
+        }
+    }
+
+    private void checkMutable() {
+        if (builder == null)
+            throw new IllegalStateException("Graph was opened from a file or stream and is read-only");
+    }
+
+    /**
+     * @return the compact snapshot of the current locations and edges
+     */
+    public CsrGraph getCsrGraph() {
+        CsrGraph graph = compiled;
+        if (graph != null)
+            return graph;
+
+        synchronized (this) {
+            if (compiled == null)
+                compiled = builder.build();
+            return compiled;
+        }
+    }
+
+    /**
+     * Returns the contraction hierarchy of the current graph, building it on first use.
+     * Call this once after loading a graph to move the preprocessing cost out of queries.
+     */
+    public ContractionHierarchy getContractionHierarchy() {
+        ContractionHierarchy current = hierarchy;
+        if (current != null)
+            return current;
+
+        synchronized (this) {
+            if (hierarchy == null)
+                hierarchy = ContractionHierarchy.build(getCsrGraph());
+            return hierarchy;
+        }
+    }
+
+    /**
+     * @return true if the hierarchy of the current graph has already been built
+     */
+    public boolean hasContractionHierarchy() {
+        return hierarchy != null;
+    }
+
+    /**
+     * Installs a hierarchy built earlier, e.g. one read back from disk.
+     */
+    public synchronized void setContractionHierarchy(ContractionHierarchy contractionHierarchy) {
+        if (contractionHierarchy.getGraph() != getCsrGraph())
+            throw new IllegalArgumentException("Contraction hierarchy was built for a different graph");
+        hierarchy = contractionHierarchy;
+    }
+
+    /**
+     * Returns the landmark index of the current graph, building one with
+     * {@link #DEFAULT_LANDMARK_COUNT} avoid-selected landmarks on first use.
+     * After a weight decrease only the distances of the previous landmarks are recomputed.
+     */
+    public LandmarkIndex getLandmarkIndex() {
+        LandmarkIndex current = landmarkIndex;
+        if (current != null)
+            return current;
 
-        if (sourceNode == null || destNode == null)
-            throw new IllegalArgumentException("Both locations must be added to the graph first");
+        synchronized (this) {
+            if (landmarkIndex == null) {
+                landmarkIndex = staleLandmarks != null
+                        ? staleLandmarks.recompute(getCsrGraph())
+                        : LandmarkIndex.build(getCsrGraph(), DEFAULT_LANDMARK_COUNT, LandmarkIndex.Selection.AVOID);
+                staleLandmarks = null;
+            }
+            return landmarkIndex;
+        }
+    }
 
-        double distance = source.distanceTo(destination);
+    /**
+     * @return true if the landmark index of the current graph has already been built
+     */
+    public boolean hasLandmarkIndex() {
+        return landmarkIndex != null;
+    }
 
-        sourceNode.addAdjacentNode(destNode, distance);
-        destNode.addAdjacentNode(sourceNode, distance);
+    /**
+     * Installs a landmark index, e.g. one with a tuned landmark count.
+     */
+    public synchronized void setLandmarkIndex(LandmarkIndex index) {
+        if (index.getGraph() != getCsrGraph())
+            throw new IllegalArgumentException("Landmark index was built for a different graph");
+        landmarkIndex = index;
+        staleLandmarks = null;
     }
 
     /**
      * Finds the shortest path between two locations using Dijkstra's algorithm.
+     * Safe to call concurrently; search state is borrowed from a shared pool.
      * @return ordered list of locations in path; empty if unreachable
      */
     public List<Location> findShortestPath(Location start, Location end) {
-        Node startNode = nodes.get(start);
-        Node endNode = nodes.get(end);
+        return search(start, end, SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT).getPath();
+    }
 
-        if (startNode == null || endNode == null)
-            throw new IllegalArgumentException("Start and end locations must exist in the graph");
+    /**
+     * Finds the shortest path using the given priority queue implementation.
+     * @return ordered list of locations in path; empty if unreachable
+     */
+    public List<Location> findShortestPath(Location start, Location end, SearchQueueType queueType) {
+        return search(start, end, SearchAlgorithm.DIJKSTRA, queueType).getPath();
+    }
 
-        // Initialization
-        resetDistances();
-        startNode.setDistance(0);
-        PriorityQueue<Node> queue = new PriorityQueue<>();
-        Set<Node> visited = new HashSet<>();
-        queue.add(startNode);
+    /**
+     * Finds the shortest path with the given algorithm.
+     */
+    public SearchResult search(Location start, Location end, SearchAlgorithm algorithm) {
+        return search(start, end, algorithm, SearchQueueType.DEFAULT);
+    }
+
+    /**
+     * Finds the shortest path with the given algorithm and priority queue implementation.
+     */
+    public SearchResult search(Location start, Location end, SearchAlgorithm algorithm,
+                               SearchQueueType queueType) {
+        CsrGraph graph = searchGraph(algorithm);
+        int startNode = graph.indexOf(start);
+        int endNode = graph.indexOf(end);
 
-        while (!queue.isEmpty()) {
-            Node current = queue.poll();
+        if (startNode < 0 || endNode < 0)
+            throw new IllegalArgumentException("Start and end locations must exist in the graph");
 
-            if (visited.contains(current))
-                continue;
-            visited.add(current);
+        return search(startNode, endNode, algorithm, queueType);
+    }
 
-            if (current.equals(endNode))
-                break;
+    /**
+     * Finds the shortest path between two node ids of {@link #getCsrGraph()}. Avoids the
+     * location lookup, which for a mapped graph needs an index built on first use.
+     */
+    public SearchResult search(int startNode, int endNode, SearchAlgorithm algorithm,
+                               SearchQueueType queueType) {
+        ContractionHierarchy contractionHierarchy = algorithm == SearchAlgorithm.CONTRACTION_HIERARCHIES
+                ? getContractionHierarchy() : null;
+        LandmarkIndex landmarks = algorithm == SearchAlgorithm.ALT ? getLandmarkIndex() : null;
+        // Preprocessed data pins the snapshot it was built on, so both always agree on node ids
+        CsrGraph graph = contractionHierarchy != null ? contractionHierarchy.getGraph()
+                : landmarks != null ? landmarks.getGraph() : getCsrGraph();
 
-            for (Map.Entry<Node, Double> entry : current.getAdjacentNodes().entrySet()) {
-                Node neighbor = entry.getKey();
-                double edgeWeight = entry.getValue();
+        if (startNode < 0 || startNode >= graph.getNodeCount() || endNode < 0 || endNode >= graph.getNodeCount())
+            throw new IllegalArgumentException("Start and end nodes must exist in the graph");
 
-                if (visited.contains(neighbor))
-                    continue;
+        return switch (algorithm) {
+            case DIJKSTRA -> unidirectional(graph, startNode, endNode, Heuristic.NONE, queueType);
+            case A_STAR -> unidirectional(graph, startNode, endNode,
+                                          Heuristic.greatCircle(graph, endNode), queueType);
+            case BIDIRECTIONAL_DIJKSTRA -> bidirectional(graph, startNode, endNode, false, queueType);
+            case BIDIRECTIONAL_A_STAR -> bidirectional(graph, startNode, endNode, true, queueType);
+            case CONTRACTION_HIERARCHIES -> hierarchical(contractionHierarchy, startNode, endNode, queueType);
+            case ALT -> unidirectional(graph, startNode, endNode, landmarks.heuristicTo(endNode), queueType);
+        };
+    }
 
-                double newDist = current.getDistance() + edgeWeight;
-                if (newDist < neighbor.getDistance()) {
-                    neighbor.setDistance(newDist);
-                    neighbor.setPrevious(current);
-                    queue.add(neighbor);
-                }
+    /**
+     * Settles every node within {@code maxDistance} km of the start node in one search;
+     * pass {@link Double#POSITIVE_INFINITY} for the full one-to-all tree.
+     */
+    public ShortestPathTree shortestPathTree(int startNode, double maxDistance) {
+        CsrGraph graph = getCsrGraph();
+        if (startNode < 0 || startNode >= graph.getNodeCount())
+            throw new IllegalArgumentException("Start node must exist in the graph");
+
+        SearchContext context = contextPool.acquire(graph.getNodeCount());
+        try {
+            int[] nodes = ShortestPathSearch.searchAll(graph, context, startNode, maxDistance);
+            double[] distances = new double[nodes.length];
+            int[] parents = new int[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                distances[i] = context.getDistance(nodes[i]);
+                parents[i] = context.getParent(nodes[i]);
             }
+            return new ShortestPathTree(graph, nodes, distances, parents);
+        } finally {
+            contextPool.release(context);
         }
+    }
 
-        return buildPath(endNode);
+    /**
+     * Parallel {@link #shortestPathTree(int, double)} for full-graph runs: delta-stepping on
+     * the common fork-join pool, with a delta of four average edge weights.
+     */
+    public ShortestPathTree parallelShortestPathTree(int startNode, double maxDistance) {
+        CsrGraph graph = getCsrGraph();
+        return parallelShortestPathTree(startNode, maxDistance, DeltaStepping.defaultDelta(graph),
+                                        ForkJoinPool.commonPool());
     }
 
-    private List<Location> buildPath(Node endNode) {
-        List<Location> path = new ArrayList<>();
-        Node current = endNode;
+    /**
+     * Parallel {@link #shortestPathTree(int, double)}: delta-stepping with buckets of
+     * {@code delta} km on the given pool, one chunk of every step per worker. Distances are
+     * the same as those of the sequential search; where several paths are equally short,
+     * parents may differ. Pays off for large search spaces only; steps with small
+     * frontiers are not split.
+     */
+    public ShortestPathTree parallelShortestPathTree(int startNode, double maxDistance, double delta,
+                                                     ForkJoinPool pool) {
+        CsrGraph graph = getCsrGraph();
+        if (startNode < 0 || startNode >= graph.getNodeCount())
+            throw new IllegalArgumentException("Start node must exist in the graph");
+
+        return DeltaStepping.search(graph, startNode, maxDistance, delta, pool);
+    }
 
-        if (current.getDistance() == Double.MAX_VALUE)
-            return path; // Unreachable
+    /**
+     * Finds up to {@code k} loopless paths between two node ids in order of distance, the
+     * first being the shortest path. Uses Yen's algorithm; the spur searches of each path
+     * run in parallel. Statistics of a result are those of the search that found it.
+     * @return fewer than {@code k} results if no more paths exist, none if the end node is
+     *         unreachable
+     */
+    public List<SearchResult> kShortestPaths(int startNode, int endNode, int k, SearchQueueType queueType) {
+        CsrGraph graph = getCsrGraph();
+        if (startNode < 0 || startNode >= graph.getNodeCount() || endNode < 0 || endNode >= graph.getNodeCount())
+            throw new IllegalArgumentException("Start and end nodes must exist in the graph");
+        if (k < 1)
+            throw new IllegalArgumentException("k must be positive");
 
-        while (current != null) {
-            path.add(current.getLocation());
-            current = current.getPrevious();
-        }
-        Collections.reverse(path);
-        return path;
+        return KShortestPaths.search(graph, contextPool, startNode, endNode, k, queueType);
     }
 
     /**
-     * Resets distances for all nodes for a fresh calculation.
+     * Computes the shortest distances from every source to every target node id.
+     * {@link SearchAlgorithm#DIJKSTRA} grows one tree per source;
+     * {@link SearchAlgorithm#CONTRACTION_HIERARCHIES} uses bucket-based many-to-many
+     * search on the hierarchy. Sources are processed in parallel.
+     * @return {@code matrix[i][j]} is the distance from {@code sources[i]} to
+     *         {@code targets[j]}, {@link Double#POSITIVE_INFINITY} if unreachable
      */
-    public void resetDistances() {
-        for (Node node : nodes.values()) {
-            node.setDistance(Double.MAX_VALUE);
-            node.setPrevious(null);
+    public double[][] distanceMatrix(int[] sources, int[] targets, SearchAlgorithm algorithm,
+                                     SearchQueueType queueType) {
+        if (algorithm != SearchAlgorithm.DIJKSTRA && algorithm != SearchAlgorithm.CONTRACTION_HIERARCHIES)
+            throw new IllegalArgumentException("Distance matrices support DIJKSTRA and CONTRACTION_HIERARCHIES, not "
+                                               + algorithm);
+
+        CsrGraph graph = searchGraph(algorithm);
+        for (int node : sources) {
+            if (node < 0 || node >= graph.getNodeCount())
+                throw new IllegalArgumentException("Source nodes must exist in the graph");
+        }
+        for (int node : targets) {
+            if (node < 0 || node >= graph.getNodeCount())
+                throw new IllegalArgumentException("Target nodes must exist in the graph");
         }
+
+        return algorithm == SearchAlgorithm.CONTRACTION_HIERARCHIES
+                ? ManyToManySearch.buckets(getContractionHierarchy(), contextPool, sources, targets, queueType)
+                : ManyToManySearch.trees(graph, contextPool, sources, targets, queueType);
+    }
+
+    private CsrGraph searchGraph(SearchAlgorithm algorithm) {
+        return switch (algorithm) {
+            case CONTRACTION_HIERARCHIES -> getContractionHierarchy().getGraph();
+            case ALT -> getLandmarkIndex().getGraph();
+            default -> getCsrGraph();
+        };
+    }
+
+    private SearchResult unidirectional(CsrGraph graph, int startNode, int endNode,
+                                        Heuristic heuristic, SearchQueueType queueType) {
+        SearchContext context = contextPool.acquire(graph.getNodeCount());
+        try {
+            context.useQueue(queueType);
+            long relaxed = context.getRelaxedEdges();
+            long pushes = queuePushes(context);
+            int settled = ShortestPathSearch.search(graph, context, startNode, endNode, heuristic);
+            int[] path = ShortestPathSearch.buildPath(context, endNode);
+            return new SearchResult(path, graph.getLocations(path), context.getDistance(endNode), settled,
+                                    context.getRelaxedEdges() - relaxed, queuePushes(context) - pushes);
+        } finally {
+            contextPool.release(context);
+        }
+    }
+
+    private SearchResult bidirectional(CsrGraph graph, int startNode, int endNode,
+                                       boolean goalDirected, SearchQueueType queueType) {
+        SearchContext forward = contextPool.acquire(graph.getNodeCount());
+        SearchContext backward = contextPool.acquire(graph.getNodeCount());
+        try {
+            forward.useQueue(queueType);
+            backward.useQueue(queueType);
+            long relaxed = forward.getRelaxedEdges() + backward.getRelaxedEdges();
+            long pushes = queuePushes(forward) + queuePushes(backward);
+            BidirectionalSearch search = new BidirectionalSearch(graph, forward, backward,
+                                                                 startNode, endNode, goalDirected);
+            search.run();
+            int[] path = search.buildPath();
+            return new SearchResult(path, graph.getLocations(path), search.getDistance(), search.getSettledNodes(),
+                                    forward.getRelaxedEdges() + backward.getRelaxedEdges() - relaxed,
+                                    queuePushes(forward) + queuePushes(backward) - pushes);
+        } finally {
+            contextPool.release(forward);
+            contextPool.release(backward);
+        }
+    }
+
+    private SearchResult hierarchical(ContractionHierarchy contractionHierarchy, int startNode, int endNode,
+                                      SearchQueueType queueType) {
+        int nodeCount = contractionHierarchy.getGraph().getNodeCount();
+        SearchContext forward = contextPool.acquire(nodeCount);
+        SearchContext backward = contextPool.acquire(nodeCount);
+        try {
+            forward.useQueue(queueType);
+            backward.useQueue(queueType);
+            long relaxed = forward.getRelaxedEdges() + backward.getRelaxedEdges();
+            long pushes = queuePushes(forward) + queuePushes(backward);
+            SearchResult result = contractionHierarchy.search(forward, backward, startNode, endNode);
+            return new SearchResult(result.getNodes(), result.getPath(), result.getDistance(),
+                                    result.getSettledNodes(),
+                                    forward.getRelaxedEdges() + backward.getRelaxedEdges() - relaxed,
+                                    queuePushes(forward) + queuePushes(backward) - pushes);
+        } finally {
+            contextPool.release(forward);
+            contextPool.release(backward);
+        }
+    }
+
+    // Queue counters are cumulative over the life of a pooled context; queries use differences
+    static long queuePushes(SearchContext context) {
+        return context.getQueue().getInsertCount() + context.getQueue().getDecreaseCount();
     }
 }
@@ -0,0 +1,284 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 23-Nov-2025 09:47:21 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Versioned binary graph file that is opened by memory-mapping instead of parsing.
+ * <p>
+ * The file is a fixed header, a section table and the sections themselves, all
+ * little-endian with every section 8-byte aligned:
+ * <pre>
+ * int magic "DJGR", int version, int nodeCount, int edgeCount (directed),
+ * int hierarchyEdgeCount, int landmarkCount, int flags, int sectionCount,
+ * sectionCount x (long offset, long length), sections...
+ * </pre>
+ * The sections are the CSR arrays, coordinates and a UTF-8 names table, followed by the
+ * optional contraction hierarchy and landmark distances. {@link #open(Path)} maps every
+ * section read-only and wraps it in a typed buffer view, so opening costs a few system
+ * calls regardless of the graph size; the data stays off-heap and is shared through the
+ * page cache by every JVM that maps the same file.
+ * <p>
+ * A {@link MappedByteBuffer} addresses at most 2 GB, so each section (not the file) is
+ * limited to that size, e.g. about 268 million directed edges for the weights section.
+ */
+public final class GraphFile {
+
+    private static final int MAGIC = 0x444A4752; // "DJGR"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int FLAG_HIERARCHY = 1;
+    private static final int FLAG_LANDMARKS = 2;
+
+    private enum Section {
+        LATITUDES, LONGITUDES, OFFSETS, TARGETS, WEIGHTS, NAME_OFFSETS, NAMES,
+        HIERARCHY_RANKS, HIERARCHY_OFFSETS, HIERARCHY_TARGETS, HIERARCHY_WEIGHTS, HIERARCHY_MIDDLES,
+        LANDMARKS, LANDMARK_DISTANCES
+    }
+
+    private GraphFile() {}
+
+    /**
+     * Writes the compiled graph and whatever preprocessing it already has.
+     */
+    public static void write(Path path, GeographicGraph graph) throws IOException {
+        write(path, graph.getCsrGraph(),
+              graph.hasContractionHierarchy() ? graph.getContractionHierarchy() : null,
+              graph.hasLandmarkIndex() ? graph.getLandmarkIndex() : null);
+    }
+
+    /**
+     * Writes a graph with optional preprocessing, which must have been built for it.
+     * The file is written next to {@code path} and moved into place when complete, so a
+     * process mapping the old file never sees a partial one.
+     */
+    public static void write(Path path, CsrGraph graph, ContractionHierarchy hierarchy,
+                             LandmarkIndex landmarks) throws IOException {
+        if (hierarchy != null && hierarchy.getGraph() != graph)
+            throw new IllegalArgumentException("Contraction hierarchy was built for a different graph");
+        if (landmarks != null && landmarks.getGraph() != graph)
+            throw new IllegalArgumentException("Landmark index was built for a different graph");
+
+        int nodeCount = graph.getNodeCount();
+        int[] nameOffsets = new int[nodeCount + 1];
+        ByteBuffer names = encodeNames(graph, nameOffsets);
+
+        Buffer[] sections = new Buffer[Section.values().length];
+        sections[Section.LATITUDES.ordinal()] = graph.latitudes();
+        sections[Section.LONGITUDES.ordinal()] = graph.longitudes();
+        sections[Section.OFFSETS.ordinal()] = graph.offsets();
+        sections[Section.TARGETS.ordinal()] = graph.targets();
+        sections[Section.WEIGHTS.ordinal()] = graph.weights();
+        sections[Section.NAME_OFFSETS.ordinal()] = IntBuffer.wrap(nameOffsets);
+        sections[Section.NAMES.ordinal()] = names;
+        if (hierarchy != null) {
+            sections[Section.HIERARCHY_RANKS.ordinal()] = hierarchy.ranks();
+            sections[Section.HIERARCHY_OFFSETS.ordinal()] = hierarchy.offsets();
+            sections[Section.HIERARCHY_TARGETS.ordinal()] = hierarchy.targets();
+            sections[Section.HIERARCHY_WEIGHTS.ordinal()] = hierarchy.weights();
+            sections[Section.HIERARCHY_MIDDLES.ordinal()] = hierarchy.middles();
+        }
+        if (landmarks != null) {
+            sections[Section.LANDMARKS.ordinal()] = IntBuffer.wrap(landmarks.getLandmarks());
+            sections[Section.LANDMARK_DISTANCES.ordinal()] = landmarks.distances();
+        }
+
+        long[] offsets = new long[sections.length];
+        long[] lengths = new long[sections.length];
+        long position = HEADER_BYTES + 16L * sections.length;
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] == null)
+                continue;
+            lengths[i] = byteLength(sections[i]);
+            if (lengths[i] > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Section " + Section.values()[i] + " exceeds 2 GB");
+            position = align(position);
+            offsets[i] = position;
+            position += lengths[i];
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + 16 * sections.length)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC)
+                  .putInt(VERSION)
+                  .putInt(nodeCount)
+                  .putInt(graph.getEdgeCount())
+                  .putInt(hierarchy != null ? hierarchy.getEdgeCount() : 0)
+                  .putInt(landmarks != null ? landmarks.getLandmarkCount() : 0)
+                  .putInt((hierarchy != null ? FLAG_HIERARCHY : 0) | (landmarks != null ? FLAG_LANDMARKS : 0))
+                  .putInt(sections.length);
+            for (int i = 0; i < sections.length; i++)
+                header.putLong(offsets[i]).putLong(lengths[i]);
+            header.flip();
+            while (header.hasRemaining())
+                channel.write(header);
+
+            for (int i = 0; i < sections.length; i++) {
+                if (lengths[i] > 0)
+                    copy(sections[i], channel.map(FileChannel.MapMode.READ_WRITE, offsets[i], lengths[i]));
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps a graph file and returns a read-only graph over it, with its contraction
+     * hierarchy and landmark index installed when the file contains them.
+     */
+    public static GeographicGraph open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt() != MAGIC)
+                throw new IOException("Not a graph file: " + path);
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported graph file version " + version);
+
+            int nodeCount = header.getInt();
+            int edgeCount = header.getInt();
+            int hierarchyEdgeCount = header.getInt();
+            int landmarkCount = header.getInt();
+            int flags = header.getInt();
+            int sectionCount = header.getInt();
+            if (sectionCount != Section.values().length)
+                throw new IOException("Graph file has " + sectionCount + " sections, expected "
+                                      + Section.values().length);
+
+            ByteBuffer table = ByteBuffer.allocate(16 * sectionCount).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, table, HEADER_BYTES);
+            ByteBuffer[] sections = new ByteBuffer[sectionCount];
+            for (int i = 0; i < sectionCount; i++) {
+                long offset = table.getLong();
+                long length = table.getLong();
+                if (offset + length > channel.size())
+                    throw new IOException("Graph file is truncated: " + path);
+                sections[i] = length == 0 ? ByteBuffer.allocate(0)
+                        : channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                sections[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            CsrGraph graph = new CsrGraph(
+                    ints(sections, Section.NAME_OFFSETS, nodeCount + 1),
+                    sections[Section.NAMES.ordinal()].asReadOnlyBuffer(),
+                    doubles(sections, Section.LATITUDES, nodeCount),
+                    doubles(sections, Section.LONGITUDES, nodeCount),
+                    ints(sections, Section.OFFSETS, nodeCount + 1),
+                    ints(sections, Section.TARGETS, edgeCount),
+                    doubles(sections, Section.WEIGHTS, edgeCount));
+
+            ContractionHierarchy hierarchy = null;
+            if ((flags & FLAG_HIERARCHY) != 0) {
+                hierarchy = new ContractionHierarchy(graph,
+                        ints(sections, Section.HIERARCHY_RANKS, nodeCount),
+                        ints(sections, Section.HIERARCHY_OFFSETS, nodeCount + 1),
+                        ints(sections, Section.HIERARCHY_TARGETS, hierarchyEdgeCount),
+                        doubles(sections, Section.HIERARCHY_WEIGHTS, hierarchyEdgeCount),
+                        ints(sections, Section.HIERARCHY_MIDDLES, hierarchyEdgeCount));
+            }
+
+            LandmarkIndex landmarks = null;
+            if ((flags & FLAG_LANDMARKS) != 0) {
+                int[] selected = new int[landmarkCount];
+                ints(sections, Section.LANDMARKS, landmarkCount).get(0, selected);
+                landmarks = new LandmarkIndex(graph, selected,
+                        floats(sections, Section.LANDMARK_DISTANCES, (long) nodeCount * landmarkCount));
+            }
+
+            // The mappings stay valid after the channel is closed
+            return new GeographicGraph(graph, hierarchy, landmarks);
+        }
+    }
+
+    private static ByteBuffer encodeNames(CsrGraph graph, int[] nameOffsets) {
+        byte[][] encoded = new byte[graph.getNodeCount()][];
+        long total = 0;
+        for (int v = 0; v < encoded.length; v++) {
+            encoded[v] = graph.getName(v).getBytes(StandardCharsets.UTF_8);
+            total += encoded[v].length;
+        }
+        if (total > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Section " + Section.NAMES + " exceeds 2 GB");
+
+        ByteBuffer names = ByteBuffer.allocate((int) total);
+        for (int v = 0; v < encoded.length; v++) {
+            nameOffsets[v] = names.position();
+            names.put(encoded[v]);
+        }
+        nameOffsets[encoded.length] = names.position();
+        return names.flip();
+    }
+
+    private static long byteLength(Buffer buffer) {
+        int width = buffer instanceof DoubleBuffer ? Double.BYTES
+                : buffer instanceof IntBuffer ? Integer.BYTES
+                : buffer instanceof FloatBuffer ? Float.BYTES : 1;
+        return (long) buffer.capacity() * width;
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static void copy(Buffer source, MappedByteBuffer target) {
+        target.order(ByteOrder.LITTLE_ENDIAN);
+        if (source instanceof DoubleBuffer doubles)
+            target.asDoubleBuffer().put(doubles.rewind());
+        else if (source instanceof IntBuffer ints)
+            target.asIntBuffer().put(ints.rewind());
+        else if (source instanceof FloatBuffer floats)
+            target.asFloatBuffer().put(floats.rewind());
+        else
+            target.put(((ByteBuffer) source).rewind());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0)
+                throw new IOException("Graph file is truncated");
+        }
+        buffer.flip();
+    }
+
+    private static IntBuffer ints(ByteBuffer[] sections, Section section, long expected) throws IOException {
+        return checked(sections[section.ordinal()].asIntBuffer(), section, expected);
+    }
+
+    private static DoubleBuffer doubles(ByteBuffer[] sections, Section section, long expected) throws IOException {
+        return checked(sections[section.ordinal()].asDoubleBuffer(), section, expected);
+    }
+
+    private static FloatBuffer floats(ByteBuffer[] sections, Section section, long expected) throws IOException {
+        return checked(sections[section.ordinal()].asFloatBuffer(), section, expected);
+    }
+
+    private static <T extends Buffer> T checked(T buffer, Section section, long expected) throws IOException {
+        if (buffer.capacity() != expected)
+            throw new IOException("Section " + section + " has " + buffer.capacity()
+                                  + " entries, expected " + expected);
+        return buffer;
+    }
+}
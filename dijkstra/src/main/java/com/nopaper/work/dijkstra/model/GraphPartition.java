@@ -0,0 +1,198 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 09:41:26 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Layout of a graph split into cells and shards, as built by {@link PartitionedGraph}.
+ * <p>
+ * Nodes are numbered so that every cell is a contiguous id range and every shard a
+ * contiguous range of cells, so the cell and shard of a node are binary searches over
+ * two small offset arrays. The boundary nodes, those with an edge into another cell, are
+ * the nodes of the overlay graph, numbered in ascending order of their node ids; the
+ * boundary nodes of a cell are therefore a contiguous range of overlay ids as well. The
+ * partition keeps the id every node had in the graph it was built from, so requests and
+ * responses can use the original ids.
+ * <p>
+ * File format, big-endian:
+ * <pre>
+ * int magic "DJPT", int version, int cellCount, int shardCount, int overlayNodeCount,
+ * (cellCount + 1) x int cell offsets, (shardCount + 1) x int shard offsets,
+ * overlayNodeCount x int overlay node ids, nodeCount x int original node ids
+ * </pre>
+ */
+public final class GraphPartition {
+
+    private static final int MAGIC = 0x444A5054; // "DJPT"
+    private static final int VERSION = 2;
+
+    // Cell c holds nodes [cellOffsets[c], cellOffsets[c + 1]), shard s cells [shardOffsets[s], shardOffsets[s + 1])
+    private final int[] cellOffsets;
+    private final int[] shardOffsets;
+    private final int[] overlayNodes;
+    // Original id of every node, and its inverse
+    private final int[] originalNodes;
+    private final int[] nodes;
+
+    /**
+     * @throws IllegalArgumentException if the original ids are not a permutation of the nodes
+     */
+    GraphPartition(int[] cellOffsets, int[] shardOffsets, int[] overlayNodes, int[] originalNodes) {
+        this.cellOffsets = cellOffsets;
+        this.shardOffsets = shardOffsets;
+        this.overlayNodes = overlayNodes;
+        this.originalNodes = originalNodes;
+        this.nodes = new int[originalNodes.length];
+        Arrays.fill(nodes, -1);
+        for (int node = 0; node < originalNodes.length; node++) {
+            int original = originalNodes[node];
+            if (original < 0 || original >= nodes.length || nodes[original] != -1)
+                throw new IllegalArgumentException("Original node ids are not a permutation of the nodes");
+            nodes[original] = node;
+        }
+    }
+
+    public int getNodeCount() {
+        return cellOffsets[cellOffsets.length - 1];
+    }
+    public int getCellCount() {
+        return cellOffsets.length - 1;
+    }
+    public int getShardCount() {
+        return shardOffsets.length - 1;
+    }
+    public int getOverlayNodeCount() {
+        return overlayNodes.length;
+    }
+
+    public int cellOf(int node) {
+        return rangeOf(cellOffsets, node);
+    }
+    public int shardOfCell(int cell) {
+        return rangeOf(shardOffsets, cell);
+    }
+    public int shardOf(int node) {
+        return shardOfCell(cellOf(node));
+    }
+
+    /**
+     * @return first node id of the shard; its nodes end where the next shard starts
+     */
+    public int getShardStart(int shard) {
+        return cellOffsets[shardOffsets[shard]];
+    }
+    public int getShardEnd(int shard) {
+        return cellOffsets[shardOffsets[shard + 1]];
+    }
+
+    /**
+     * @return first overlay id of the boundary nodes of the cell
+     */
+    public int getOverlayStart(int cell) {
+        return lowerBound(overlayNodes, cellOffsets[cell]);
+    }
+    public int getOverlayEnd(int cell) {
+        return lowerBound(overlayNodes, cellOffsets[cell + 1]);
+    }
+
+    /**
+     * @return node id in the partition of a node id of the graph it was built from
+     */
+    public int nodeOf(int originalNode) {
+        if (originalNode < 0 || originalNode >= nodes.length)
+            throw new IllegalArgumentException("Invalid node id: " + originalNode);
+        return nodes[originalNode];
+    }
+    /**
+     * @return node id in the graph the partition was built from
+     */
+    public int originalNodeOf(int node) {
+        if (node < 0 || node >= originalNodes.length)
+            throw new IllegalArgumentException("Invalid node id: " + node);
+        return originalNodes[node];
+    }
+
+    /**
+     * @return node id of an overlay node
+     */
+    public int getOverlayNode(int overlayId) {
+        return overlayNodes[overlayId];
+    }
+
+    // Index of the range of an offset array that contains the value
+    private static int rangeOf(int[] offsets, int value) {
+        if (value < 0 || value >= offsets[offsets.length - 1])
+            throw new IllegalArgumentException("Invalid node or cell id: " + value);
+        int i = Arrays.binarySearch(offsets, value);
+        return i >= 0 ? i : -i - 2;
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int i = Arrays.binarySearch(sorted, value);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Writes the partition next to {@code path} and moves it into place when complete
+     */
+    public void write(Path path) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(getCellCount());
+            out.writeInt(getShardCount());
+            out.writeInt(overlayNodes.length);
+            for (int offset : cellOffsets)
+                out.writeInt(offset);
+            for (int offset : shardOffsets)
+                out.writeInt(offset);
+            for (int node : overlayNodes)
+                out.writeInt(node);
+            for (int node : originalNodes)
+                out.writeInt(node);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static GraphPartition read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException("Not a partition file: " + path);
+            int version = in.readInt();
+            if (version != VERSION)
+                throw new IOException("Unsupported partition file version " + version);
+
+            int[] cellOffsets = new int[in.readInt() + 1];
+            int[] shardOffsets = new int[in.readInt() + 1];
+            int[] overlayNodes = new int[in.readInt()];
+            for (int i = 0; i < cellOffsets.length; i++)
+                cellOffsets[i] = in.readInt();
+            for (int i = 0; i < shardOffsets.length; i++)
+                shardOffsets[i] = in.readInt();
+            for (int i = 0; i < overlayNodes.length; i++)
+                overlayNodes[i] = in.readInt();
+            int[] originalNodes = new int[cellOffsets[cellOffsets.length - 1]];
+            for (int i = 0; i < originalNodes.length; i++)
+                originalNodes[i] = in.readInt();
+            try {
+                return new GraphPartition(cellOffsets, shardOffsets, overlayNodes, originalNodes);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Corrupt partition file " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 02:15:31 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+/**
+ * One shard of a {@link PartitionedGraph} as served by one instance: the cells of the
+ * shard and the overlay graph, both mapped from the files of
+ * {@link PartitionedGraph#write(Path)}.
+ * <p>
+ * A shard answers the in-cell searches of its own cells as a {@link CellRouter}, and
+ * routes between any two nodes of the whole graph with the help of the routers of the
+ * shards holding them. A route is the best of the path inside the cell, when both nodes
+ * share one, and of the paths through the overlay: the distances from the start to the
+ * boundary of its cell seed a Dijkstra search of the overlay, and every boundary node of
+ * the end cell it settles is an exit, at its overlay distance plus its distance to the
+ * end. The search stops once no queued node can beat the best route, and the route is
+ * unpacked by asking the owning shards for the in-cell path of each overlay edge that
+ * stands for one. All in all a route costs two cell searches per end, one overlay search
+ * and one cell search per cell it passes; searches on other shards run concurrently, on
+ * the executor given to {@link #route(int, int, IntFunction, Executor)}.
+ */
+public final class GraphShard implements CellRouter {
+
+    private final GraphPartition partition;
+    private final int index;
+    private final int start;
+    private final CsrGraph graph;
+    private final CsrGraph overlay;
+    private final SearchContextPool pool = new SearchContextPool();
+
+    GraphShard(GraphPartition partition, int index, CsrGraph graph, CsrGraph overlay) {
+        this.partition = partition;
+        this.index = index;
+        this.start = partition.getShardStart(index);
+        this.graph = graph;
+        this.overlay = overlay;
+    }
+
+    /**
+     * Maps one shard of a partitioned graph directory, with the partition and overlay
+     *
+     * @throws IOException if a file is missing or does not belong to the partition
+     */
+    public static GraphShard open(Path directory, int index) throws IOException {
+        GraphPartition partition = GraphPartition.read(directory.resolve(PartitionedGraph.PARTITION_FILE));
+        if (index < 0 || index >= partition.getShardCount())
+            throw new IllegalArgumentException("Shard " + index + " is not one of the "
+                                               + partition.getShardCount() + " shards");
+
+        CsrGraph overlay = GraphFile.open(directory.resolve(PartitionedGraph.OVERLAY_FILE)).getCsrGraph();
+        CsrGraph graph = GraphFile.open(PartitionedGraph.shardFile(directory, index)).getCsrGraph();
+        if (overlay.getNodeCount() != partition.getOverlayNodeCount()
+                || graph.getNodeCount() != partition.getShardEnd(index) - partition.getShardStart(index))
+            throw new IOException("Graph files in " + directory + " do not match the partition");
+        return new GraphShard(partition, index, graph, overlay);
+    }
+
+    public GraphPartition getPartition() {
+        return partition;
+    }
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public double[] boundaryDistances(int node) {
+        int cell = partition.cellOf(node);
+        int overlayStart = partition.getOverlayStart(cell);
+        double[] distances = new double[partition.getOverlayEnd(cell) - overlayStart];
+
+        // The shard graph has no edges between cells, so the search stays in the cell
+        SearchContext context = pool.acquire(graph.getNodeCount());
+        try {
+            context.useQueue(SearchQueueType.DEFAULT);
+            ShortestPathSearch.searchAll(graph, context, localId(node), Double.POSITIVE_INFINITY);
+            for (int i = 0; i < distances.length; i++) {
+                int boundary = partition.getOverlayNode(overlayStart + i) - start;
+                distances[i] = context.isReached(boundary) ? context.getDistance(boundary) : Double.POSITIVE_INFINITY;
+            }
+        } finally {
+            pool.release(context);
+        }
+        return distances;
+    }
+
+    @Override
+    public RoutePath cellPath(int from, int to) {
+        if (partition.cellOf(from) != partition.cellOf(to))
+            throw new IllegalArgumentException("Nodes " + from + " and " + to + " are in different cells");
+
+        int source = localId(from);
+        int target = localId(to);
+        SearchContext context = pool.acquire(graph.getNodeCount());
+        try {
+            // Dijkstra rather than A*, so the path weighs exactly what the overlay edge does
+            context.useQueue(SearchQueueType.DEFAULT);
+            ShortestPathSearch.search(graph, context, source, target, Heuristic.NONE);
+            if (!context.isReached(target))
+                return RoutePath.EMPTY;
+
+            int length = 0;
+            for (int node = target; node != -1; node = context.getParent(node))
+                length++;
+            int[] nodes = new int[length];
+            for (int node = target, i = length - 1; node != -1; node = context.getParent(node))
+                nodes[i--] = node;
+
+            List<Location> locations = new ArrayList<>(length);
+            double[] segmentDistances = new double[length - 1];
+            for (int i = 0; i < length; i++) {
+                locations.add(graph.getLocation(nodes[i]));
+                if (i > 0)
+                    segmentDistances[i - 1] = graph.getEdgeWeight(nodes[i - 1], nodes[i]);
+            }
+            for (int i = 0; i < length; i++)
+                nodes[i] += start;
+            return new RoutePath(nodes, locations, segmentDistances);
+        } finally {
+            pool.release(context);
+        }
+    }
+
+    /**
+     * Finds the shortest path between two nodes of the partitioned graph
+     *
+     * @param routers router of every shard by index, e.g. this shard for its own index
+     * @param executor runs the searches that may wait on other shards; not the common
+     *                 pool, since remote routers block on the network
+     * @return the path, empty if the end is unreachable
+     */
+    public RoutePath route(int startNode, int endNode, IntFunction<CellRouter> routers, Executor executor) {
+        int startCell = partition.cellOf(startNode);
+        int endCell = partition.cellOf(endNode);
+        CellRouter startRouter = routers.apply(partition.shardOfCell(startCell));
+        CellRouter endRouter = routers.apply(partition.shardOfCell(endCell));
+
+        CompletableFuture<double[]> pendingToEnd =
+            CompletableFuture.supplyAsync(() -> endRouter.boundaryDistances(endNode), executor);
+        double[] fromStart = startRouter.boundaryDistances(startNode);
+        RoutePath direct = startCell == endCell ? startRouter.cellPath(startNode, endNode) : RoutePath.EMPTY;
+        double[] toEnd = join(pendingToEnd);
+
+        int[] overlayPath = overlayPath(partition.getOverlayStart(startCell), fromStart,
+                                        partition.getOverlayStart(endCell), toEnd,
+                                        direct.isEmpty() ? Double.POSITIVE_INFINITY : direct.distance());
+        if (overlayPath == null)
+            return direct;
+
+        // Segments: start to the first boundary node, one per overlay edge, last boundary node to end
+        int[] nodes = new int[overlayPath.length + 2];
+        nodes[0] = startNode;
+        for (int i = 0; i < overlayPath.length; i++)
+            nodes[i + 1] = partition.getOverlayNode(overlayPath[i]);
+        nodes[nodes.length - 1] = endNode;
+
+        List<CompletableFuture<RoutePath>> pendingParts = new ArrayList<>(nodes.length - 1);
+        for (int i = 0; i < nodes.length - 1; i++) {
+            int from = nodes[i];
+            int to = nodes[i + 1];
+            int cell = partition.cellOf(from);
+            if (cell == partition.cellOf(to)) {
+                CellRouter router = routers.apply(partition.shardOfCell(cell));
+                pendingParts.add(CompletableFuture.supplyAsync(() -> router.cellPath(from, to), executor));
+            } else {
+                int fromId = overlayPath[i - 1];
+                int toId = overlayPath[i];
+                pendingParts.add(CompletableFuture.completedFuture(new RoutePath(
+                    new int[] { from, to }, List.of(overlay.getLocation(fromId), overlay.getLocation(toId)),
+                    new double[] { overlay.getEdgeWeight(fromId, toId) })));
+            }
+        }
+        List<RoutePath> parts = new ArrayList<>(pendingParts.size());
+        for (CompletableFuture<RoutePath> pending : pendingParts) {
+            RoutePath part = join(pending);
+            if (part.isEmpty())
+                throw new IllegalStateException("A shard found no path for an overlay edge");
+            parts.add(part);
+        }
+        return RoutePath.join(parts);
+    }
+
+    /**
+     * Dijkstra over the overlay from the boundary of the start cell to the boundary of
+     * the end cell, each seeded with the in-cell distances to or from its end node
+     *
+     * @param bound distance of the best route found so far
+     * @return overlay ids of the path, or null if it is not shorter than the bound
+     */
+    private int[] overlayPath(int startOffset, double[] fromStart, int endOffset, double[] toEnd, double bound) {
+        SearchContext context = pool.acquire(overlay.getNodeCount());
+        try {
+            SearchQueue queue = context.useQueue(SearchQueueType.DEFAULT);
+            for (int i = 0; i < fromStart.length; i++) {
+                if (fromStart[i] != Double.POSITIVE_INFINITY) {
+                    context.update(startOffset + i, fromStart[i], -1);
+                    queue.insertOrDecrease(startOffset + i, fromStart[i]);
+                }
+            }
+
+            double best = bound;
+            int exit = -1;
+            while (!queue.isEmpty() && queue.peekKey() < best) {
+                int current = queue.poll();
+                double currentDist = context.getDistance(current);
+                if (current >= endOffset && current < endOffset + toEnd.length
+                        && currentDist + toEnd[current - endOffset] < best) {
+                    best = currentDist + toEnd[current - endOffset];
+                    exit = current;
+                }
+
+                for (int edge = overlay.getEdgeStart(current); edge < overlay.getEdgeEnd(current); edge++) {
+                    int neighbor = overlay.getTarget(edge);
+
+                    double newDist = currentDist + overlay.getWeight(edge);
+                    if (newDist < context.getDistance(neighbor)) {
+                        context.update(neighbor, newDist, current);
+                        queue.insertOrDecrease(neighbor, newDist);
+                    }
+                }
+            }
+            if (exit == -1)
+                return null;
+
+            int length = 0;
+            for (int node = exit; node != -1; node = context.getParent(node))
+                length++;
+            int[] path = new int[length];
+            for (int node = exit, i = length - 1; node != -1; node = context.getParent(node))
+                path[i--] = node;
+            return path;
+        } finally {
+            pool.release(context);
+        }
+    }
+
+    private int localId(int node) {
+        if (partition.shardOf(node) != index)
+            throw new IllegalArgumentException("Node " + node + " is not in shard " + index);
+        return node - start;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+}
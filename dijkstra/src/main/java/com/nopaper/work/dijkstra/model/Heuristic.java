@@ -0,0 +1,33 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 21-Nov-2025 10:18:44 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+/**
+ * Lower bound on the remaining distance from a node to a fixed target, used by A*.
+ */
+@FunctionalInterface
+interface Heuristic {
+
+    /** Plain Dijkstra: no goal direction. */
+    Heuristic NONE = node -> 0;
+
+    /**
+     * @return a distance in kilometers never larger than the shortest path to the target
+     */
+    double estimate(int node);
+
+    /**
+     * Straight-line distance to the target; exact lower bound since edge weights are
+     * great-circle distances.
+     */
+    static Heuristic greatCircle(CsrGraph graph, int target) {
+        double targetLat = graph.getLatitude(target);
+        double targetLon = graph.getLongitude(target);
+        return node -> Location.distanceKm(graph.getLatitude(node), graph.getLongitude(node),
+                                           targetLat, targetLon);
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 09-Nov-2025 04:31:52 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Indexed d-ary min-heap of node ids keyed by {@code double} distances with decrease-key.
+ * <p>
+ * Every id is held at most once. Membership is checked through the position array
+ * against the heap slots, so {@link #clear()} is O(1) and never has to touch the
+ * position array. An arity of 4 halves the depth of a binary heap and keeps all
+ * children of a slot on the same cache line.
+ */
+public class IndexedDaryHeap extends SearchQueue {
+
+    private final int arity;
+    private int[] heap;
+    private double[] keys;
+    private int[] positions;
+    private int size;
+
+    public IndexedDaryHeap(int arity, int capacity) {
+        if (arity < 2)
+            throw new IllegalArgumentException("Heap arity must be at least 2");
+        this.arity = arity;
+        heap = new int[capacity];
+        keys = new double[capacity];
+        positions = new int[capacity];
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= positions.length)
+            return;
+        heap = Arrays.copyOf(heap, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        int position = positions[id];
+        return position < size && heap[position] == id;
+    }
+
+    @Override
+    public void insertOrDecrease(int id, double key) {
+        if (contains(id)) {
+            if (key >= keys[id])
+                return;
+            keys[id] = key;
+            decreaseCount++;
+            siftUp(positions[id]);
+        } else {
+            keys[id] = key;
+            heap[size] = id;
+            positions[id] = size;
+            insertCount++;
+            siftUp(size++);
+        }
+    }
+
+    @Override
+    public double peekKey() {
+        return keys[heap[0]];
+    }
+
+    @Override
+    public int poll() {
+        int min = heap[0];
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        pollCount++;
+        return min;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (position > 0) {
+            int parent = (position - 1) / arity;
+            int parentId = heap[parent];
+            if (keys[parentId] <= key)
+                break;
+            heap[position] = parentId;
+            positions[parentId] = position;
+            position = parent;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        double key = keys[id];
+        while (true) {
+            int first = arity * position + 1;
+            if (first >= size)
+                break;
+
+            int child = first;
+            double childKey = keys[heap[first]];
+            int end = Math.min(first + arity, size);
+            for (int candidate = first + 1; candidate < end; candidate++) {
+                double candidateKey = keys[heap[candidate]];
+                if (candidateKey < childKey) {
+                    child = candidate;
+                    childKey = candidateKey;
+                }
+            }
+
+            if (key <= childKey)
+                break;
+            int childId = heap[child];
+            heap[position] = childId;
+            positions[childId] = position;
+            position = child;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
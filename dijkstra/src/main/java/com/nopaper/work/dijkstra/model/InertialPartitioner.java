@@ -0,0 +1,171 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 10:07:53 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Splits a graph into cells of at most a given size by recursive inertial bisection.
+ * <p>
+ * Every split projects the nodes of a range onto a few directions of the plane, the
+ * axes and both diagonals, and cuts each projection at its median; the cut that crosses
+ * the fewest edges is kept. Road networks are nearly planar, so a straight line through
+ * the median is a good separator and balanced by construction. This is the geometric
+ * half of inertial flow, without refining the cut by a max-flow computation.
+ * <p>
+ * Nodes are reordered in place, so every cell ends up a contiguous range of the order.
+ */
+final class InertialPartitioner {
+
+    /**
+     * @param order node ids in partition order
+     * @param offsets cell c is {@code order[offsets[c]]} to {@code order[offsets[c + 1] - 1]}
+     */
+    record Cells(int[] order, int[] offsets) {}
+
+    // Projection directions as weights of the x and y coordinates
+    private static final double[][] DIRECTIONS = { { 1, 0 }, { 0, 1 }, { 1, 1 }, { 1, -1 } };
+
+    private final CsrGraph graph;
+    private final int maxCellSize;
+    private final double[] x;
+    private final double[] y;
+    private final int[] order;
+    private final int[] positions;
+    private final int[] lowerMarks;
+    private int stamp;
+
+    private int[] scratch;
+    private double[] keys;
+    private int[] offsets = new int[16];
+    private int cellCount;
+
+    private InertialPartitioner(CsrGraph graph, int maxCellSize) {
+        this.graph = graph;
+        this.maxCellSize = maxCellSize;
+        int nodeCount = graph.getNodeCount();
+        x = new double[nodeCount];
+        y = new double[nodeCount];
+        order = new int[nodeCount];
+        positions = new int[nodeCount];
+        lowerMarks = new int[nodeCount];
+        scratch = new int[nodeCount];
+        keys = new double[nodeCount];
+
+        // Equirectangular projection around the mean latitude, so both axes are in the same unit
+        double meanLatitude = 0;
+        for (int v = 0; v < nodeCount; v++)
+            meanLatitude += graph.getLatitude(v) / nodeCount;
+        double scale = Math.cos(Math.toRadians(meanLatitude));
+        for (int v = 0; v < nodeCount; v++) {
+            x[v] = graph.getLongitude(v) * scale;
+            y[v] = graph.getLatitude(v);
+            order[v] = v;
+            positions[v] = v;
+        }
+    }
+
+    static Cells partition(CsrGraph graph, int maxCellSize) {
+        if (maxCellSize < 1)
+            throw new IllegalArgumentException("Cell size must be positive");
+
+        InertialPartitioner partitioner = new InertialPartitioner(graph, maxCellSize);
+        int nodeCount = graph.getNodeCount();
+        if (nodeCount > 0)
+            partitioner.bisect(0, nodeCount);
+        partitioner.addOffset(nodeCount);
+        return new Cells(partitioner.order, Arrays.copyOf(partitioner.offsets, partitioner.cellCount + 1));
+    }
+
+    private void bisect(int from, int to) {
+        if (to - from <= maxCellSize) {
+            addOffset(from);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        int[] best = null;
+        long bestCut = Long.MAX_VALUE;
+        for (double[] direction : DIRECTIONS) {
+            for (int i = from; i < to; i++) {
+                scratch[i] = order[i];
+                keys[i] = direction[0] * x[order[i]] + direction[1] * y[order[i]];
+            }
+            select(from, to - 1, middle);
+            long cut = cutEdges(from, middle, to);
+            if (cut < bestCut) {
+                bestCut = cut;
+                best = Arrays.copyOfRange(scratch, from, to);
+            }
+        }
+
+        System.arraycopy(best, 0, order, from, best.length);
+        for (int i = from; i < to; i++)
+            positions[order[i]] = i;
+        bisect(from, middle);
+        bisect(middle, to);
+    }
+
+    // Edges from the lower half of scratch to nodes of the range outside it
+    private long cutEdges(int from, int middle, int to) {
+        stamp++;
+        for (int i = from; i < middle; i++)
+            lowerMarks[scratch[i]] = stamp;
+
+        long cut = 0;
+        for (int i = from; i < middle; i++) {
+            int node = scratch[i];
+            for (int edge = graph.getEdgeStart(node); edge < graph.getEdgeEnd(node); edge++) {
+                int target = graph.getTarget(edge);
+                int position = positions[target];
+                if (position >= from && position < to && lowerMarks[target] != stamp)
+                    cut++;
+            }
+        }
+        return cut;
+    }
+
+    // Quickselect on the keys: afterwards the k-th node of [left, right] is in place
+    private void select(int left, int right, int k) {
+        while (left < right) {
+            double pivot = keys[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (keys[i] < pivot)
+                    i++;
+                while (keys[j] > pivot)
+                    j--;
+                if (i <= j)
+                    swap(i++, j--);
+            }
+            if (k <= j)
+                right = j;
+            else if (k >= i)
+                left = i;
+            else
+                return;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int node = scratch[i];
+        scratch[i] = scratch[j];
+        scratch[j] = node;
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+
+    private void addOffset(int offset) {
+        if (cellCount + 1 == offsets.length)
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        offsets[cellCount] = offset;
+        if (offset < order.length)
+            cellCount++;
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 01-Dec-2025 03:08:44 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The k shortest loopless paths between two nodes, by Yen's algorithm with Lawler's
+ * refinement.
+ * <p>
+ * Every accepted path is the parent of one spur search per node after the point where
+ * it deviated from its own parent: the path up to the spur node is kept as root, the
+ * root nodes are blocked, and so are the edges out of the spur node that accepted paths
+ * with the same root take. The spur searches of a path are independent, so they run in
+ * parallel, each on a context from the caller's pool; their results join a candidate
+ * queue, whose shortest entry becomes the next path. Spur searches are A* with the
+ * great-circle heuristic.
+ */
+final class KShortestPaths {
+
+    // An accepted or candidate path; deviation is the index of its spur node
+    private record Path(int[] nodes, double distance, int deviation, int settledNodes,
+                        long relaxedEdges, long queuePushes) {}
+
+    // Paths are compared by their nodes, so a candidate found twice is queued once
+    private record Key(int[] nodes) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Arrays.equals(nodes, key.nodes);
+        }
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(nodes);
+        }
+    }
+
+    private KShortestPaths() {}
+
+    /**
+     * @return up to {@code k} paths in order of distance; fewer if no more exist, none if
+     *         the end node is unreachable
+     */
+    static List<SearchResult> search(CsrGraph graph, SearchContextPool pool, int startNode, int endNode,
+                                     int k, SearchQueueType queueType) {
+        List<Path> accepted = new ArrayList<>();
+        PriorityQueue<Path> candidates = new PriorityQueue<>((a, b) -> Double.compare(a.distance(), b.distance()));
+        Set<Key> seen = new HashSet<>();
+
+        Path shortest = spur(graph, pool, queueType, new int[] { startNode }, 0, endNode, new int[0], new int[0]);
+        if (shortest != null) {
+            candidates.add(shortest);
+            seen.add(new Key(shortest.nodes()));
+        }
+
+        while (accepted.size() < k && !candidates.isEmpty()) {
+            Path path = candidates.poll();
+            accepted.add(path);
+            if (accepted.size() == k)
+                break;
+
+            // Spur nodes before the deviation were expanded when the parent path was accepted
+            List<Path> snapshot = List.copyOf(accepted);
+            int[] nodes = path.nodes();
+            double[] prefix = prefixDistances(graph, nodes);
+            Path[] spurs = new Path[nodes.length - 1];
+            IntStream.range(path.deviation(), nodes.length - 1).parallel().forEach(i ->
+                spurs[i] = spur(graph, pool, queueType, nodes, i, endNode,
+                                Arrays.copyOf(nodes, i), blockedTargets(snapshot, nodes, i)));
+
+            for (int i = path.deviation(); i < spurs.length; i++) {
+                Path spur = spurs[i];
+                if (spur == null)
+                    continue;
+                // The spur path starts with the spur node; the root ends with it
+                int[] joined = new int[i + spur.nodes().length];
+                System.arraycopy(nodes, 0, joined, 0, i);
+                System.arraycopy(spur.nodes(), 0, joined, i, spur.nodes().length);
+                if (seen.add(new Key(joined)))
+                    candidates.add(new Path(joined, prefix[i] + spur.distance(), i, spur.settledNodes(),
+                                            spur.relaxedEdges(), spur.queuePushes()));
+            }
+        }
+
+        List<SearchResult> results = new ArrayList<>(accepted.size());
+        for (Path path : accepted) {
+            results.add(new SearchResult(path.nodes(), graph.getLocations(path.nodes()), path.distance(),
+                                         path.settledNodes(), path.relaxedEdges(), path.queuePushes()));
+        }
+        return results;
+    }
+
+    /**
+     * Searches from {@code root[spurIndex]} to the end node with the given blocks.
+     * @return the spur path, starting at the spur node, or null if the end is unreachable
+     */
+    private static Path spur(CsrGraph graph, SearchContextPool pool, SearchQueueType queueType, int[] root,
+                             int spurIndex, int endNode, int[] blockedNodes, int[] blockedTargets) {
+        int spurNode = root[spurIndex];
+        SearchContext context = pool.acquire(graph.getNodeCount());
+        try {
+            context.useQueue(queueType);
+            long relaxed = context.getRelaxedEdges();
+            long pushes = GeographicGraph.queuePushes(context);
+            int settled = ShortestPathSearch.searchSpur(graph, context, spurNode, endNode,
+                                                        Heuristic.greatCircle(graph, endNode),
+                                                        blockedNodes, blockedTargets);
+            if (!context.isReached(endNode))
+                return null;
+
+            int length = 0;
+            for (int node = endNode; node != -1; node = context.getParent(node))
+                length++;
+            int[] nodes = new int[length];
+            for (int node = endNode, i = length - 1; node != -1; node = context.getParent(node))
+                nodes[i--] = node;
+            return new Path(nodes, context.getDistance(endNode), 0, settled,
+                            context.getRelaxedEdges() - relaxed, GeographicGraph.queuePushes(context) - pushes);
+        } finally {
+            pool.release(context);
+        }
+    }
+
+    /**
+     * @return the next node of every accepted path that shares the first
+     *         {@code spurIndex + 1} nodes of {@code nodes}
+     */
+    private static int[] blockedTargets(List<Path> accepted, int[] nodes, int spurIndex) {
+        return accepted.stream()
+            .map(Path::nodes)
+            .filter(other -> other.length > spurIndex + 1
+                             && Arrays.equals(other, 0, spurIndex + 1, nodes, 0, spurIndex + 1))
+            .mapToInt(other -> other[spurIndex + 1])
+            .toArray();
+    }
+
+    // Distance from the first node to every node of the path, over the lightest parallel edge
+    private static double[] prefixDistances(CsrGraph graph, int[] nodes) {
+        double[] prefix = new double[nodes.length];
+        for (int i = 1; i < nodes.length; i++)
+            prefix[i] = prefix[i - 1] + graph.getEdgeWeight(nodes[i - 1], nodes[i]);
+        return prefix;
+    }
+}
@@ -0,0 +1,288 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 21-Nov-2025 11:02:17 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Landmark distances for ALT (A*, landmarks, triangle inequality) searches.
+ * <p>
+ * For every landmark {@code L} the shortest distance {@code d(L, v)} to every node is
+ * stored as a {@code float}, node-major so that the bounds of one node share a cache
+ * line. Since the graph is undirected, {@code |d(L, t) - d(L, v)|} is a lower bound on
+ * {@code d(v, t)}; the heuristic is the maximum over all landmarks and the great-circle
+ * distance. The number of landmarks trades memory ({@code 4 * K} bytes per node) for
+ * tighter bounds.
+ */
+public final class LandmarkIndex {
+
+    /**
+     * Landmark selection strategies.
+     */
+    public enum Selection {
+        /** Each new landmark is the node farthest from the landmarks chosen so far. */
+        FARTHEST,
+        /**
+         * Goldberg and Werneck's "avoid": grow a shortest path tree from a random root and
+         * place the landmark at a leaf of the subtree where the current bounds are worst.
+         */
+        AVOID
+    }
+
+    private static final long SEED = 20251121L;
+
+    private final CsrGraph graph;
+    private final int[] landmarks;
+    private final FloatBuffer distances;
+
+    private LandmarkIndex(CsrGraph graph, int[] landmarks, float[] distances) {
+        this(graph, landmarks, FloatBuffer.wrap(distances));
+    }
+
+    /**
+     * Creates an index over an existing node-major distance buffer, e.g. a mapped
+     * {@link GraphFile} section.
+     */
+    LandmarkIndex(CsrGraph graph, int[] landmarks, FloatBuffer distances) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /**
+     * Selects {@code count} landmarks and computes their distance arrays. Selection is
+     * sequential because every choice depends on the bounds of the previous landmarks.
+     */
+    public static LandmarkIndex build(CsrGraph graph, int count, Selection selection) {
+        return new LandmarkIndex(graph, new int[0], new float[0]).withLandmarkCount(count, selection);
+    }
+
+    /**
+     * @return the graph whose node ids this index uses
+     */
+    public CsrGraph getGraph() {
+        return graph;
+    }
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    /**
+     * Returns an index with a different number of landmarks. Existing landmarks and their
+     * distance arrays are kept; only the additional ones are selected and computed.
+     */
+    public LandmarkIndex withLandmarkCount(int count, Selection selection) {
+        int nodeCount = graph.getNodeCount();
+        if (count < 0)
+            throw new IllegalArgumentException("Landmark count must not be negative");
+        count = Math.min(count, nodeCount);
+
+        int existing = landmarks.length;
+        float[][] columns = new float[count][];
+        for (int i = 0; i < Math.min(existing, count); i++)
+            columns[i] = column(i);
+
+        int[] selected = Arrays.copyOf(landmarks, count);
+        Random random = new Random(SEED + existing);
+        SearchContext context = new SearchContext(nodeCount);
+        int[] settleOrder = new int[nodeCount];
+        for (int i = existing; i < count; i++) {
+            int landmark = selection == Selection.AVOID
+                    ? selectAvoid(columns, selected, i, random, context, settleOrder)
+                    : selectFarthest(columns, i, random.nextInt(nodeCount), context);
+            selected[i] = landmark;
+            columns[i] = distancesFrom(graph, landmark, context);
+        }
+        return new LandmarkIndex(graph, selected, interleave(columns, nodeCount));
+    }
+
+    /**
+     * Recomputes all distance arrays for a graph with the same nodes but changed edges or
+     * weights, keeping the landmarks. Landmarks are processed in parallel; search contexts
+     * are pooled, so there are about as many as workers rather than one per landmark.
+     */
+    public LandmarkIndex recompute(CsrGraph updated) {
+        if (updated.getNodeCount() != graph.getNodeCount())
+            throw new IllegalArgumentException("Landmarks can only be recomputed for the same nodes");
+
+        float[][] columns = new float[landmarks.length][];
+        SearchContextPool pool = new SearchContextPool();
+        IntStream.range(0, landmarks.length).parallel().forEach(i -> {
+            SearchContext context = pool.acquire(updated.getNodeCount());
+            try {
+                columns[i] = distancesFrom(updated, landmarks[i], context);
+            } finally {
+                pool.release(context);
+            }
+        });
+        return new LandmarkIndex(updated, landmarks.clone(), interleave(columns, updated.getNodeCount()));
+    }
+
+    /**
+     * Moves this index to a graph with the same nodes in which no shortest distance is
+     * shorter, e.g. after edge weights were raised or edges removed. Every bound
+     * {@code |d(L, t) - d(L, v)|} then still lies below the old and hence the new
+     * {@code d(v, t)}, so the heuristic stays admissible and consistent, only less tight;
+     * nothing is recomputed.
+     */
+    LandmarkIndex reweighted(CsrGraph updated) {
+        if (updated.getNodeCount() != graph.getNodeCount())
+            throw new IllegalArgumentException("Landmarks can only be reused for the same nodes");
+
+        return new LandmarkIndex(updated, landmarks, distances);
+    }
+
+    /**
+     * @return the ALT heuristic towards {@code target}
+     */
+    Heuristic heuristicTo(int target) {
+        int count = landmarks.length;
+        float[] toTarget = new float[count];
+        distances.get(target * count, toTarget);
+        Heuristic greatCircle = Heuristic.greatCircle(graph, target);
+
+        return node -> {
+            double bound = greatCircle.estimate(node);
+            int base = node * count;
+            for (int i = 0; i < count; i++) {
+                float a = toTarget[i];
+                float b = distances.get(base + i);
+                if (a == Float.POSITIVE_INFINITY || b == Float.POSITIVE_INFINITY)
+                    continue;
+                // Both values were rounded to float; subtract their ulps to stay a lower bound
+                double landmarkBound = Math.abs((double) a - b) - Math.ulp(a) - Math.ulp(b);
+                if (landmarkBound > bound)
+                    bound = landmarkBound;
+            }
+            return bound;
+        };
+    }
+
+    // Raw buffer for GraphFile; a duplicate so that callers cannot move the shared position
+    FloatBuffer distances() {
+        return distances.duplicate();
+    }
+
+    private float[] column(int landmark) {
+        int count = landmarks.length;
+        float[] column = new float[graph.getNodeCount()];
+        for (int v = 0; v < column.length; v++)
+            column[v] = distances.get(v * count + landmark);
+        return column;
+    }
+
+    private static float[] interleave(float[][] columns, int nodeCount) {
+        int count = columns.length;
+        float[] interleaved = new float[nodeCount * count];
+        IntStream.range(0, nodeCount).parallel().forEach(v -> {
+            for (int i = 0; i < count; i++)
+                interleaved[v * count + i] = columns[i][v];
+        });
+        return interleaved;
+    }
+
+    private static float[] distancesFrom(CsrGraph graph, int landmark, SearchContext context) {
+        context.reset();
+        ShortestPathSearch.searchAll(graph, context, landmark, Double.MAX_VALUE, null);
+
+        float[] column = new float[graph.getNodeCount()];
+        for (int v = 0; v < column.length; v++)
+            column[v] = context.isReached(v) ? (float) context.getDistance(v) : Float.POSITIVE_INFINITY;
+        return column;
+    }
+
+    /**
+     * Picks the node maximising the distance to the nearest chosen landmark. Unreachable
+     * nodes count as infinitely far, so every component eventually gets a landmark.
+     */
+    private int selectFarthest(float[][] columns, int chosen, int start, SearchContext context) {
+        float[] nearest;
+        if (chosen == 0) {
+            // No landmark yet: use the node farthest from a random start instead
+            nearest = distancesFrom(graph, start, context);
+        } else {
+            nearest = columns[0].clone();
+            for (int i = 1; i < chosen; i++) {
+                for (int v = 0; v < nearest.length; v++)
+                    nearest[v] = Math.min(nearest[v], columns[i][v]);
+            }
+        }
+
+        int best = start;
+        for (int v = 0; v < nearest.length; v++) {
+            if (nearest[v] > nearest[best])
+                best = v;
+        }
+        return best;
+    }
+
+    /**
+     * Avoid selection: every node of a shortest path tree from a random root is weighted by
+     * how much the current landmarks underestimate its distance to the root. Subtree weights
+     * are summed bottom-up, with subtrees that contain a landmark weighted zero, and the new
+     * landmark is the leaf reached by always descending into the heaviest child.
+     */
+    private int selectAvoid(float[][] columns, int[] selected, int chosen, Random random,
+                            SearchContext context, int[] settleOrder) {
+        int nodeCount = graph.getNodeCount();
+        int root = random.nextInt(nodeCount);
+        context.reset();
+        int settled = ShortestPathSearch.searchAll(graph, context, root, Double.MAX_VALUE, settleOrder);
+
+        boolean[] isLandmark = new boolean[nodeCount];
+        for (int i = 0; i < chosen; i++)
+            isLandmark[selected[i]] = true;
+
+        double[] size = new double[nodeCount];
+        int[] heaviestChild = new int[nodeCount];
+        boolean[] covered = new boolean[nodeCount];
+        Arrays.fill(heaviestChild, -1);
+
+        for (int k = settled - 1; k >= 0; k--) {
+            int v = settleOrder[k];
+            double toRoot = context.getDistance(v);
+            double lowerBound = 0;
+            for (int i = 0; i < chosen; i++) {
+                float a = columns[i][root];
+                float b = columns[i][v];
+                if (a != Float.POSITIVE_INFINITY && b != Float.POSITIVE_INFINITY)
+                    lowerBound = Math.max(lowerBound, Math.abs((double) a - b));
+            }
+            covered[v] |= isLandmark[v];
+            size[v] = covered[v] ? 0 : size[v] + toRoot - lowerBound;
+
+            int parent = context.getParent(v);
+            if (parent != -1) {
+                covered[parent] |= covered[v];
+                if (!covered[v]) {
+                    size[parent] += size[v];
+                    if (heaviestChild[parent] == -1 || size[v] > size[heaviestChild[parent]])
+                        heaviestChild[parent] = v;
+                }
+            }
+        }
+
+        int best = -1;
+        for (int k = 0; k < settled; k++) {
+            int v = settleOrder[k];
+            if (size[v] > 0 && (best == -1 || size[v] > size[best]))
+                best = v;
+        }
+        if (best == -1)
+            return selectFarthest(columns, chosen, root, context);
+
+        while (heaviestChild[best] != -1)
+            best = heaviestChild[best];
+        return best;
+    }
+}
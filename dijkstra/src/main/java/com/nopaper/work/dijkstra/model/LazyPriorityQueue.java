@@ -0,0 +1,103 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 11-Nov-2025 12:05:40 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * {@link PriorityQueue} adapter without decrease-key: every improvement pushes a new
+ * entry and outdated entries are skipped when they surface. This is how the search
+ * loop originally worked and is kept as a baseline for the indexed heaps.
+ */
+public class LazyPriorityQueue extends SearchQueue {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private double[] keys;
+    private boolean[] queued;
+    private int size;
+
+    public LazyPriorityQueue(int capacity) {
+        keys = new double[capacity];
+        queued = new boolean[capacity];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= keys.length)
+            return;
+        keys = Arrays.copyOf(keys, capacity);
+        queued = Arrays.copyOf(queued, capacity);
+    }
+
+    @Override
+    public void clear() {
+        for (Entry entry : queue)
+            queued[entry.id()] = false;
+        queue.clear();
+        size = 0;
+    }
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return queued[id];
+    }
+
+    @Override
+    public void insertOrDecrease(int id, double key) {
+        if (queued[id]) {
+            if (key >= keys[id])
+                return;
+            decreaseCount++;
+        } else {
+            queued[id] = true;
+            size++;
+            insertCount++;
+        }
+        keys[id] = key;
+        queue.add(new Entry(id, key));
+    }
+
+    @Override
+    public double peekKey() {
+        skipStale();
+        return queue.peek().key();
+    }
+
+    @Override
+    public int poll() {
+        skipStale();
+        int id = queue.poll().id();
+        queued[id] = false;
+        size--;
+        pollCount++;
+        return id;
+    }
+
+    private void skipStale() {
+        Entry head = queue.peek();
+        while (!queued[head.id()] || head.key() != keys[head.id()]) {
+            queue.poll();
+            head = queue.peek();
+        }
+    }
+
+    private record Entry(int id, double key) implements Comparable<Entry> {
+        @Override
+        public int compareTo(Entry other) {
+            return Double.compare(this.key, other.key);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 24-Nov-2025 10:52:18 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Distance matrices between a set of sources and a set of targets.
+ * <p>
+ * Without preprocessing every row is one Dijkstra tree from its source that stops once
+ * all targets are settled. With a {@link ContractionHierarchy} the bucket algorithm of
+ * Knopp et al. is used instead: one backward upward search per target leaves
+ * {@code (target, distance)} entries in a bucket at every node it settles, and one
+ * forward upward search per source combines its distances with the buckets of the nodes
+ * it settles. Both upward search spaces are tiny, so the cost is close to
+ * {@code sources + targets} point-to-point queries rather than their product.
+ * <p>
+ * Searches of different sources (and targets) run in parallel, each with a context from
+ * the caller's pool. Unreachable pairs are {@link Double#POSITIVE_INFINITY}.
+ */
+final class ManyToManySearch {
+
+    private ManyToManySearch() {}
+
+    static double[][] trees(CsrGraph graph, SearchContextPool pool, int[] sources, int[] targets,
+                            SearchQueueType queueType) {
+        int nodeCount = graph.getNodeCount();
+        boolean[] isTarget = new boolean[nodeCount];
+        int distinctTargets = 0;
+        for (int target : targets) {
+            if (!isTarget[target]) {
+                isTarget[target] = true;
+                distinctTargets++;
+            }
+        }
+
+        int targetCount = distinctTargets;
+        double[][] matrix = new double[sources.length][];
+        IntStream.range(0, sources.length).parallel().forEach(i -> {
+            SearchContext context = pool.acquire(nodeCount);
+            try {
+                context.useQueue(queueType);
+                ShortestPathSearch.searchTargets(graph, context, sources[i], isTarget, targetCount);
+
+                double[] row = new double[targets.length];
+                for (int j = 0; j < targets.length; j++)
+                    row[j] = context.isReached(targets[j]) ? context.getDistance(targets[j]) : Double.POSITIVE_INFINITY;
+                matrix[i] = row;
+            } finally {
+                pool.release(context);
+            }
+        });
+        return matrix;
+    }
+
+    static double[][] buckets(ContractionHierarchy hierarchy, SearchContextPool pool, int[] sources,
+                              int[] targets, SearchQueueType queueType) {
+        int nodeCount = hierarchy.getGraph().getNodeCount();
+
+        // Backward searches: search space and distances per target
+        int[][] spaces = new int[targets.length][];
+        double[][] spaceDistances = new double[targets.length][];
+        IntStream.range(0, targets.length).parallel().forEach(j -> {
+            SearchContext context = pool.acquire(nodeCount);
+            try {
+                context.useQueue(queueType);
+                int[] space = hierarchy.searchUpward(context, targets[j]);
+                double[] distances = new double[space.length];
+                for (int k = 0; k < space.length; k++)
+                    distances[k] = context.getDistance(space[k]);
+                spaces[j] = space;
+                spaceDistances[j] = distances;
+            } finally {
+                pool.release(context);
+            }
+        });
+
+        // Buckets: all entries sorted by node, packed as (node << 32 | entry) for the sort
+        int entryCount = 0;
+        for (int[] space : spaces)
+            entryCount += space.length;
+        long[] keys = new long[entryCount];
+        int[] entryTargets = new int[entryCount];
+        double[] entryDistances = new double[entryCount];
+        for (int j = 0, entry = 0; j < targets.length; j++) {
+            for (int k = 0; k < spaces[j].length; k++, entry++) {
+                keys[entry] = (long) spaces[j][k] << 32 | entry;
+                entryTargets[entry] = j;
+                entryDistances[entry] = spaceDistances[j][k];
+            }
+        }
+        Arrays.parallelSort(keys);
+        int[] bucketNodes = new int[entryCount];
+        int[] bucketTargets = new int[entryCount];
+        double[] bucketDistances = new double[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            int entry = (int) keys[i];
+            bucketNodes[i] = (int) (keys[i] >>> 32);
+            bucketTargets[i] = entryTargets[entry];
+            bucketDistances[i] = entryDistances[entry];
+        }
+
+        // Forward searches: scan the bucket of every node in the source's search space
+        double[][] matrix = new double[sources.length][];
+        IntStream.range(0, sources.length).parallel().forEach(i -> {
+            SearchContext context = pool.acquire(nodeCount);
+            try {
+                context.useQueue(queueType);
+                double[] row = new double[targets.length];
+                Arrays.fill(row, Double.POSITIVE_INFINITY);
+                for (int node : hierarchy.searchUpward(context, sources[i])) {
+                    double toNode = context.getDistance(node);
+                    for (int b = firstEntry(bucketNodes, node); b < bucketNodes.length && bucketNodes[b] == node; b++) {
+                        double candidate = toNode + bucketDistances[b];
+                        if (candidate < row[bucketTargets[b]])
+                            row[bucketTargets[b]] = candidate;
+                    }
+                }
+                matrix[i] = row;
+            } finally {
+                pool.release(context);
+            }
+        });
+        return matrix;
+    }
+
+    /**
+     * @return index of the first bucket entry of {@code node}, or where it would be
+     */
+    private static int firstEntry(int[] bucketNodes, int node) {
+        int low = 0;
+        int high = bucketNodes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bucketNodes[mid] < node)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,213 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 11:22:05 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+/**
+ * A graph split into cells for routing across several service instances, each serving
+ * a shard of the cells.
+ * <p>
+ * The cells come from {@link InertialPartitioner}; shards are contiguous runs of cells
+ * with about the same number of nodes. Nodes are renumbered so that cells and shards are
+ * contiguous id ranges, as described by the {@link GraphPartition}, which also maps the
+ * new ids to those of the original graph and back. Each shard graph
+ * holds the nodes of its cells and only the edges inside a cell, numbered from the first
+ * node of the shard. The overlay graph holds the boundary nodes with the edges between
+ * cells, plus an edge between every two boundary nodes of a cell weighted by their
+ * shortest distance inside the cell. A shortest path between any two boundary nodes is
+ * thereby a path of the overlay graph, which {@link GraphShard} uses to route between
+ * cells without the other shards' graphs.
+ * <p>
+ * Built offline, since every boundary node needs a search of its cell; the searches run
+ * in parallel.
+ */
+public final class PartitionedGraph {
+
+    static final String PARTITION_FILE = "partition.dpt";
+    static final String OVERLAY_FILE = "overlay.djg";
+
+    private final GraphPartition partition;
+    private final CsrGraph overlay;
+    private final CsrGraph[] shards;
+
+    private PartitionedGraph(GraphPartition partition, CsrGraph overlay, CsrGraph[] shards) {
+        this.partition = partition;
+        this.overlay = overlay;
+        this.shards = shards;
+    }
+
+    public GraphPartition getPartition() {
+        return partition;
+    }
+    public CsrGraph getOverlay() {
+        return overlay;
+    }
+    public CsrGraph getShard(int shard) {
+        return shards[shard];
+    }
+
+    /**
+     * Partitions a graph into cells of at most {@code maxCellSize} nodes over
+     * {@code shardCount} shards.
+     *
+     * @throws IllegalArgumentException if there are fewer cells than shards
+     */
+    public static PartitionedGraph build(CsrGraph graph, int maxCellSize, int shardCount) {
+        if (shardCount < 1)
+            throw new IllegalArgumentException("Shard count must be positive");
+        InertialPartitioner.Cells cells = InertialPartitioner.partition(graph, maxCellSize);
+        int[] order = cells.order();
+        int[] cellOffsets = cells.offsets();
+        int nodeCount = order.length;
+        int cellCount = cellOffsets.length - 1;
+        if (cellCount < shardCount)
+            throw new IllegalArgumentException("Graph of " + nodeCount + " nodes has " + cellCount
+                                               + " cells, fewer than " + shardCount + " shards");
+
+        int[] ranks = new int[nodeCount];
+        int[] cellOf = new int[nodeCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            for (int node = cellOffsets[cell]; node < cellOffsets[cell + 1]; node++) {
+                ranks[order[node]] = node;
+                cellOf[node] = cell;
+            }
+        }
+
+        int[] overlayIds = new int[nodeCount];
+        int overlayCount = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            overlayIds[node] = -1;
+            int original = order[node];
+            for (int edge = graph.getEdgeStart(original); edge < graph.getEdgeEnd(original); edge++) {
+                if (cellOf[ranks[graph.getTarget(edge)]] != cellOf[node]) {
+                    overlayIds[node] = overlayCount++;
+                    break;
+                }
+            }
+        }
+        int[] overlayNodes = new int[overlayCount];
+        for (int node = 0; node < nodeCount; node++) {
+            if (overlayIds[node] >= 0)
+                overlayNodes[overlayIds[node]] = node;
+        }
+
+        GraphPartition partition = new GraphPartition(cellOffsets, shardOffsets(cellOffsets, shardCount),
+                                                      overlayNodes, order);
+        CsrGraph[] shards = new CsrGraph[shardCount];
+        IntStream.range(0, shardCount).parallel()
+            .forEach(shard -> shards[shard] = shardGraph(graph, partition, order, ranks, cellOf, shard));
+        CsrGraph overlay = overlayGraph(graph, partition, order, ranks, cellOf, overlayIds, shards);
+        return new PartitionedGraph(partition, overlay, shards);
+    }
+
+    /**
+     * Writes the partition, the overlay graph and every shard graph into a directory, to
+     * be opened by {@link GraphShard#open(Path, int)}
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        partition.write(directory.resolve(PARTITION_FILE));
+        GraphFile.write(directory.resolve(OVERLAY_FILE), overlay, null, null);
+        for (int shard = 0; shard < shards.length; shard++)
+            GraphFile.write(shardFile(directory, shard), shards[shard], null, null);
+    }
+
+    static Path shardFile(Path directory, int shard) {
+        return directory.resolve("shard-" + shard + ".djg");
+    }
+
+    // Cuts the cells into shards, each starting at the first cell at or past its share of the nodes
+    private static int[] shardOffsets(int[] cellOffsets, int shardCount) {
+        int cellCount = cellOffsets.length - 1;
+        long nodeCount = cellOffsets[cellCount];
+        int[] shardOffsets = new int[shardCount + 1];
+        int cell = 0;
+        for (int shard = 1; shard < shardCount; shard++) {
+            long target = nodeCount * shard / shardCount;
+            cell++;
+            while (cell < cellCount - (shardCount - shard) && cellOffsets[cell] < target)
+                cell++;
+            shardOffsets[shard] = cell;
+        }
+        shardOffsets[shardCount] = cellCount;
+        return shardOffsets;
+    }
+
+    private static CsrGraph shardGraph(CsrGraph graph, GraphPartition partition, int[] order, int[] ranks,
+                                       int[] cellOf, int shard) {
+        int start = partition.getShardStart(shard);
+        int end = partition.getShardEnd(shard);
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int node = start; node < end; node++) {
+            if (builder.addLocation(graph.getLocation(order[node])) != node - start)
+                throw new IllegalArgumentException("Graph has duplicate locations");
+        }
+
+        // Every edge is stored in both directions; add it once, from its lower end
+        for (int node = start; node < end; node++) {
+            int original = order[node];
+            for (int edge = graph.getEdgeStart(original); edge < graph.getEdgeEnd(original); edge++) {
+                int target = ranks[graph.getTarget(edge)];
+                if (node < target && cellOf[target] == cellOf[node])
+                    builder.addEdge(node - start, target - start, graph.getWeight(edge));
+            }
+        }
+        return builder.build();
+    }
+
+    private static CsrGraph overlayGraph(CsrGraph graph, GraphPartition partition, int[] order, int[] ranks,
+                                         int[] cellOf, int[] overlayIds, CsrGraph[] shards) {
+        int overlayCount = partition.getOverlayNodeCount();
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int id = 0; id < overlayCount; id++)
+            builder.addLocation(graph.getLocation(order[partition.getOverlayNode(id)]));
+
+        for (int id = 0; id < overlayCount; id++) {
+            int node = partition.getOverlayNode(id);
+            int original = order[node];
+            for (int edge = graph.getEdgeStart(original); edge < graph.getEdgeEnd(original); edge++) {
+                int target = ranks[graph.getTarget(edge)];
+                if (node < target && cellOf[target] != cellOf[node])
+                    builder.addEdge(id, overlayIds[target], graph.getWeight(edge));
+            }
+        }
+
+        // Distances from every boundary node to the boundary nodes of its cell with higher ids
+        double[][] cliques = new double[overlayCount][];
+        SearchContextPool pool = new SearchContextPool();
+        IntStream.range(0, overlayCount).parallel().forEach(id -> {
+            int node = partition.getOverlayNode(id);
+            int cell = cellOf[node];
+            int shard = partition.shardOfCell(cell);
+            int start = partition.getShardStart(shard);
+            CsrGraph shardGraph = shards[shard];
+            SearchContext context = pool.acquire(shardGraph.getNodeCount());
+            try {
+                ShortestPathSearch.searchAll(shardGraph, context, node - start, Double.POSITIVE_INFINITY);
+                double[] distances = new double[partition.getOverlayEnd(cell) - id - 1];
+                for (int i = 0; i < distances.length; i++) {
+                    int target = partition.getOverlayNode(id + 1 + i) - start;
+                    distances[i] = context.isReached(target) ? context.getDistance(target) : Double.POSITIVE_INFINITY;
+                }
+                cliques[id] = distances;
+            } finally {
+                pool.release(context);
+            }
+        });
+        for (int id = 0; id < overlayCount; id++) {
+            for (int i = 0; i < cliques[id].length; i++) {
+                if (cliques[id][i] != Double.POSITIVE_INFINITY)
+                    builder.addEdge(id, id + 1 + i, cliques[id][i]);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 11-Nov-2025 11:37:18 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Indexed monotone radix heap over non-negative {@code double} keys.
+ * <p>
+ * The IEEE-754 bit pattern of a non-negative double orders the same way as the value,
+ * so keys are bucketed by the highest bit in which they differ from the last polled key.
+ * Bucket 0 holds keys equal to it; a poll that finds bucket 0 empty redistributes the
+ * first non-empty bucket, and each id moves to a lower bucket at most 64 times.
+ * <p>
+ * Dijkstra and A* with a consistent heuristic only insert keys at or above the last
+ * polled key. Keys that fall below it by rounding error are clamped to it.
+ */
+public class RadixHeap extends SearchQueue {
+
+    private static final int BUCKETS = 65;
+
+    private final int[][] buckets = new int[BUCKETS][];
+    private final int[] bucketSizes = new int[BUCKETS];
+    private long[] keys;
+    private int[] bucketOf;
+    private int[] slotOf;
+    private long last;
+    private int size;
+
+    public RadixHeap(int capacity) {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new int[16];
+        keys = new long[capacity];
+        bucketOf = new int[capacity];
+        slotOf = new int[capacity];
+    }
+
+    @Override
+    public void ensureCapacity(int capacity) {
+        if (capacity <= keys.length)
+            return;
+        keys = Arrays.copyOf(keys, capacity);
+        bucketOf = Arrays.copyOf(bucketOf, capacity);
+        slotOf = Arrays.copyOf(slotOf, capacity);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        last = 0;
+        size = 0;
+    }
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(int id) {
+        int bucket = bucketOf[id];
+        int slot = slotOf[id];
+        return slot < bucketSizes[bucket] && buckets[bucket][slot] == id;
+    }
+
+    @Override
+    public void insertOrDecrease(int id, double key) {
+        long bits = Math.max(Double.doubleToRawLongBits(key), last);
+        if (contains(id)) {
+            if (bits >= keys[id])
+                return;
+            remove(id);
+            decreaseCount++;
+        } else {
+            size++;
+            insertCount++;
+        }
+        keys[id] = bits;
+        add(bucketFor(bits), id);
+    }
+
+    @Override
+    public double peekKey() {
+        if (bucketSizes[0] > 0)
+            return Double.longBitsToDouble(last);
+        int bucket = firstNonEmptyBucket();
+        return Double.longBitsToDouble(keys[minimumOf(bucket)]);
+    }
+
+    @Override
+    public int poll() {
+        if (bucketSizes[0] == 0) {
+            int bucket = firstNonEmptyBucket();
+            last = keys[minimumOf(bucket)];
+
+            int[] items = buckets[bucket];
+            int count = bucketSizes[bucket];
+            bucketSizes[bucket] = 0;
+            for (int i = 0; i < count; i++)
+                add(bucketFor(keys[items[i]]), items[i]);
+        }
+
+        int id = buckets[0][--bucketSizes[0]];
+        size--;
+        pollCount++;
+        return id;
+    }
+
+    private int bucketFor(long bits) {
+        return 64 - Long.numberOfLeadingZeros(bits ^ last);
+    }
+
+    private int firstNonEmptyBucket() {
+        int bucket = 1;
+        while (bucketSizes[bucket] == 0)
+            bucket++;
+        return bucket;
+    }
+
+    private int minimumOf(int bucket) {
+        int[] items = buckets[bucket];
+        int min = items[0];
+        for (int i = 1; i < bucketSizes[bucket]; i++) {
+            if (keys[items[i]] < keys[min])
+                min = items[i];
+        }
+        return min;
+    }
+
+    private void add(int bucket, int id) {
+        int slot = bucketSizes[bucket]++;
+        if (slot == buckets[bucket].length)
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], slot * 2);
+        buckets[bucket][slot] = id;
+        bucketOf[id] = bucket;
+        slotOf[id] = slot;
+    }
+
+    private void remove(int id) {
+        int bucket = bucketOf[id];
+        int slot = slotOf[id];
+        int moved = buckets[bucket][--bucketSizes[bucket]];
+        buckets[bucket][slot] = moved;
+        slotOf[moved] = slot;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 01:36:12 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A path of a partitioned graph, by node ids of the {@link GraphPartition}, with the
+ * weight of every segment.
+ *
+ * @param nodes node ids from start to end; empty if there is no path
+ * @param locations location of every node
+ * @param segmentDistances weight of the edge between every two consecutive nodes
+ */
+public record RoutePath(int[] nodes, List<Location> locations, double[] segmentDistances) {
+
+    public static final RoutePath EMPTY = new RoutePath(new int[0], List.of(), new double[0]);
+
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    public double distance() {
+        double distance = 0;
+        for (double segment : segmentDistances)
+            distance += segment;
+        return distance;
+    }
+
+    /**
+     * Joins paths of which each starts where the one before it ends
+     */
+    public static RoutePath join(List<RoutePath> parts) {
+        int length = 1;
+        for (RoutePath part : parts)
+            length += part.nodes.length - 1;
+
+        int[] nodes = new int[length];
+        List<Location> locations = new ArrayList<>(length);
+        double[] segmentDistances = new double[length - 1];
+        int position = 0;
+        for (RoutePath part : parts) {
+            int skip = position == 0 ? 0 : 1;
+            System.arraycopy(part.nodes, skip, nodes, position, part.nodes.length - skip);
+            locations.addAll(part.locations.subList(skip, part.locations.size()));
+            int segment = position == 0 ? 0 : position - 1;
+            System.arraycopy(part.segmentDistances, 0, segmentDistances, segment, part.segmentDistances.length);
+            position += part.nodes.length - skip;
+        }
+        return new RoutePath(nodes, locations, segmentDistances);
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 13-Nov-2025 09:48:25 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+/**
+ * Point-to-point search algorithms supported by {@link GeographicGraph}.
+ */
+public enum SearchAlgorithm {
+
+    /** Plain Dijkstra; settles every node closer than the target. */
+    DIJKSTRA,
+    /** A* with the great-circle distance to the target as heuristic. */
+    A_STAR,
+    /** Dijkstra from both ends, meeting in the middle. */
+    BIDIRECTIONAL_DIJKSTRA,
+    /** A* from both ends with averaged great-circle potentials. */
+    BIDIRECTIONAL_A_STAR,
+    /** Bidirectional upward search on a precomputed {@link ContractionHierarchy}. */
+    CONTRACTION_HIERARCHIES,
+    /** A* with landmark triangle-inequality bounds from a precomputed {@link LandmarkIndex}. */
+    ALT
+}
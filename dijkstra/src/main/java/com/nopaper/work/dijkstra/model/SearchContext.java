@@ -0,0 +1,127 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 09-Nov-2025 04:58:10 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Per-query state of a shortest path search over a {@link CsrGraph}.
+ * <p>
+ * Distances and parents live in primitive arrays tagged with a generation stamp:
+ * an entry is only valid while its stamp equals the current generation, so
+ * {@link #reset()} is O(1) instead of refilling the arrays. A node is settled once
+ * it has been reached and is no longer in the queue.
+ * <p>
+ * A context is not thread-safe; obtain one per query from a {@link SearchContextPool}.
+ */
+public class SearchContext {
+
+    private double[] distances;
+    private int[] parents;
+    private int[] stamps;
+    private int generation = 1;
+    private final SearchQueue[] queues = new SearchQueue[SearchQueueType.values().length];
+    private SearchQueue queue;
+    private long relaxedEdges;
+
+    public SearchContext(int capacity) {
+        distances = new double[capacity];
+        parents = new int[capacity];
+        stamps = new int[capacity];
+        useQueue(SearchQueueType.DEFAULT);
+    }
+
+    public int getCapacity() {
+        return stamps.length;
+    }
+
+    /**
+     * Grows the context so that node ids in {@code [0, capacity)} can be searched.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= stamps.length)
+            return;
+        distances = Arrays.copyOf(distances, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+        for (SearchQueue created : queues) {
+            if (created != null)
+                created.ensureCapacity(capacity);
+        }
+    }
+
+    /**
+     * Invalidates all distances and parents and empties the queue.
+     */
+    public void reset() {
+        queue.clear();
+        if (++generation == 0) {
+            // Stamps wrapped around; clear them once so stale entries cannot match
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+    }
+
+    /**
+     * Makes a queue of the given type the active one, creating it on first use.
+     * @return the active queue, empty
+     */
+    public SearchQueue useQueue(SearchQueueType type) {
+        SearchQueue selected = queues[type.ordinal()];
+        if (selected == null) {
+            selected = type.create(stamps.length);
+            queues[type.ordinal()] = selected;
+        } else {
+            selected.clear();
+        }
+        queue = selected;
+        return selected;
+    }
+
+    public SearchQueue getQueue() {
+        return queue;
+    }
+
+    public boolean isReached(int node) {
+        return stamps[node] == generation;
+    }
+    public boolean isSettled(int node) {
+        return stamps[node] == generation && !queue.contains(node);
+    }
+
+    /**
+     * @return tentative distance of the node, or {@link Double#MAX_VALUE} if not reached
+     */
+    public double getDistance(int node) {
+        return stamps[node] == generation ? distances[node] : Double.MAX_VALUE;
+    }
+
+    /**
+     * @return predecessor on the current shortest path tree, or -1 for none
+     */
+    public int getParent(int node) {
+        return stamps[node] == generation ? parents[node] : -1;
+    }
+
+    /**
+     * @return edges scanned from settled nodes by point-to-point searches on this context,
+     *         cumulative like the queue counters
+     */
+    public long getRelaxedEdges() {
+        return relaxedEdges;
+    }
+
+    void addRelaxedEdges(int count) {
+        relaxedEdges += count;
+    }
+
+    public void update(int node, double distance, int parent) {
+        distances[node] = distance;
+        parents[node] = parent;
+        stamps[node] = generation;
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 09-Nov-2025 05:20:44 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free pool of {@link SearchContext} instances shared by concurrent queries.
+ * <p>
+ * A pool rather than a {@code ThreadLocal} is used because requests run on virtual
+ * threads: there can be far more threads than concurrent searches, and each would
+ * otherwise pin its own set of node-sized arrays.
+ */
+public class SearchContextPool {
+
+    private static final int DEFAULT_MAX_IDLE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final ConcurrentLinkedQueue<SearchContext> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final int maxIdle;
+
+    public SearchContextPool() {
+        this(DEFAULT_MAX_IDLE);
+    }
+
+    public SearchContextPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Takes an idle context, or creates one, reset and sized for {@code nodeCount} nodes.
+     */
+    public SearchContext acquire(int nodeCount) {
+        SearchContext context = idle.poll();
+        if (context == null)
+            return new SearchContext(nodeCount);
+
+        idleCount.decrementAndGet();
+        context.ensureCapacity(nodeCount);
+        context.reset();
+        return context;
+    }
+
+    /**
+     * Returns a context to the pool; contexts beyond the idle limit are dropped.
+     */
+    public void release(SearchContext context) {
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        idle.offer(context);
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 11-Nov-2025 10:02:36 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+/**
+ * Priority queue of node ids keyed by tentative distance, as used by the search loop.
+ * <p>
+ * An id is queued at most once: {@link #insertOrDecrease(int, double)} either adds it
+ * or lowers its key. Implementations count their operations so that queue variants can
+ * be compared on real searches.
+ */
+public abstract class SearchQueue {
+
+    protected long insertCount;
+    protected long decreaseCount;
+    protected long pollCount;
+
+    /**
+     * Grows the queue so that ids in {@code [0, capacity)} can be stored.
+     */
+    public abstract void ensureCapacity(int capacity);
+
+    public abstract void clear();
+
+    public abstract boolean isEmpty();
+
+    public abstract int size();
+
+    public abstract boolean contains(int id);
+
+    /**
+     * Inserts the id, or lowers its key if it is already queued with a larger one.
+     */
+    public abstract void insertOrDecrease(int id, double key);
+
+    /**
+     * @return smallest key currently queued
+     */
+    public abstract double peekKey();
+
+    /**
+     * Removes and returns the id with the smallest key.
+     */
+    public abstract int poll();
+
+    public long getInsertCount() {
+        return insertCount;
+    }
+    public long getDecreaseCount() {
+        return decreaseCount;
+    }
+    public long getPollCount() {
+        return pollCount;
+    }
+}
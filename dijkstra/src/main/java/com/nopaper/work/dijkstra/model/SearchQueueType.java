@@ -0,0 +1,36 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 11-Nov-2025 10:09:51 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.function.IntFunction;
+
+/**
+ * Priority queue implementations selectable per query.
+ */
+public enum SearchQueueType {
+
+    /** {@link java.util.PriorityQueue} with duplicate entries; kept as a baseline. */
+    PRIORITY_QUEUE(LazyPriorityQueue::new),
+    /** Indexed binary heap with decrease-key. */
+    BINARY_HEAP(capacity -> new IndexedDaryHeap(2, capacity)),
+    /** Indexed 4-ary heap with decrease-key; shallower and more cache-friendly. */
+    QUATERNARY_HEAP(capacity -> new IndexedDaryHeap(4, capacity)),
+    /** Monotone radix heap; keys must never drop below the last polled key. */
+    RADIX_HEAP(RadixHeap::new);
+
+    public static final SearchQueueType DEFAULT = QUATERNARY_HEAP;
+
+    private final IntFunction<SearchQueue> factory;
+
+    SearchQueueType(IntFunction<SearchQueue> factory) {
+        this.factory = factory;
+    }
+
+    public SearchQueue create(int capacity) {
+        return factory.apply(capacity);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 13-Nov-2025 09:55:02 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a point-to-point search: the path, its length and search effort.
+ */
+public class SearchResult {
+
+    private final int[] nodes;
+    private final List<Location> path;
+    private final double distance;
+    private final int settledNodes;
+    private final long relaxedEdges;
+    private final long queuePushes;
+
+    public SearchResult(int[] nodes, List<Location> path, double distance, int settledNodes) {
+        this(nodes, path, distance, settledNodes, 0, 0);
+    }
+
+    public SearchResult(int[] nodes, List<Location> path, double distance, int settledNodes,
+                        long relaxedEdges, long queuePushes) {
+        this.nodes = nodes;
+        this.path = path;
+        this.distance = distance;
+        this.settledNodes = settledNodes;
+        this.relaxedEdges = relaxedEdges;
+        this.queuePushes = queuePushes;
+    }
+
+    public boolean isPathFound() {
+        return !path.isEmpty();
+    }
+    /**
+     * @return node ids of the path in the graph snapshot that was searched, so that edge
+     *         weights can be read without looking locations up; empty if unreachable
+     */
+    public int[] getNodes() {
+        return nodes;
+    }
+    /**
+     * @return ordered list of locations in path; empty if unreachable
+     */
+    public List<Location> getPath() {
+        return path;
+    }
+    /**
+     * @return path length in kilometers, or {@link Double#MAX_VALUE} if unreachable
+     */
+    public double getDistance() {
+        return distance;
+    }
+    /**
+     * @return number of nodes taken from the priority queue during the search
+     */
+    public int getSettledNodes() {
+        return settledNodes;
+    }
+    /**
+     * @return number of edges scanned from settled nodes
+     */
+    public long getRelaxedEdges() {
+        return relaxedEdges;
+    }
+    /**
+     * @return number of queue inserts and decrease-keys
+     */
+    public long getQueuePushes() {
+        return queuePushes;
+    }
+}
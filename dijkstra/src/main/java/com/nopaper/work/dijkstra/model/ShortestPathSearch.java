@@ -0,0 +1,224 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 13-Nov-2025 10:31:47 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Unidirectional point-to-point searches over a {@link CsrGraph} using a caller
+ * supplied {@link SearchContext}.
+ */
+final class ShortestPathSearch {
+
+    private ShortestPathSearch() {}
+
+    /**
+     * Runs A* with the given heuristic until the target is settled; with
+     * {@link Heuristic#NONE} this is Dijkstra's algorithm. With a consistent heuristic
+     * every node is settled at most once and with its final distance; a node whose
+     * distance still improves after it was settled is simply queued again.
+     * @return number of settled nodes
+     */
+    static int search(CsrGraph graph, SearchContext context, int startNode, int endNode,
+                      Heuristic heuristic) {
+        SearchQueue queue = context.getQueue();
+        int settled = 0;
+
+        context.update(startNode, 0, -1);
+        queue.insertOrDecrease(startNode, heuristic.estimate(startNode));
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+
+            if (current == endNode)
+                break;
+
+            double currentDist = context.getDistance(current);
+            context.addRelaxedEdges(graph.getEdgeEnd(current) - graph.getEdgeStart(current));
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int neighbor = graph.getTarget(edge);
+
+                double newDist = currentDist + graph.getWeight(edge);
+                if (newDist < context.getDistance(neighbor)) {
+                    context.update(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist + heuristic.estimate(neighbor));
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Like {@link #search}, but never enters a blocked node and does not leave the start
+     * node towards any of {@code blockedTargets}: the spur search of Yen's algorithm.
+     * Blocked nodes are given a distance of minus infinity up front, which no relaxation
+     * can improve on, so they are never queued.
+     * @return number of settled nodes
+     */
+    static int searchSpur(CsrGraph graph, SearchContext context, int startNode, int endNode,
+                          Heuristic heuristic, int[] blockedNodes, int[] blockedTargets) {
+        for (int node : blockedNodes)
+            context.update(node, Double.NEGATIVE_INFINITY, -1);
+
+        SearchQueue queue = context.getQueue();
+        int settled = 0;
+
+        context.update(startNode, 0, -1);
+        queue.insertOrDecrease(startNode, heuristic.estimate(startNode));
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+
+            if (current == endNode)
+                break;
+
+            double currentDist = context.getDistance(current);
+            context.addRelaxedEdges(graph.getEdgeEnd(current) - graph.getEdgeStart(current));
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int neighbor = graph.getTarget(edge);
+                if (current == startNode && contains(blockedTargets, neighbor))
+                    continue;
+
+                double newDist = currentDist + graph.getWeight(edge);
+                if (newDist < context.getDistance(neighbor)) {
+                    context.update(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist + heuristic.estimate(neighbor));
+                }
+            }
+        }
+        return settled;
+    }
+
+    private static boolean contains(int[] nodes, int node) {
+        for (int candidate : nodes) {
+            if (candidate == node)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the start node until every node within
+     * {@code maxDistance} is settled.
+     * @param settleOrder receives settled node ids in order of distance, so it must have
+     *                    room for every node of the graph; may be null
+     * @return number of settled nodes
+     */
+    static int searchAll(CsrGraph graph, SearchContext context, int startNode, double maxDistance,
+                         int[] settleOrder) {
+        return settleAll(graph, context, startNode, maxDistance,
+                         settleOrder != null ? new SettleOrder(settleOrder) : null);
+    }
+
+    /**
+     * Like {@link #searchAll(CsrGraph, SearchContext, int, double, int[])}, collecting the
+     * settled nodes into an array sized to the search space rather than to the graph.
+     * @return settled node ids in order of distance
+     */
+    static int[] searchAll(CsrGraph graph, SearchContext context, int startNode, double maxDistance) {
+        SettleOrder settleOrder = new SettleOrder(new int[64]);
+        int settled = settleAll(graph, context, startNode, maxDistance, settleOrder);
+        return Arrays.copyOf(settleOrder.nodes, settled);
+    }
+
+    private static int settleAll(CsrGraph graph, SearchContext context, int startNode, double maxDistance,
+                                 SettleOrder settleOrder) {
+        SearchQueue queue = context.getQueue();
+        int settled = 0;
+
+        context.update(startNode, 0, -1);
+        queue.insertOrDecrease(startNode, 0);
+
+        while (!queue.isEmpty() && queue.peekKey() <= maxDistance) {
+            int current = queue.poll();
+            if (settleOrder != null)
+                settleOrder.set(settled, current);
+            settled++;
+
+            double currentDist = context.getDistance(current);
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int neighbor = graph.getTarget(edge);
+
+                double newDist = currentDist + graph.getWeight(edge);
+                if (newDist < context.getDistance(neighbor)) {
+                    context.update(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+        return settled;
+    }
+
+    // Settled node ids, doubling the array when full; an array with room for every node never grows
+    private static final class SettleOrder {
+        int[] nodes;
+
+        SettleOrder(int[] nodes) {
+            this.nodes = nodes;
+        }
+
+        void set(int index, int node) {
+            if (index == nodes.length)
+                nodes = Arrays.copyOf(nodes, Math.max(1, index * 2));
+            nodes[index] = node;
+        }
+    }
+
+    /**
+     * Runs Dijkstra's algorithm from the start node until every marked target is settled,
+     * the one-to-many tree of a distance matrix row.
+     * @param targetCount number of distinct marked nodes
+     * @return number of settled nodes
+     */
+    static int searchTargets(CsrGraph graph, SearchContext context, int startNode, boolean[] isTarget,
+                             int targetCount) {
+        SearchQueue queue = context.getQueue();
+        int settled = 0;
+
+        context.update(startNode, 0, -1);
+        queue.insertOrDecrease(startNode, 0);
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            settled++;
+
+            if (isTarget[current] && --targetCount == 0)
+                break;
+
+            double currentDist = context.getDistance(current);
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int neighbor = graph.getTarget(edge);
+
+                double newDist = currentDist + graph.getWeight(edge);
+                if (newDist < context.getDistance(neighbor)) {
+                    context.update(neighbor, newDist, current);
+                    queue.insertOrDecrease(neighbor, newDist);
+                }
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Follows parent links back from the end node.
+     * @return node ids of the path in order; empty if unreachable
+     */
+    static int[] buildPath(SearchContext context, int endNode) {
+        if (!context.isReached(endNode))
+            return new int[0]; // Unreachable
+
+        int length = 0;
+        for (int current = endNode; current != -1; current = context.getParent(current))
+            length++;
+        int[] path = new int[length];
+        for (int current = endNode; current != -1; current = context.getParent(current))
+            path[--length] = current;
+        return path;
+    }
+}
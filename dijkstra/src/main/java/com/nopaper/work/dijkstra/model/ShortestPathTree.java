@@ -0,0 +1,107 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 25-Nov-2025 09:36:12 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Arrays;
+
+/**
+ * Result of a one-to-all or bounded-radius search: the settled nodes in order of
+ * increasing distance, with their distances and tree parents. Entry 0 is the source.
+ */
+public final class ShortestPathTree {
+
+    private final CsrGraph graph;
+    private final int[] nodes;
+    private final double[] distances;
+    private final int[] parents;
+
+    ShortestPathTree(CsrGraph graph, int[] nodes, double[] distances, int[] parents) {
+        this.graph = graph;
+        this.nodes = nodes;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    /**
+     * @return the graph whose node ids this tree uses
+     */
+    public CsrGraph getGraph() {
+        return graph;
+    }
+    public int getSource() {
+        return nodes[0];
+    }
+    /**
+     * @return number of settled nodes
+     */
+    public int size() {
+        return nodes.length;
+    }
+    public int getNode(int i) {
+        return nodes[i];
+    }
+    public double getDistance(int i) {
+        return distances[i];
+    }
+    /**
+     * @return tree parent node id of the i-th settled node, -1 for the source
+     */
+    public int getParent(int i) {
+        return parents[i];
+    }
+
+    /**
+     * @return distances indexed by node id, {@link Double#POSITIVE_INFINITY} for nodes
+     *         that were not settled
+     */
+    public double[] toDistanceArray() {
+        double[] all = new double[graph.getNodeCount()];
+        Arrays.fill(all, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < nodes.length; i++)
+            all[nodes[i]] = distances[i];
+        return all;
+    }
+
+    /**
+     * Convex hull of the settled nodes on the longitude/latitude plane, a coarse isochrone
+     * outline that is exact enough at city scale. Uses Andrew's monotone chain.
+     * @return node ids of the hull in counter-clockwise order
+     */
+    public int[] convexHull() {
+        Integer[] sorted = new Integer[nodes.length];
+        for (int i = 0; i < nodes.length; i++)
+            sorted[i] = nodes[i];
+        Arrays.sort(sorted, (a, b) -> graph.getLongitude(a) != graph.getLongitude(b)
+                ? Double.compare(graph.getLongitude(a), graph.getLongitude(b))
+                : Double.compare(graph.getLatitude(a), graph.getLatitude(b)));
+        if (sorted.length < 3)
+            return Arrays.stream(sorted).mapToInt(Integer::intValue).toArray();
+
+        int[] hull = new int[2 * sorted.length];
+        int size = 0;
+        // Lower hull left to right, then upper hull right to left
+        for (int i = 0; i < sorted.length; i++) {
+            while (size >= 2 && cross(hull[size - 2], hull[size - 1], sorted[i]) <= 0)
+                size--;
+            hull[size++] = sorted[i];
+        }
+        for (int i = sorted.length - 2, lower = size + 1; i >= 0; i--) {
+            while (size >= lower && cross(hull[size - 2], hull[size - 1], sorted[i]) <= 0)
+                size--;
+            hull[size++] = sorted[i];
+        }
+        // The last point repeats the first
+        return Arrays.copyOf(hull, size - 1);
+    }
+
+    private double cross(int o, int a, int b) {
+        double ox = graph.getLongitude(o);
+        double oy = graph.getLatitude(o);
+        return (graph.getLongitude(a) - ox) * (graph.getLatitude(b) - oy)
+             - (graph.getLatitude(a) - oy) * (graph.getLongitude(b) - ox);
+    }
+}
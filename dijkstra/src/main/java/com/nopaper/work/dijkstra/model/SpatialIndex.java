@@ -0,0 +1,171 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 02-Dec-2025 10:14:52 am
+ * @git
+ */
+package com.nopaper.work.dijkstra.model;
+
+/**
+ * Nearest-node lookup over the coordinates of a {@link CsrGraph}: a k-d tree of the nodes
+ * as points on the unit sphere.
+ * <p>
+ * Straight-line distance between unit vectors grows with the great-circle distance, so
+ * the nearest point in 3D is the nearest node on the globe, and the tree needs no special
+ * cases at the poles or the antimeridian. The tree is implicit: nodes are reordered so
+ * that every range has its splitting node in the middle, with the nodes before it on the
+ * lower side. It is three primitive arrays, built in {@code O(n log n)}; queries take
+ * {@code O(log n)} on average.
+ */
+final class SpatialIndex {
+
+    // Ranges up to this size are scanned instead of split
+    private static final int LEAF_SIZE = 8;
+
+    // Node ids, coordinates as x, y, z triples and splitting axes, all in tree order
+    private final int[] nodes;
+    private final double[] points;
+    private final byte[] axes;
+
+    SpatialIndex(CsrGraph graph) {
+        int nodeCount = graph.getNodeCount();
+        nodes = new int[nodeCount];
+        points = new double[3 * nodeCount];
+        axes = new byte[nodeCount];
+        for (int v = 0; v < nodeCount; v++) {
+            nodes[v] = v;
+            toUnitVector(graph.getLatitude(v), graph.getLongitude(v), points, 3 * v);
+        }
+        build(0, nodeCount);
+    }
+
+    /**
+     * @return id of the node nearest to the coordinates, or -1 if the graph has no nodes
+     */
+    int nearest(double latitude, double longitude) {
+        double[] query = new double[3];
+        toUnitVector(latitude, longitude, query, 0);
+        Nearest nearest = new Nearest(query);
+        nearest.search(0, nodes.length);
+        return nearest.node;
+    }
+
+    // Splits on the axis of largest extent, so clustered coordinates still give a balanced tree
+    private void build(int from, int to) {
+        if (to - from <= LEAF_SIZE)
+            return;
+
+        int axis = widestAxis(from, to);
+        int middle = (from + to) >>> 1;
+        select(from, to - 1, middle, axis);
+        axes[middle] = (byte) axis;
+        build(from, middle);
+        build(middle + 1, to);
+    }
+
+    private int widestAxis(int from, int to) {
+        int widest = 0;
+        double widestExtent = -1;
+        for (int axis = 0; axis < 3; axis++) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                double value = points[3 * i + axis];
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            if (max - min > widestExtent) {
+                widest = axis;
+                widestExtent = max - min;
+            }
+        }
+        return widest;
+    }
+
+    // Quickselect: afterwards the k-th point of [left, right] is in place on the axis
+    private void select(int left, int right, int k, int axis) {
+        while (left < right) {
+            double pivot = points[3 * ((left + right) >>> 1) + axis];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (points[3 * i + axis] < pivot)
+                    i++;
+                while (points[3 * j + axis] > pivot)
+                    j--;
+                if (i <= j)
+                    swap(i++, j--);
+            }
+            if (k <= j)
+                right = j;
+            else if (k >= i)
+                left = i;
+            else
+                return;
+        }
+    }
+
+    private void swap(int i, int j) {
+        int node = nodes[i];
+        nodes[i] = nodes[j];
+        nodes[j] = node;
+        for (int axis = 0; axis < 3; axis++) {
+            double value = points[3 * i + axis];
+            points[3 * i + axis] = points[3 * j + axis];
+            points[3 * j + axis] = value;
+        }
+    }
+
+    private static void toUnitVector(double latitude, double longitude, double[] target, int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        target[offset] = cosPhi * Math.cos(lambda);
+        target[offset + 1] = cosPhi * Math.sin(lambda);
+        target[offset + 2] = Math.sin(phi);
+    }
+
+    // State of one query: the best node so far and its squared straight-line distance
+    private final class Nearest {
+        private final double[] query;
+        private int node = -1;
+        private double distance = Double.POSITIVE_INFINITY;
+
+        Nearest(double[] query) {
+            this.query = query;
+        }
+
+        void search(int from, int to) {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++)
+                    visit(i);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            visit(middle);
+            double offset = query[axes[middle]] - points[3 * middle + axes[middle]];
+            // Near side first; the far side only if the splitting plane is closer than the best
+            if (offset < 0) {
+                search(from, middle);
+                if (offset * offset < distance)
+                    search(middle + 1, to);
+            } else {
+                search(middle + 1, to);
+                if (offset * offset < distance)
+                    search(from, middle);
+            }
+        }
+
+        private void visit(int i) {
+            double dx = points[3 * i] - query[0];
+            double dy = points[3 * i + 1] - query[1];
+            double dz = points[3 * i + 2] - query[2];
+            double candidate = dx * dx + dy * dy + dz * dz;
+            if (candidate < distance) {
+                distance = candidate;
+                node = nodes[i];
+            }
+        }
+    }
+}
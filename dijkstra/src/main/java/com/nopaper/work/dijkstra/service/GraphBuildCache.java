@@ -0,0 +1,193 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 27-Nov-2025 10:21:47 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.model.GeoDistance;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.Location;
+
+/**
+ * Content-addressed cache of graphs built from request payloads.
+ * <p>
+ * Clients often post the same locations and connections with different start and end
+ * indices. The payload is hashed (SHA-256) in one streaming pass over both lists, and a
+ * graph built earlier from an identical payload is reused, skipping conversion, edge
+ * weighting and compilation. The hash doubles as the graph ID, so path results on
+ * cached graphs are cached like those of registered graphs.
+ * <p>
+ * Entries are evicted least recently used first once their estimated size exceeds
+ * {@code api.graph-cache.max-bytes}; 0 disables the cache. The estimate is taken when a
+ * graph is built and does not include a hierarchy or landmarks built later.
+ */
+@Component
+public class GraphBuildCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphBuildCache.class);
+
+    // Rough heap cost of a location (builder entry, CSR arrays, index) and of a connection
+    // (builder edge and both CSR directions), excluding the name
+    private static final long BYTES_PER_LOCATION = 200;
+    private static final long BYTES_PER_CONNECTION = 100;
+
+    private final long maxBytes;
+    private final GeoDistance.Mode distanceMode;
+    private final PathMetrics metrics;
+    private final Map<String, CachedGraph> graphs = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record CachedGraph(GraphRegistry.RegisteredGraph entry, long bytes) {}
+
+    public GraphBuildCache(@Value("${api.graph-cache.max-bytes:268435456}") long maxBytes,
+                           @Value("${api.graph.distance-mode:HAVERSINE}") GeoDistance.Mode distanceMode,
+                           PathMetrics metrics) {
+        this.maxBytes = maxBytes;
+        this.distanceMode = distanceMode;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the graph of an identical earlier payload, or builds and caches it
+     *
+     * @throws IllegalArgumentException if a connection refers to an unknown location
+     */
+    public GraphRegistry.RegisteredGraph getOrBuild(List<LocationDTO> locations,
+                                                    List<PathRequest.Connection> connections) {
+        String hash = hash(locations, connections);
+
+        synchronized (this) {
+            CachedGraph cached = graphs.get(hash);
+            if (cached != null) {
+                hits.increment();
+                return cached.entry();
+            }
+        }
+        misses.increment();
+
+        // Built outside the lock; concurrent misses of one payload may build it twice
+        long start = System.nanoTime();
+        List<Location> converted = PathFinderService.convertToLocations(locations);
+        long converting = System.nanoTime() - start;
+        GeographicGraph graph = PathFinderService.buildGraph(converted, connections, distanceMode);
+        GraphRegistry.RegisteredGraph entry = GraphRegistry.RegisteredGraph.of(hash, graph, converted);
+        metrics.recordConversion(converting);
+        metrics.recordGraphBuild(System.nanoTime() - start - converting);
+
+        long bytes = estimateBytes(locations, connections.size());
+        if (bytes <= maxBytes) {
+            put(hash, new CachedGraph(entry, bytes));
+        }
+        return entry;
+    }
+
+    private synchronized void put(String hash, CachedGraph graph) {
+        CachedGraph previous = graphs.put(hash, graph);
+        totalBytes += graph.bytes() - (previous != null ? previous.bytes() : 0);
+
+        Iterator<CachedGraph> eldest = graphs.values().iterator();
+        while (totalBytes > maxBytes) {
+            totalBytes -= eldest.next().bytes();
+            eldest.remove();
+            evictions.increment();
+        }
+        logger.debug("Cached graph {} ({} bytes, {} bytes in total)", hash, graph.bytes(), totalBytes);
+    }
+
+    public synchronized void clear() {
+        graphs.clear();
+        totalBytes = 0;
+    }
+
+    public synchronized QueryCache.Stats getStats() {
+        return new QueryCache.Stats(graphs.size(), hits.sum(), misses.sum(), evictions.sum(), 0);
+    }
+
+    /**
+     * SHA-256 over names, coordinates and connections, fed through a small buffer so the
+     * payload is never serialized as a whole. Order matters, since indices refer to it.
+     */
+    static String hash(List<LocationDTO> locations, List<PathRequest.Connection> connections) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        buffer.putInt(locations.size());
+        for (LocationDTO location : locations) {
+            byte[] name = location.getName() != null
+                    ? location.getName().getBytes(StandardCharsets.UTF_8) : new byte[0];
+            if (buffer.remaining() < 20 + name.length) {
+                flush(digest, buffer);
+            }
+            // Length-prefixed, so that names cannot run into each other
+            buffer.putInt(name.length);
+            buffer.putDouble(valueOf(location.getLatitude()));
+            buffer.putDouble(valueOf(location.getLongitude()));
+            if (name.length <= buffer.remaining()) {
+                buffer.put(name);
+            } else {
+                flush(digest, buffer);
+                digest.update(name);
+            }
+        }
+
+        if (buffer.remaining() < 4) {
+            flush(digest, buffer);
+        }
+        buffer.putInt(connections.size());
+        for (PathRequest.Connection connection : connections) {
+            if (buffer.remaining() < 8) {
+                flush(digest, buffer);
+            }
+            buffer.putInt(connection.getFrom() != null ? connection.getFrom() : -1);
+            buffer.putInt(connection.getTo() != null ? connection.getTo() : -1);
+        }
+        flush(digest, buffer);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buffer) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+    }
+
+    private static double valueOf(Double coordinate) {
+        return coordinate != null ? coordinate : Double.NaN;
+    }
+
+    private static long estimateBytes(List<LocationDTO> locations, int connectionCount) {
+        long bytes = (long) connectionCount * BYTES_PER_CONNECTION;
+        for (LocationDTO location : locations) {
+            bytes += BYTES_PER_LOCATION + (location.getName() != null ? 2L * location.getName().length() : 0);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 23-Nov-2025 02:05:37 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nopaper.work.dijkstra.dto.GraphRequest;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.GraphFile;
+import com.nopaper.work.dijkstra.model.Location;
+
+/**
+ * Converts a graph in the JSON format of {@code POST /api/v1/path/graphs} into a
+ * {@link GraphFile}, building the requested preprocessing on the way.
+ * <p>
+ * Run offline, e.g.
+ * <pre>
+ * java -cp target/classes:$(dependency classpath) \
+ *      com.nopaper.work.dijkstra.service.GraphFileConverter graph.json graph.djg
+ * </pre>
+ * The {@code preprocess} list of the JSON selects the preprocessing to store.
+ */
+public class GraphFileConverter {
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: GraphFileConverter <graph.json> <graph.djg>");
+            System.exit(2);
+        }
+        
+        ObjectMapper mapper = JsonMapper.builder()
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+        GraphRequest request = mapper.readValue(Path.of(args[0]).toFile(), GraphRequest.class);
+        
+        long start = System.nanoTime();
+        GeographicGraph graph = convert(request);
+        Path output = Path.of(args[1]);
+        GraphFile.write(output, graph);
+        
+        System.out.printf("Wrote %s: %,d nodes, %,d directed edges in %d ms%n", output,
+                          graph.getCsrGraph().getNodeCount(), graph.getCsrGraph().getEdgeCount(),
+                          (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Builds the graph of an upload request and its requested preprocessing
+     */
+    static GeographicGraph convert(GraphRequest request) {
+        List<Location> locations = PathFinderService.convertToLocations(request.getLocations());
+        GeographicGraph graph = PathFinderService.buildGraph(locations, request.getConnections());
+        PathFinderService.preprocess(graph, request.getPreprocess());
+        return graph;
+    }
+}
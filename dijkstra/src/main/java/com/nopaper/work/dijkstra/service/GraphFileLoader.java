@@ -0,0 +1,63 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 23-Nov-2025 01:18:44 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.GraphFile;
+
+/**
+ * Maps the graph files listed in {@code api.registry.graph-files} at startup and
+ * registers each under its file name without extension, e.g. {@code india.djg} as
+ * graph ID {@code india}. A file that cannot be opened fails the startup.
+ */
+@Component
+public class GraphFileLoader implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GraphFileLoader.class);
+    
+    @Autowired
+    private GraphRegistry graphRegistry;
+    
+    @Value("${api.registry.graph-files:}")
+    private List<String> graphFiles;
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        for (String file : graphFiles) {
+            if (file.isBlank()) {
+                continue;
+            }
+            
+            Path path = Path.of(file.strip());
+            long start = System.nanoTime();
+            GeographicGraph graph = GraphFile.open(path);
+            String graphId = graphId(path);
+            graphRegistry.register(graphId, graph);
+            
+            logger.info("Mapped graph file {} as {} in {} ms", path, graphId,
+                        (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+    
+    static String graphId(Path path) {
+        String name = path.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+}
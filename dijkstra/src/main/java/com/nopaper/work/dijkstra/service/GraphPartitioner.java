@@ -0,0 +1,77 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 04:31:52 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nopaper.work.dijkstra.dto.GraphRequest;
+import com.nopaper.work.dijkstra.model.CsrGraph;
+import com.nopaper.work.dijkstra.model.GraphFile;
+import com.nopaper.work.dijkstra.model.GraphPartition;
+import com.nopaper.work.dijkstra.model.PartitionedGraph;
+
+/**
+ * Splits a graph, in the JSON format of {@code POST /api/v1/path/graphs} or a
+ * {@link GraphFile}, into cells and shards for {@link ShardRouter}.
+ * <p>
+ * Run offline, e.g. for three shards of cells of at most 4096 nodes
+ * <pre>
+ * java -cp target/classes:$(dependency classpath) \
+ *      com.nopaper.work.dijkstra.service.GraphPartitioner graph.djg shards/ 3 4096
+ * </pre>
+ * and start one instance per shard on the same directory, e.g. on one machine
+ * <pre>
+ * java -jar dijkstra.jar --server.port=808<i>N</i> --api.shard.dir=shards --api.shard.index=<i>N</i> \
+ *      --api.shard.peers=http://localhost:8080/api,http://localhost:8081/api,http://localhost:8082/api
+ * </pre>
+ * Nodes are renumbered by the partition, which keeps the original ids; paths are
+ * requested and returned by the node ids of the input graph.
+ */
+public class GraphPartitioner {
+    
+    private static final int DEFAULT_CELL_SIZE = 4096;
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Usage: GraphPartitioner <graph.json|graph.djg> <output-dir> <shards> [max-cell-size]");
+            System.exit(2);
+        }
+        
+        long start = System.nanoTime();
+        CsrGraph graph = read(Path.of(args[0]));
+        int shardCount = Integer.parseInt(args[2]);
+        int maxCellSize = args.length == 4 ? Integer.parseInt(args[3]) : DEFAULT_CELL_SIZE;
+        
+        PartitionedGraph partitioned = PartitionedGraph.build(graph, maxCellSize, shardCount);
+        Path output = Path.of(args[1]);
+        partitioned.write(output);
+        
+        GraphPartition partition = partitioned.getPartition();
+        System.out.printf("Wrote %s: %,d nodes in %,d cells over %d shards, overlay of %,d nodes and "
+                          + "%,d directed edges in %d ms%n", output, partition.getNodeCount(),
+                          partition.getCellCount(), partition.getShardCount(), partition.getOverlayNodeCount(),
+                          partitioned.getOverlay().getEdgeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private static CsrGraph read(Path input) throws IOException {
+        if (input.getFileName().toString().endsWith(".djg")) {
+            return GraphFile.open(input).getCsrGraph();
+        }
+        
+        ObjectMapper mapper = JsonMapper.builder()
+            .enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+        GraphRequest request = mapper.readValue(input.toFile(), GraphRequest.class);
+        return GraphFileConverter.convert(request).getCsrGraph();
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 22-Nov-2025 10:38:19 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.dijkstra.model.CsrGraph;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.Location;
+
+/**
+ * In-memory registry of uploaded graphs, keyed by a generated graph ID.
+ * <p>
+ * A registered graph is built once and then shared by all queries against it; the
+ * {@link GeographicGraph} and its compiled snapshots are safe for concurrent searches.
+ */
+@Component
+public class GraphRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(GraphRegistry.class);
+    
+    private final Map<String, RegisteredGraph> graphs = new ConcurrentHashMap<>();
+    private final int maxGraphs;
+    
+    public GraphRegistry(@Value("${api.registry.max-graphs:100}") int maxGraphs) {
+        this.maxGraphs = maxGraphs;
+    }
+    
+    /**
+     * A graph together with the node id of every location index a query may use. For an
+     * uploaded graph these are the upload indices, for a graph file the node ids themselves
+     * ({@code nodeIds} is null).
+     */
+    public record RegisteredGraph(String id, GeographicGraph graph, int[] nodeIds, Instant createdAt) {
+        
+        public int locationCount() {
+            return nodeIds != null ? nodeIds.length : graph.getCsrGraph().getNodeCount();
+        }
+        
+        public int nodeOf(int index) {
+            return nodeIds != null ? nodeIds[index] : index;
+        }
+
+        /**
+         * Inverse of {@link #nodeOf(int)}: the first location index that resolved to the node.
+         * Node ids are assigned in upload order, so this is the node id itself unless the
+         * upload repeated a location, in which case the index lies at or after it.
+         */
+        public int indexOf(int node) {
+            if (nodeIds == null || nodeIds.length == graph.getCsrGraph().getNodeCount()) {
+                return node;
+            }
+            for (int i = node; i < nodeIds.length; i++) {
+                if (nodeIds[i] == node) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        
+        /**
+         * Resolves the uploaded locations to node ids once
+         */
+        static RegisteredGraph of(String id, GeographicGraph graph, List<Location> locations) {
+            CsrGraph compiled = graph.getCsrGraph();
+            int[] nodeIds = new int[locations.size()];
+            for (int i = 0; i < nodeIds.length; i++) {
+                nodeIds[i] = compiled.indexOf(locations.get(i));
+            }
+            return new RegisteredGraph(id, graph, nodeIds, Instant.now());
+        }
+    }
+    
+    /**
+     * Stores a built graph under a new ID, resolving the uploaded locations to node ids once
+     * 
+     * @throws IllegalStateException if the registry is full
+     */
+    public RegisteredGraph register(GeographicGraph graph, List<Location> locations) {
+        return register(RegisteredGraph.of(UUID.randomUUID().toString(), graph, locations));
+    }
+    
+    /**
+     * Stores a built graph under a new ID whose location indices are already resolved
+     * 
+     * @throws IllegalStateException if the registry is full
+     */
+    public RegisteredGraph register(GeographicGraph graph, int[] nodeIds) {
+        return register(new RegisteredGraph(UUID.randomUUID().toString(), graph, nodeIds, Instant.now()));
+    }
+    
+    /**
+     * Stores a graph opened from a file under the given ID, replacing any graph with that ID
+     * 
+     * @throws IllegalStateException if the registry is full
+     */
+    public RegisteredGraph register(String graphId, GeographicGraph graph) {
+        return register(new RegisteredGraph(graphId, graph, null, Instant.now()));
+    }
+    
+    private RegisteredGraph register(RegisteredGraph entry) {
+        // Size check and insert are not atomic; the limit may be exceeded by concurrent uploads
+        if (graphs.size() >= maxGraphs && !graphs.containsKey(entry.id())) {
+            throw new IllegalStateException("Graph registry is full (" + maxGraphs + " graphs)");
+        }
+        
+        graphs.put(entry.id(), entry);
+        logger.info("Registered graph {} with {} locations", entry.id(), entry.locationCount());
+        return entry;
+    }
+    
+    public Optional<RegisteredGraph> get(String graphId) {
+        return Optional.ofNullable(graphs.get(graphId));
+    }
+    
+    /**
+     * @return true if a graph was removed
+     */
+    public boolean remove(String graphId) {
+        boolean removed = graphs.remove(graphId) != null;
+        if (removed) {
+            logger.info("Removed graph {}", graphId);
+        }
+        return removed;
+    }
+    
+    public int size() {
+        return graphs.size();
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 30-Nov-2025 10:42:18 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nopaper.work.dijkstra.model.CsrGraph;
+import com.nopaper.work.dijkstra.model.GeoDistance;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.Location;
+
+/**
+ * Reads a {@code PathRequest} or {@code GraphRequest} body token by token and builds its
+ * graph while parsing.
+ * <p>
+ * Locations and connections go straight into a {@link CsrGraph.Builder}; no
+ * {@code LocationDTO}, boxed coordinate or connection object is created, so the peak heap
+ * of a large upload is the builder's primitive arrays rather than the parsed DTO tree plus
+ * those arrays. The constraints of the DTOs are checked as values are read. Connections
+ * are collected in int arrays and added as one batch at the end, which also lets them come
+ * before the locations. All other fields are small and collected into a tree for regular
+ * data binding.
+ */
+final class GraphStreamReader {
+
+    /**
+     * A graph read from a request body
+     *
+     * @param nodeIds node id of every location index of the request
+     * @param fields all request fields other than locations and connections
+     */
+    record StreamedGraph(GeographicGraph graph, int[] nodeIds, ObjectNode fields) {}
+
+    private final ObjectMapper objectMapper;
+    private final CsrGraph.Builder builder;
+
+    private int[] nodeIds = new int[256];
+    private int locationCount;
+    private boolean locationsRead;
+
+    // Connection endpoints as location indices, resolved to node ids once all are read
+    private int[] from = new int[256];
+    private int[] to = new int[256];
+    private int connectionCount;
+
+    private GraphStreamReader(ObjectMapper objectMapper, GeoDistance.Mode distanceMode) {
+        this.objectMapper = objectMapper;
+        this.builder = CsrGraph.builder().distanceMode(distanceMode);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the body violates the request constraints
+     * @throws IOException if the body is not valid JSON
+     */
+    static StreamedGraph read(ObjectMapper objectMapper, InputStream body, GeoDistance.Mode distanceMode)
+            throws IOException {
+        return new GraphStreamReader(objectMapper, distanceMode).read(body);
+    }
+
+    private StreamedGraph read(InputStream body) throws IOException {
+        ObjectNode fields = objectMapper.createObjectNode();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "locations" -> readLocations(parser);
+                    case "connections" -> readConnections(parser);
+                    default -> fields.set(field, objectMapper.readTree(parser));
+                }
+            }
+        }
+
+        if (locationCount == 0) {
+            throw new IllegalArgumentException("Locations list cannot be empty");
+        }
+        if (locationCount < 2) {
+            throw new IllegalArgumentException("At least 2 locations are required");
+        }
+        if (connectionCount == 0) {
+            throw new IllegalArgumentException("Connections list cannot be empty");
+        }
+        for (int i = 0; i < connectionCount; i++) {
+            checkConnection(i, from[i], to[i]);
+            from[i] = nodeIds[from[i]];
+            to[i] = nodeIds[to[i]];
+        }
+        builder.addEdges(Arrays.copyOf(from, connectionCount), Arrays.copyOf(to, connectionCount));
+        from = null;
+        to = null;
+
+        GeographicGraph graph = GeographicGraph.of(builder.build());
+        return new StreamedGraph(graph, Arrays.copyOf(nodeIds, locationCount), fields);
+    }
+
+    private void readLocations(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY || locationsRead) {
+            throw new IllegalArgumentException("Locations must be a single array");
+        }
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            int index = locationCount;
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Location " + index + ": must be an object");
+            }
+
+            String name = null;
+            double latitude = Double.NaN;
+            double longitude = Double.NaN;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name" -> name = value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+                    case "latitude" -> latitude = coordinate(parser, index, "Latitude");
+                    case "longitude" -> longitude = coordinate(parser, index, "Longitude");
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Location " + index + ": Location name is required");
+            }
+            checkRange(latitude, 90, index, "Latitude");
+            checkRange(longitude, 180, index, "Longitude");
+
+            if (index == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, index * 2);
+            }
+            nodeIds[index] = builder.addLocation(new Location(name, latitude, longitude));
+            locationCount++;
+        }
+        locationsRead = true;
+    }
+
+    private void readConnections(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY || connectionCount > 0) {
+            throw new IllegalArgumentException("Connections must be a single array");
+        }
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            int index = connectionCount;
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Connection " + index + ": must be an object");
+            }
+
+            int source = -1;
+            int destination = -1;
+            boolean hasFrom = false;
+            boolean hasTo = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("from") && value == JsonToken.VALUE_NUMBER_INT) {
+                    source = parser.getIntValue();
+                    hasFrom = true;
+                } else if (field.equals("to") && value == JsonToken.VALUE_NUMBER_INT) {
+                    destination = parser.getIntValue();
+                    hasTo = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!hasFrom || !hasTo) {
+                throw new IllegalArgumentException("Connection " + index + ": from and to are required");
+            }
+
+            // Fail early when the locations are already known
+            if (locationsRead) {
+                checkConnection(index, source, destination);
+            }
+            if (index == from.length) {
+                from = Arrays.copyOf(from, index * 2);
+                to = Arrays.copyOf(to, index * 2);
+            }
+            from[index] = source;
+            to[index] = destination;
+            connectionCount++;
+        }
+    }
+
+    private void checkConnection(int index, int source, int destination) {
+        if (source < 0 || source >= locationCount || destination < 0 || destination >= locationCount) {
+            throw new IllegalArgumentException("Connection " + index + ": Invalid connection indices");
+        }
+    }
+
+    private static double coordinate(JsonParser parser, int index, String label) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return Double.NaN;
+        }
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new IllegalArgumentException("Location " + index + ": " + label + " must be a number");
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static void checkRange(double value, double bound, int index, String label) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Location " + index + ": " + label + " is required");
+        }
+        if (value < -bound || value > bound) {
+            throw new IllegalArgumentException("Location " + index + ": " + label + " must be between "
+                                               + (int) -bound + " and " + (int) bound);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 26-Nov-2025 11:40:06 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+/**
+ * Cache key of a point-to-point query. The graph version changes whenever the graph
+ * does, so results of an older graph are never returned and simply age out.
+ * 
+ * @param graphKey ID of the graph the query ran against
+ * @param graphVersion {@link com.nopaper.work.dijkstra.model.GeographicGraph#getVersion()} at query time
+ */
+public record PathCacheKey(String graphKey, long graphVersion, int startNode, int endNode,
+                           SearchAlgorithm algorithm) {}
@@ -6,9 +6,15 @@
  */
 package com.nopaper.work.dijkstra.service;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 
@@ -16,13 +22,42 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.dto.BoundaryResponse;
+import com.nopaper.work.dijkstra.dto.EdgeUpdateRequest;
+import com.nopaper.work.dijkstra.dto.GraphPathRequest;
+import com.nopaper.work.dijkstra.dto.GraphRequest;
+import com.nopaper.work.dijkstra.dto.GraphResponse;
+import com.nopaper.work.dijkstra.dto.IsochroneRequest;
+import com.nopaper.work.dijkstra.dto.IsochroneResponse;
 import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.MatrixRequest;
+import com.nopaper.work.dijkstra.dto.MatrixResponse;
+import com.nopaper.work.dijkstra.dto.NearestRequest;
+import com.nopaper.work.dijkstra.dto.NearestResponse;
 import com.nopaper.work.dijkstra.dto.PathRequest;
 import com.nopaper.work.dijkstra.dto.PathResponse;
+import com.nopaper.work.dijkstra.dto.PointDTO;
+import com.nopaper.work.dijkstra.model.CsrGraph;
+import com.nopaper.work.dijkstra.model.GeoDistance;
 import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.GraphPartition;
+import com.nopaper.work.dijkstra.model.GraphShard;
 import com.nopaper.work.dijkstra.model.Location;
+import com.nopaper.work.dijkstra.model.RoutePath;
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+import com.nopaper.work.dijkstra.model.SearchQueueType;
+import com.nopaper.work.dijkstra.model.SearchResult;
+import com.nopaper.work.dijkstra.model.ShortestPathTree;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 /**
  * Service class for handling path finding operations using Dijkstra's algorithm
@@ -33,6 +68,45 @@ public class PathFinderService {
     private static final Logger logger = LoggerFactory.getLogger(PathFinderService.class);
     private static final double KM_TO_MILES = 0.621371;
     
+    // Checked by GraphStreamReader while the graph is built, so absent from the bound request
+    private static final Set<String> STREAMED_FIELDS = Set.of("locations", "connections");
+    
+    @Autowired
+    private GraphRegistry graphRegistry;
+    
+    @Autowired
+    private GraphBuildCache graphBuildCache;
+    
+    @Autowired
+    private QueryCache<PathCacheKey, SearchResult> pathCache;
+    
+    @Autowired
+    private PathMetrics metrics;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private ShardRouter shardRouter;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${api.matrix.max-cells:1000000}")
+    private long maxMatrixCells;
+    
+    @Value("${api.routes.max-alternatives:10}")
+    private int maxAlternatives;
+    
+    @Value("${api.routes.max-waypoints:100}")
+    private int maxWaypoints;
+    
+    @Value("${api.nearest.max-points:100000}")
+    private int maxNearestPoints;
+    
+    @Value("${api.graph.distance-mode:HAVERSINE}")
+    private GeoDistance.Mode distanceMode;
+    
     /**
      * Finds the shortest path between two locations from a set of connected locations
      * 
@@ -46,62 +120,695 @@ public class PathFinderService {
         PathResponse response = new PathResponse();
         
         try {
-            // Validate indices
-            validateIndices(request);
+            // Build graph, or reuse the one of an identical payload
+            long start = System.nanoTime();
+            GraphRegistry.RegisteredGraph entry =
+                graphBuildCache.getOrBuild(request.getLocations(), request.getConnections());
+            long graphNanos = System.nanoTime() - start;
             
-            // Convert DTOs to domain objects
+            int startNode = endpoint(entry, request.getStartIndex(), request.getStart(), "Start");
+            int endNode = endpoint(entry, request.getEndIndex(), request.getEnd(), "End");
+            int[] stops = stops(entry, startNode, request.getWaypointIndices(), endNode);
+            search(entry, stops, request.getAlgorithm(),
+                   Boolean.TRUE.equals(request.getIncludeStatistics()),
+                   Boolean.TRUE.equals(request.getCompact()), alternativeCount(request.getAlternatives()),
+                   response);
+            if (response.getStatistics() != null) {
+                response.getStatistics().setGraphMs(toMillis(graphNanos));
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error processing path request", e);
+            response.setPathFound(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Finds the shortest path in a {@link PathRequest} body that is parsed while its graph
+     * is built, for payloads too large to bind to DTOs first
+     * 
+     * @param body JSON PathRequest
+     * @return PathResponse with the shortest path and distance information
+     */
+    public PathResponse findShortestPath(InputStream body) {
+        PathResponse response = new PathResponse();
+        
+        try {
+            long start = System.nanoTime();
+            GraphStreamReader.StreamedGraph streamed = GraphStreamReader.read(objectMapper, body, distanceMode);
+            long graphNanos = System.nanoTime() - start;
+            metrics.recordGraphBuild(graphNanos);
+            PathRequest request = bind(streamed.fields(), PathRequest.class);
+            logger.info("Processing streamed path finding request with {} locations",
+                        streamed.nodeIds().length);
+            
+            // A streamed graph is not shared, so it has no ID and its results are not cached
+            GraphRegistry.RegisteredGraph entry =
+                new GraphRegistry.RegisteredGraph(null, streamed.graph(), streamed.nodeIds(), Instant.now());
+            int startNode = endpoint(entry, request.getStartIndex(), request.getStart(), "Start");
+            int endNode = endpoint(entry, request.getEndIndex(), request.getEnd(), "End");
+            int[] stops = stops(entry, startNode, request.getWaypointIndices(), endNode);
+            search(entry, stops, request.getAlgorithm(),
+                   Boolean.TRUE.equals(request.getIncludeStatistics()),
+                   Boolean.TRUE.equals(request.getCompact()), alternativeCount(request.getAlternatives()),
+                   response);
+            if (response.getStatistics() != null) {
+                response.getStatistics().setGraphMs(toMillis(graphNanos));
+            }
+            
+        } catch (Exception e) {
+            logger.error("Error processing streamed path request", e);
+            response.setPathFound(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Builds a graph once and stores it in the registry for later queries
+     * 
+     * @param request GraphRequest containing locations, connections and optional preprocessing
+     * @return GraphResponse with the graph ID to use in queries
+     */
+    public GraphResponse registerGraph(GraphRequest request) {
+        logger.info("Processing graph upload with {} locations", request.getLocations().size());
+        
+        GraphResponse response = new GraphResponse();
+        
+        try {
+            long start = System.nanoTime();
             List<Location> locations = convertToLocations(request.getLocations());
+            long converting = System.nanoTime() - start;
+            GeographicGraph graph = buildGraph(locations, request.getConnections(), distanceMode);
+            graph.getCsrGraph();
+            metrics.recordConversion(converting);
+            metrics.recordGraphBuild(System.nanoTime() - start - converting);
+            
+            preprocess(graph, request.getPreprocess());
             
-            // Build graph
-            GeographicGraph graph = buildGraph(locations, request.getConnections());
+            GraphRegistry.RegisteredGraph entry = graphRegistry.register(graph, locations);
+            response = describe(entry);
+            response.setMessage("Graph registered successfully");
+            
+        } catch (Exception e) {
+            logger.error("Error processing graph upload", e);
+            response.setRegistered(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Registers the graph of a {@link GraphRequest} body that is parsed while the graph is
+     * built, for payloads too large to bind to DTOs first
+     * 
+     * @param body JSON GraphRequest
+     * @return GraphResponse with the graph ID to use in queries
+     */
+    public GraphResponse registerGraph(InputStream body) {
+        GraphResponse response = new GraphResponse();
+        
+        try {
+            long start = System.nanoTime();
+            GraphStreamReader.StreamedGraph streamed = GraphStreamReader.read(objectMapper, body, distanceMode);
+            metrics.recordGraphBuild(System.nanoTime() - start);
+            GraphRequest request = bind(streamed.fields(), GraphRequest.class);
+            logger.info("Processing streamed graph upload with {} locations", streamed.nodeIds().length);
             
-            // Find shortest path
-            Location start = locations.get(request.getStartIndex());
-            Location end = locations.get(request.getEndIndex());
+            preprocess(streamed.graph(), request.getPreprocess());
             
-            logger.debug("Finding path from {} to {}", start.getName(), end.getName());
+            GraphRegistry.RegisteredGraph entry = graphRegistry.register(streamed.graph(), streamed.nodeIds());
+            response = describe(entry);
+            response.setMessage("Graph registered successfully");
             
-            List<Location> shortestPath = graph.findShortestPath(start, end);
+        } catch (Exception e) {
+            logger.error("Error processing streamed graph upload", e);
+            response.setRegistered(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Binds the fields of a streamed request and applies the same constraints as the
+     * {@code @Valid} endpoints, except those on the locations and connections
+     */
+    private <T> T bind(JsonNode fields, Class<T> type) throws JsonProcessingException {
+        T request = objectMapper.treeToValue(fields, type);
+        String violations = validator.validate(request).stream()
+            .filter(violation -> !STREAMED_FIELDS.contains(rootProperty(violation)))
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations);
+        }
+        return request;
+    }
+    
+    private static String rootProperty(ConstraintViolation<?> violation) {
+        return violation.getPropertyPath().iterator().next().getName();
+    }
+    
+    /**
+     * Compiles the graph and builds the preprocessing of the given algorithms, so that the
+     * first query does not pay for it
+     */
+    static void preprocess(GeographicGraph graph, List<SearchAlgorithm> algorithms) {
+        graph.getCsrGraph();
+        if (algorithms == null) {
+            return;
+        }
+        if (algorithms.contains(SearchAlgorithm.CONTRACTION_HIERARCHIES)) {
+            graph.getContractionHierarchy();
+        }
+        if (algorithms.contains(SearchAlgorithm.ALT)) {
+            graph.getLandmarkIndex();
+        }
+    }
+    
+    /**
+     * Describes a registered graph
+     * 
+     * @param graphId ID returned by {@link #registerGraph(GraphRequest)}
+     * @return GraphResponse; not registered if the ID is unknown
+     */
+    public GraphResponse getGraph(String graphId) {
+        return graphRegistry.get(graphId)
+            .map(this::describe)
+            .orElseGet(() -> graphNotFound(graphId));
+    }
+    
+    /**
+     * Removes a graph from the registry
+     * 
+     * @return true if the graph existed
+     */
+    public boolean removeGraph(String graphId) {
+        boolean removed = graphRegistry.remove(graphId);
+        if (removed) {
+            pathCache.invalidateIf(key -> key.graphKey().equals(graphId));
+        }
+        return removed;
+    }
+    
+    /**
+     * Changes or removes connections of a registered graph while it keeps serving queries;
+     * queries already running finish on the previous weights
+     * 
+     * @param graphId ID returned by {@link #registerGraph(GraphRequest)}
+     * @param request EdgeUpdateRequest with location indices as in the upload
+     * @return GraphResponse describing the updated graph; not registered if the update failed
+     */
+    public GraphResponse updateEdges(String graphId, EdgeUpdateRequest request) {
+        logger.info("Processing {} edge updates for graph {}", request.getUpdates().size(), graphId);
+        
+        GraphResponse response = new GraphResponse();
+        
+        try {
+            GraphRegistry.RegisteredGraph entry = graphRegistry.get(graphId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown graph " + graphId));
             
-            if (shortestPath.isEmpty()) {
-                response.setPathFound(false);
-                response.setMessage("No path found between the specified locations");
-                logger.warn("No path found from {} to {}", start.getName(), end.getName());
-                return response;
+            List<EdgeUpdateRequest.EdgeUpdate> updates = request.getUpdates();
+            int[] from = new int[updates.size()];
+            int[] to = new int[updates.size()];
+            double[] weights = new double[updates.size()];
+            for (int i = 0; i < from.length; i++) {
+                EdgeUpdateRequest.EdgeUpdate update = updates.get(i);
+                if (update.getFrom() < 0 || update.getFrom() >= entry.locationCount()
+                        || update.getTo() < 0 || update.getTo() >= entry.locationCount()) {
+                    throw new IllegalArgumentException("Update " + i + ": Invalid connection indices");
+                }
+                if (!Boolean.TRUE.equals(update.getRemove()) && update.getWeightKm() == null) {
+                    throw new IllegalArgumentException("Update " + i + ": weightKm is required unless removing");
+                }
+                from[i] = entry.nodeOf(update.getFrom());
+                to[i] = entry.nodeOf(update.getTo());
+                weights[i] = Boolean.TRUE.equals(update.getRemove())
+                        ? Double.POSITIVE_INFINITY : update.getWeightKm();
             }
             
-            // Convert path to DTOs
-            List<LocationDTO> pathDTOs = convertToLocationDTOs(shortestPath);
+            entry.graph().updateEdgeWeights(from, to, weights);
+            // Results of the old weights are keyed by the old graph version and never hit again
+            pathCache.invalidateIf(key -> key.graphKey().equals(graphId));
             
-            // Calculate segments and total distance
-            List<PathResponse.PathSegment> segments = new ArrayList<>();
-            double totalDistance = 0.0;
+            response = describe(entry);
+            response.setMessage("Updated " + from.length + " edges");
             
-            for (int i = 0; i < shortestPath.size() - 1; i++) {
-                Location from = shortestPath.get(i);
-                Location to = shortestPath.get(i + 1);
-                double segmentDistance = from.distanceTo(to);
-                
-                segments.add(new PathResponse.PathSegment(
-                    pathDTOs.get(i),
-                    pathDTOs.get(i + 1),
-                    segmentDistance
+        } catch (Exception e) {
+            logger.error("Error updating edges of graph {}", graphId, e);
+            response.setRegistered(false);
+            response.setGraphId(graphId);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * @return counters of the path result cache
+     */
+    public QueryCache.Stats getCacheStats() {
+        return pathCache.getStats();
+    }
+    
+    /**
+     * @return counters of the cache of graphs built from request payloads
+     */
+    public QueryCache.Stats getGraphCacheStats() {
+        return graphBuildCache.getStats();
+    }
+    
+    /**
+     * Drops all cached path results and graphs built from request payloads
+     */
+    public void clearCache() {
+        pathCache.clear();
+        graphBuildCache.clear();
+        logger.info("Path result and graph caches cleared");
+    }
+    
+    /**
+     * Finds the shortest path between two locations of a registered graph
+     * 
+     * @param graphId ID returned by {@link #registerGraph(GraphRequest)}
+     * @param request GraphPathRequest with start/end indices into the uploaded locations, or points
+     *                to snap to them
+     * @return PathResponse with the shortest path and distance information
+     */
+    public PathResponse findShortestPath(String graphId, GraphPathRequest request) {
+        logger.info("Processing path finding request against graph {}", graphId);
+        
+        PathResponse response = new PathResponse();
+        
+        try {
+            GraphRegistry.RegisteredGraph entry = graphRegistry.get(graphId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown graph " + graphId));
+            
+            int startNode = endpoint(entry, request.getStartIndex(), request.getStart(), "Start");
+            int endNode = endpoint(entry, request.getEndIndex(), request.getEnd(), "End");
+            int[] stops = stops(entry, startNode, request.getWaypointIndices(), endNode);
+            search(entry, stops, request.getAlgorithm(),
+                   Boolean.TRUE.equals(request.getIncludeStatistics()),
+                   Boolean.TRUE.equals(request.getCompact()), alternativeCount(request.getAlternatives()),
+                   response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing path request", e);
+            response.setPathFound(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Computes a distance matrix over a graph sent with the request
+     * 
+     * @param request MatrixRequest with locations, connections and source/target indices
+     * @return MatrixResponse with one row per source and one column per target
+     */
+    public MatrixResponse computeMatrix(MatrixRequest request) {
+        MatrixResponse response = new MatrixResponse();
+        
+        try {
+            if (request.getLocations() == null || request.getLocations().isEmpty()
+                    || request.getConnections() == null || request.getConnections().isEmpty()) {
+                throw new IllegalArgumentException("Locations and connections are required");
+            }
+            logger.info("Processing matrix request with {} locations", request.getLocations().size());
+            
+            GraphRegistry.RegisteredGraph entry =
+                graphBuildCache.getOrBuild(request.getLocations(), request.getConnections());
+            
+            int[] sources = toNodes(request.getSourceIndices(), entry.locationCount(), "Source", entry::nodeOf);
+            int[] targets = toNodes(request.getTargetIndices(), entry.locationCount(), "Target", entry::nodeOf);
+            matrix(entry.graph(), sources, targets, request.getAlgorithm(), response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing matrix request", e);
+            response.setComputed(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Computes a distance matrix over a registered graph
+     * 
+     * @param graphId ID returned by {@link #registerGraph(GraphRequest)}
+     * @param request MatrixRequest with source/target indices into the uploaded locations
+     * @return MatrixResponse with one row per source and one column per target
+     */
+    public MatrixResponse computeMatrix(String graphId, MatrixRequest request) {
+        logger.info("Processing matrix request against graph {}", graphId);
+        
+        MatrixResponse response = new MatrixResponse();
+        
+        try {
+            GraphRegistry.RegisteredGraph entry = graphRegistry.get(graphId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown graph " + graphId));
+            
+            int[] sources = toNodes(request.getSourceIndices(), entry.locationCount(), "Source", entry::nodeOf);
+            int[] targets = toNodes(request.getTargetIndices(), entry.locationCount(), "Target", entry::nodeOf);
+            matrix(entry.graph(), sources, targets, request.getAlgorithm(), response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing matrix request", e);
+            response.setComputed(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Runs the many-to-many search and fills the response with the rounded distances
+     */
+    private void matrix(GeographicGraph graph, int[] sources, int[] targets,
+                        SearchAlgorithm requested, MatrixResponse response) {
+        if ((long) sources.length * targets.length > maxMatrixCells) {
+            throw new IllegalArgumentException("Matrix exceeds " + maxMatrixCells + " cells");
+        }
+        
+        SearchAlgorithm algorithm = requested != null ? requested : SearchAlgorithm.DIJKSTRA;
+        long start = System.nanoTime();
+        double[][] distances = graph.distanceMatrix(sources, targets, algorithm, SearchQueueType.DEFAULT);
+        
+        Double[][] distancesKm = new Double[sources.length][targets.length];
+        for (int i = 0; i < sources.length; i++) {
+            for (int j = 0; j < targets.length; j++) {
+                double distance = distances[i][j];
+                distancesKm[i][j] = distance == Double.POSITIVE_INFINITY
+                        ? null : Math.round(distance * 100.0) / 100.0;
+            }
+        }
+        
+        response.setComputed(true);
+        response.setSourceCount(sources.length);
+        response.setTargetCount(targets.length);
+        response.setDistancesKm(distancesKm);
+        response.setAlgorithm(algorithm.name());
+        response.setMessage("Distance matrix computed successfully");
+        
+        logger.info("Computed {}x{} matrix using {} in {} ms", sources.length, targets.length,
+                    algorithm, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Finds everything reachable within a distance of the start in a graph sent with the request
+     * 
+     * @param request IsochroneRequest with locations, connections, start index and distance
+     * @return IsochroneResponse with the reachable locations and their boundary
+     */
+    public IsochroneResponse computeIsochrone(IsochroneRequest request) {
+        IsochroneResponse response = new IsochroneResponse();
+        
+        try {
+            if (request.getLocations() == null || request.getLocations().isEmpty()
+                    || request.getConnections() == null || request.getConnections().isEmpty()) {
+                throw new IllegalArgumentException("Locations and connections are required");
+            }
+            logger.info("Processing isochrone request with {} locations", request.getLocations().size());
+            
+            GraphRegistry.RegisteredGraph entry =
+                graphBuildCache.getOrBuild(request.getLocations(), request.getConnections());
+            
+            int start = toNodes(List.of(request.getStartIndex()), entry.locationCount(), "Start",
+                                entry::nodeOf)[0];
+            isochrone(entry.graph(), start, request, response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing isochrone request", e);
+            response.setComputed(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Finds everything reachable within a distance of the start in a registered graph
+     * 
+     * @param graphId ID returned by {@link #registerGraph(GraphRequest)}
+     * @param request IsochroneRequest with the start index into the uploaded locations
+     * @return IsochroneResponse with the reachable locations and their boundary
+     */
+    public IsochroneResponse computeIsochrone(String graphId, IsochroneRequest request) {
+        logger.info("Processing isochrone request against graph {}", graphId);
+        
+        IsochroneResponse response = new IsochroneResponse();
+        
+        try {
+            GraphRegistry.RegisteredGraph entry = graphRegistry.get(graphId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown graph " + graphId));
+            
+            int start = toNodes(List.of(request.getStartIndex()), entry.locationCount(), "Start",
+                                entry::nodeOf)[0];
+            isochrone(entry.graph(), start, request, response);
+            
+        } catch (Exception e) {
+            logger.error("Error processing isochrone request", e);
+            response.setComputed(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Runs one bounded search and fills the response with the settled locations
+     */
+    private void isochrone(GeographicGraph graph, int startNode, IsochroneRequest request,
+                           IsochroneResponse response) {
+        long start = System.nanoTime();
+        ShortestPathTree tree = graph.shortestPathTree(startNode, request.getMaxDistanceKm());
+        CsrGraph compiled = tree.getGraph();
+        
+        if (!Boolean.FALSE.equals(request.getIncludeLocations())) {
+            List<IsochroneResponse.ReachableLocation> reachable = new ArrayList<>(tree.size());
+            for (int i = 0; i < tree.size(); i++) {
+                int node = tree.getNode(i);
+                reachable.add(new IsochroneResponse.ReachableLocation(
+                    compiled.getName(node),
+                    compiled.getLatitude(node),
+                    compiled.getLongitude(node),
+                    Math.round(tree.getDistance(i) * 100.0) / 100.0
                 ));
-                
-                totalDistance += segmentDistance;
+            }
+            response.setReachable(reachable);
+        }
+        
+        List<LocationDTO> boundary = new ArrayList<>();
+        for (int node : tree.convexHull()) {
+            boundary.add(new LocationDTO(compiled.getName(node), compiled.getLatitude(node),
+                                         compiled.getLongitude(node)));
+        }
+        
+        response.setComputed(true);
+        response.setStart(new LocationDTO(compiled.getName(startNode), compiled.getLatitude(startNode),
+                                          compiled.getLongitude(startNode)));
+        response.setMaxDistanceKm(request.getMaxDistanceKm());
+        response.setReachableCount(tree.size());
+        response.setBoundary(boundary);
+        response.setMessage("Isochrone computed successfully");
+        
+        logger.info("Isochrone of {} km reached {} locations in {} ms", request.getMaxDistanceKm(),
+                    tree.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Snaps a batch of points to the nearest locations of a registered graph
+     * 
+     * @param graphId ID returned by {@link #registerGraph(GraphRequest)}
+     * @param request NearestRequest with the points, e.g. GPS fixes
+     * @return NearestResponse with the location index and distance of every point
+     */
+    public NearestResponse findNearest(String graphId, NearestRequest request) {
+        logger.info("Processing nearest request with {} points against graph {}",
+                    request.getPoints().size(), graphId);
+        
+        NearestResponse response = new NearestResponse();
+        
+        try {
+            GraphRegistry.RegisteredGraph entry = graphRegistry.get(graphId)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown graph " + graphId));
+            if (request.getPoints().size() > maxNearestPoints) {
+                throw new IllegalArgumentException("At most " + maxNearestPoints + " points can be snapped at once");
             }
             
-            response.setPathFound(true);
-            response.setPath(pathDTOs);
-            response.setSegments(segments);
-            response.setTotalDistanceKm(Math.round(totalDistance * 100.0) / 100.0);
-            response.setTotalDistanceMiles(Math.round(totalDistance * KM_TO_MILES * 100.0) / 100.0);
+            int size = request.getPoints().size();
+            double[] latitudes = new double[size];
+            double[] longitudes = new double[size];
+            for (int i = 0; i < size; i++) {
+                latitudes[i] = request.getPoints().get(i).getLatitude();
+                longitudes[i] = request.getPoints().get(i).getLongitude();
+            }
+            
+            CsrGraph compiled = entry.graph().getCsrGraph();
+            int[] nodes = compiled.nearestNodes(latitudes, longitudes);
+            int[] indices = new int[size];
+            double[] distancesKm = new double[size];
+            for (int i = 0; i < size; i++) {
+                indices[i] = entry.indexOf(nodes[i]);
+                distancesKm[i] = Math.round(Location.distanceKm(latitudes[i], longitudes[i],
+                    compiled.getLatitude(nodes[i]), compiled.getLongitude(nodes[i])) * 1000.0) / 1000.0;
+            }
+            
+            response.setComputed(true);
+            response.setIndices(indices);
+            response.setDistancesKm(distancesKm);
+            response.setMessage("Snapped " + size + " points");
+            
+        } catch (Exception e) {
+            logger.error("Error processing nearest request", e);
+            response.setComputed(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Finds the shortest path in the partitioned graph served by this instance and its
+     * peers, visiting the waypoints in order; legs are routed in parallel
+     * 
+     * @param request GraphPathRequest with start, end and waypoint indices as node ids of the
+     *                graph that was partitioned; path indices and legs use them too
+     * @return PathResponse with the shortest path and distance information
+     */
+    public PathResponse findShardedPath(GraphPathRequest request) {
+        logger.info("Processing sharded path finding request");
+        
+        PathResponse response = new PathResponse();
+        
+        try {
+            GraphShard shard = shardRouter.getShard();
+            if (request.getStartIndex() == null || request.getEndIndex() == null) {
+                throw new IllegalArgumentException("Start and end indices are required for the sharded graph");
+            }
+            if (alternativeCount(request.getAlternatives()) > 0) {
+                throw new IllegalArgumentException("Alternative routes are not supported for the sharded graph");
+            }
+            List<Integer> waypoints = request.getWaypointIndices() != null ? request.getWaypointIndices() : List.of();
+            if (waypoints.size() > maxWaypoints) {
+                throw new IllegalArgumentException("At most " + maxWaypoints + " waypoints are supported");
+            }
+            
+            GraphPartition partition = shard.getPartition();
+            int nodeCount = partition.getNodeCount();
+            int[] stops = new int[waypoints.size() + 2];
+            stops[0] = toNodes(List.of(request.getStartIndex()), nodeCount, "Start", partition::nodeOf)[0];
+            System.arraycopy(toNodes(waypoints, nodeCount, "Waypoint", partition::nodeOf), 0, stops, 1,
+                             waypoints.size());
+            stops[stops.length - 1] = toNodes(List.of(request.getEndIndex()), nodeCount, "End", partition::nodeOf)[0];
+            
+            long searchStart = System.nanoTime();
+            RoutePath[] legs = shardRouter.route(stops);
+            long searchNanos = System.nanoTime() - searchStart;
+            if (Boolean.TRUE.equals(request.getIncludeStatistics())) {
+                PathResponse.SearchStatistics statistics = new PathResponse.SearchStatistics();
+                statistics.setSearchMs(toMillis(searchNanos));
+                response.setStatistics(statistics);
+            }
+            
+            for (int i = 0; i < legs.length; i++) {
+                if (legs[i].isEmpty()) {
+                    response.setPathFound(false);
+                    response.setMessage(legs.length == 1 ? "No path found between the specified locations"
+                                        : "No path found for leg " + (i + 1) + " of the route");
+                    return response;
+                }
+            }
+            
+            RoutePath route = legs.length == 1 ? legs[0] : RoutePath.join(Arrays.asList(legs));
+            if (Boolean.TRUE.equals(request.getCompact())) {
+                compact(partition, route, response);
+            } else {
+                expand(route.locations(), route.segmentDistances(), response);
+            }
+            if (legs.length > 1) {
+                List<PathResponse.RouteLeg> routeLegs = new ArrayList<>(legs.length);
+                for (int i = 0; i < legs.length; i++) {
+                    double legDistance = legs[i].distance();
+                    routeLegs.add(new PathResponse.RouteLeg(partition.originalNodeOf(stops[i]),
+                        partition.originalNodeOf(stops[i + 1]),
+                        Math.round(legDistance * 100.0) / 100.0,
+                        Math.round(legDistance * KM_TO_MILES * 100.0) / 100.0,
+                        legs[i].segmentDistances().length));
+                }
+                response.setLegs(routeLegs);
+            }
             response.setMessage("Shortest path found successfully");
             
-            logger.info("Path found with total distance: {} km", response.getTotalDistanceKm());
+        } catch (Exception e) {
+            logger.error("Error processing sharded path request", e);
+            response.setPathFound(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * In-cell distances from a node of this instance's shard to the boundary of its cell,
+     * for the routing of a peer instance
+     * 
+     * @param node node id of the partitioned graph
+     * @return BoundaryResponse with one distance per boundary node of the cell
+     */
+    public BoundaryResponse findBoundaryDistances(int node) {
+        BoundaryResponse response = new BoundaryResponse();
+        
+        try {
+            double[] distances = shardRouter.getShard().boundaryDistances(node);
+            Double[] distancesKm = new Double[distances.length];
+            for (int i = 0; i < distances.length; i++) {
+                distancesKm[i] = distances[i] != Double.POSITIVE_INFINITY ? distances[i] : null;
+            }
+            response.setComputed(true);
+            response.setDistancesKm(distancesKm);
             
         } catch (Exception e) {
-            logger.error("Error processing path request", e);
+            logger.error("Error processing boundary request", e);
+            response.setComputed(false);
+            response.setMessage("Error: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * Shortest path between two nodes of a cell of this instance's shard, for the routing
+     * of a peer instance; the response carries node ids and segment weights unrounded
+     * 
+     * @param from node id of the partitioned graph
+     * @param to node id in the same cell
+     * @return PathResponse with the path as locations, node ids and segment distances
+     */
+    public PathResponse findCellPath(int from, int to) {
+        PathResponse response = new PathResponse();
+        
+        try {
+            RoutePath path = shardRouter.getShard().cellPath(from, to);
+            if (path.isEmpty()) {
+                response.setPathFound(false);
+                response.setMessage("No path found inside the cell");
+                return response;
+            }
+            expand(path.locations(), path.segmentDistances(), response);
+            response.setPathIndices(path.nodes());
+            response.setSegmentDistancesKm(path.segmentDistances());
+            
+        } catch (Exception e) {
+            logger.error("Error processing cell path request", e);
             response.setPathFound(false);
             response.setMessage("Error: " + e.getMessage());
         }
@@ -110,22 +817,434 @@ public class PathFinderService {
     }
     
     /**
-     * Validates that start and end indices are within bounds
+     * Validates location indices and maps them to node ids
+     */
+    private int[] toNodes(List<Integer> indices, int size, String label, IntUnaryOperator nodeOf) {
+        int[] nodes = new int[indices.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            Integer index = indices.get(i);
+            if (index == null || index < 0 || index >= size) {
+                throw new IllegalArgumentException(label + " index out of bounds: " + index);
+            }
+            nodes[i] = nodeOf.applyAsInt(index);
+        }
+        return nodes;
+    }
+    
+    /**
+     * Runs the search, or takes its result from the cache, and fills the response with the
+     * path, segments and totals
+     * 
+     * @param entry registered or build-cached graph; its ID keys the result cache, which
+     *              is bypassed if the ID is null
+     * @param stops node ids of start, waypoints and end in the current snapshot of the graph
+     * @param includeStatistics whether to add timings and search effort to the response
+     * @param compact whether to return location indices and coordinates instead of DTOs
+     * @param alternatives number of alternative routes to add, not cached
+     */
+    private void search(GraphRegistry.RegisteredGraph entry, int[] stops,
+                        SearchAlgorithm requested, boolean includeStatistics, boolean compact,
+                        int alternatives, PathResponse response) {
+        GeographicGraph graph = entry.graph();
+        String graphKey = entry.id();
+        CsrGraph compiled = graph.getCsrGraph();
+        int startNode = stops[0];
+        int endNode = stops[stops.length - 1];
+        Location start = compiled.getLocation(startNode);
+        Location end = compiled.getLocation(endNode);
+        
+        SearchAlgorithm algorithm = requested != null ? requested : SearchAlgorithm.DIJKSTRA;
+        if (alternatives > 0 && stops.length > 2) {
+            throw new IllegalArgumentException("Alternative routes are not supported with waypoints");
+        }
+        
+        logger.debug("Finding path from {} to {} via {} waypoints using {}", start.getName(), end.getName(),
+                     stops.length - 2, algorithm);
+        
+        // Legs are independent searches, so they run in parallel, and are cached one by one.
+        // The version is read before searching, so a concurrent change can only leave a stale key
+        long version = graph.getVersion();
+        SearchResult[] legs = new SearchResult[stops.length - 1];
+        boolean[] searched = new boolean[legs.length];
+        long searchStart = System.nanoTime();
+        IntStream.range(0, legs.length).parallel().forEach(i -> {
+            PathCacheKey key = graphKey != null
+                    ? new PathCacheKey(graphKey, version, stops[i], stops[i + 1], algorithm) : null;
+            SearchResult leg = key != null ? pathCache.get(key) : null;
+            if (leg == null) {
+                long legStart = System.nanoTime();
+                leg = graph.search(stops[i], stops[i + 1], algorithm, SearchQueueType.DEFAULT);
+                metrics.recordSearch(algorithm, System.nanoTime() - legStart, leg);
+                if (key != null) {
+                    pathCache.put(key, leg);
+                }
+                searched[i] = true;
+            }
+            legs[i] = leg;
+        });
+        long searchNanos = System.nanoTime() - searchStart;
+        
+        PathResponse.SearchStatistics statistics = includeStatistics ? new PathResponse.SearchStatistics() : null;
+        boolean anySearched = false;
+        for (boolean legSearched : searched) {
+            anySearched |= legSearched;
+        }
+        if (!anySearched) {
+            response.setCached(true);
+        } else if (statistics != null) {
+            statistics.setSearchMs(toMillis(searchNanos));
+        }
+        
+        SearchResult result = legs.length == 1 ? legs[0] : stitch(legs);
+        List<Location> shortestPath = result.getPath();
+        response.setAlgorithm(algorithm.name());
+        response.setSettledNodes(result.getSettledNodes());
+        if (statistics != null) {
+            statistics.setSettledNodes(result.getSettledNodes());
+            statistics.setRelaxedEdges(result.getRelaxedEdges());
+            statistics.setQueuePushes(result.getQueuePushes());
+            response.setStatistics(statistics);
+        }
+        
+        if (shortestPath.isEmpty()) {
+            response.setPathFound(false);
+            response.setMessage(legs.length == 1 ? "No path found between the specified locations"
+                                : "No path found for leg " + (firstEmpty(legs) + 1) + " of the route");
+            logger.warn("No path found from {} to {}", start.getName(), end.getName());
+            return;
+        }
+        
+        double[] distances = segmentDistances(compiled, result);
+        if (compact) {
+            compact(entry, result, distances, response);
+        } else {
+            long conversionNanos = expand(shortestPath, distances, response);
+            metrics.recordConversion(conversionNanos);
+            if (statistics != null) {
+                statistics.setConversionMs(toMillis(conversionNanos));
+            }
+        }
+        response.setMessage("Shortest path found successfully");
+        if (legs.length > 1) {
+            response.setLegs(routeLegs(entry, stops, legs, distances));
+        }
+        
+        if (alternatives > 0) {
+            long alternativesStart = System.nanoTime();
+            response.setAlternatives(alternatives(entry, startNode, endNode, result.getNodes(),
+                                                  alternatives, compact));
+            if (statistics != null) {
+                statistics.setAlternativesMs(toMillis(System.nanoTime() - alternativesStart));
+            }
+        }
+        
+        logger.info("Path found with total distance: {} km, {} nodes settled",
+                    response.getTotalDistanceKm(), result.getSettledNodes());
+    }
+    
+    /**
+     * Joins the paths of consecutive legs into one route; its statistics are the sums of
+     * those of the legs
+     * 
+     * @return the route, without a path if any leg has none
+     */
+    private static SearchResult stitch(SearchResult[] legs) {
+        int length = 1;
+        for (SearchResult leg : legs) {
+            length += Math.max(leg.getNodes().length - 1, 0);
+        }
+        int[] nodes = new int[length];
+        List<Location> path = new ArrayList<>(length);
+        double distance = 0.0;
+        int settledNodes = 0;
+        long relaxedEdges = 0;
+        long queuePushes = 0;
+        boolean found = true;
+        
+        for (SearchResult leg : legs) {
+            found &= leg.isPathFound();
+            if (found) {
+                // Every leg starts where the one before it ended
+                List<Location> legPath = leg.getPath();
+                int skip = path.isEmpty() ? 0 : 1;
+                System.arraycopy(leg.getNodes(), skip, nodes, path.size(), legPath.size() - skip);
+                path.addAll(legPath.subList(skip, legPath.size()));
+                distance += leg.getDistance();
+            }
+            settledNodes += leg.getSettledNodes();
+            relaxedEdges += leg.getRelaxedEdges();
+            queuePushes += leg.getQueuePushes();
+        }
+        return new SearchResult(found ? nodes : new int[0], found ? path : List.of(),
+                                found ? distance : Double.MAX_VALUE, settledNodes, relaxedEdges, queuePushes);
+    }
+    
+    private static int firstEmpty(SearchResult[] legs) {
+        for (int i = 0; i < legs.length; i++) {
+            if (!legs[i].isPathFound()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Totals of every leg of a stitched route, from the segment distances of the route
+     */
+    private static List<PathResponse.RouteLeg> routeLegs(GraphRegistry.RegisteredGraph entry, int[] stops,
+                                                         SearchResult[] legs, double[] distances) {
+        List<PathResponse.RouteLeg> routeLegs = new ArrayList<>(legs.length);
+        int segment = 0;
+        for (int i = 0; i < legs.length; i++) {
+            int segmentCount = legs[i].getPath().size() - 1;
+            double legDistance = 0.0;
+            for (int end = segment + segmentCount; segment < end; segment++) {
+                legDistance += distances[segment];
+            }
+            routeLegs.add(new PathResponse.RouteLeg(
+                entry.indexOf(stops[i]),
+                entry.indexOf(stops[i + 1]),
+                Math.round(legDistance * 100.0) / 100.0,
+                Math.round(legDistance * KM_TO_MILES * 100.0) / 100.0,
+                segmentCount
+            ));
+        }
+        return routeLegs;
+    }
+    
+    /**
+     * Finds up to {@code count} loopless routes other than the shortest path, each filled
+     * into a response of its own like the path itself, shortest first
+     */
+    private List<PathResponse> alternatives(GraphRegistry.RegisteredGraph entry, int startNode, int endNode,
+                                            int[] shortestNodes, int count, boolean compact) {
+        GeographicGraph graph = entry.graph();
+        CsrGraph compiled = graph.getCsrGraph();
+        // One route more, since the first may be the shortest path found by another algorithm
+        List<SearchResult> routes = graph.kShortestPaths(startNode, endNode, count + 1, SearchQueueType.DEFAULT);
+        
+        List<PathResponse> alternatives = new ArrayList<>(count);
+        for (SearchResult route : routes) {
+            if (alternatives.size() == count) {
+                break;
+            }
+            if (Arrays.equals(route.getNodes(), shortestNodes)) {
+                continue;
+            }
+            
+            PathResponse alternative = new PathResponse();
+            double[] distances = segmentDistances(compiled, route);
+            if (compact) {
+                compact(entry, route, distances, alternative);
+            } else {
+                expand(route.getPath(), distances, alternative);
+            }
+            alternative.setSettledNodes(route.getSettledNodes());
+            alternative.setMessage("Alternative route " + (alternatives.size() + 1));
+            alternatives.add(alternative);
+        }
+        return alternatives;
+    }
+    
+    /**
+     * Fills the response with the path as location DTOs and segments
+     * 
+     * @return nanoseconds spent converting locations to DTOs
+     */
+    private long expand(List<Location> shortestPath, double[] distances, PathResponse response) {
+        long conversionStart = System.nanoTime();
+        List<LocationDTO> pathDTOs = convertToLocationDTOs(shortestPath);
+        long conversionNanos = System.nanoTime() - conversionStart;
+        
+        // Calculate segments and total distance
+        List<PathResponse.PathSegment> segments = new ArrayList<>();
+        double totalDistance = 0.0;
+        
+        for (int i = 0; i < shortestPath.size() - 1; i++) {
+            double segmentDistance = distances[i];
+            
+            segments.add(new PathResponse.PathSegment(
+                pathDTOs.get(i),
+                pathDTOs.get(i + 1),
+                segmentDistance
+            ));
+            
+            totalDistance += segmentDistance;
+        }
+        
+        response.setPathFound(true);
+        response.setPath(pathDTOs);
+        response.setSegments(segments);
+        response.setTotalDistanceKm(Math.round(totalDistance * 100.0) / 100.0);
+        response.setTotalDistanceMiles(Math.round(totalDistance * KM_TO_MILES * 100.0) / 100.0);
+        return conversionNanos;
+    }
+    
+    /**
+     * Fills the response with the path as location indices, one flat coordinate array and
+     * the segment distances, without creating DTOs
+     */
+    private void compact(GraphRegistry.RegisteredGraph entry, SearchResult result, double[] distances,
+                         PathResponse response) {
+        List<Location> shortestPath = result.getPath();
+        int[] nodes = result.getNodes();
+        int size = nodes.length;
+        int[] indices = new int[size];
+        double[] coordinates = new double[2 * size];
+        double totalDistance = 0.0;
+        
+        for (int i = 0; i < size; i++) {
+            Location location = shortestPath.get(i);
+            indices[i] = entry.indexOf(nodes[i]);
+            coordinates[2 * i] = location.getLatitude();
+            coordinates[2 * i + 1] = location.getLongitude();
+            if (i > 0) {
+                totalDistance += distances[i - 1];
+            }
+        }
+        
+        response.setPathFound(true);
+        response.setPathIndices(indices);
+        response.setCoordinates(coordinates);
+        response.setSegmentDistancesKm(distances);
+        response.setTotalDistanceKm(Math.round(totalDistance * 100.0) / 100.0);
+        response.setTotalDistanceMiles(Math.round(totalDistance * KM_TO_MILES * 100.0) / 100.0);
+    }
+    
+    /**
+     * Fills the response with a route of the partitioned graph like {@link #compact}, by
+     * node ids of the graph that was partitioned
+     */
+    private static void compact(GraphPartition partition, RoutePath route, PathResponse response) {
+        List<Location> locations = route.locations();
+        int[] indices = new int[locations.size()];
+        double[] coordinates = new double[2 * locations.size()];
+        for (int i = 0; i < locations.size(); i++) {
+            indices[i] = partition.originalNodeOf(route.nodes()[i]);
+            coordinates[2 * i] = locations.get(i).getLatitude();
+            coordinates[2 * i + 1] = locations.get(i).getLongitude();
+        }
+        double totalDistance = route.distance();
+        
+        response.setPathFound(true);
+        response.setPathIndices(indices);
+        response.setCoordinates(coordinates);
+        response.setSegmentDistancesKm(route.segmentDistances());
+        response.setTotalDistanceKm(Math.round(totalDistance * 100.0) / 100.0);
+        response.setTotalDistanceMiles(Math.round(totalDistance * KM_TO_MILES * 100.0) / 100.0);
+    }
+    
+    /**
+     * @return the requested number of alternative routes, 0 if none
+     * @throws IllegalArgumentException if more than the configured maximum are requested
+     */
+    private int alternativeCount(Integer requested) {
+        if (requested == null) {
+            return 0;
+        }
+        if (requested > maxAlternatives) {
+            throw new IllegalArgumentException("At most " + maxAlternatives + " alternative routes can be requested");
+        }
+        return requested;
+    }
+    
+    /**
+     * Weight of each path segment in the graph, which is the great-circle distance unless
+     * the graph uses another distance mode or its weights were updated
+     */
+    private static double[] segmentDistances(CsrGraph compiled, SearchResult result) {
+        int[] nodes = result.getNodes();
+        double[] distances = new double[nodes.length - 1];
+        for (int i = 1; i < nodes.length; i++) {
+            double weight = compiled.getEdgeWeight(nodes[i - 1], nodes[i]);
+            // The edge can only be missing if an update removed it after the search
+            distances[i - 1] = weight != Double.POSITIVE_INFINITY
+                    ? weight : result.getPath().get(i - 1).distanceTo(result.getPath().get(i));
+        }
+        return distances;
+    }
+    
+    /**
+     * @return the metrics of this service in the Prometheus text format
+     */
+    public String scrapeMetrics() {
+        return metrics.scrape();
+    }
+    
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+    
+    private GraphResponse describe(GraphRegistry.RegisteredGraph entry) {
+        GeographicGraph graph = entry.graph();
+        List<String> preprocessed = new ArrayList<>();
+        if (graph.hasContractionHierarchy()) {
+            preprocessed.add(SearchAlgorithm.CONTRACTION_HIERARCHIES.name());
+        }
+        if (graph.hasLandmarkIndex()) {
+            preprocessed.add(SearchAlgorithm.ALT.name());
+        }
+        
+        GraphResponse response = new GraphResponse();
+        response.setRegistered(true);
+        response.setGraphId(entry.id());
+        response.setLocationCount(entry.locationCount());
+        // The CSR graph stores each undirected edge in both directions
+        response.setEdgeCount(graph.getCsrGraph().getEdgeCount() / 2);
+        response.setPreprocessed(preprocessed);
+        response.setCreatedAt(entry.createdAt().toString());
+        return response;
+    }
+    
+    private GraphResponse graphNotFound(String graphId) {
+        GraphResponse response = new GraphResponse();
+        response.setRegistered(false);
+        response.setGraphId(graphId);
+        response.setMessage("Graph not found");
+        return response;
+    }
+    
+    /**
+     * Node ids of the stops of a route: start, the waypoints in order, and end
+     */
+    private int[] stops(GraphRegistry.RegisteredGraph entry, int startNode, List<Integer> waypointIndices,
+                        int endNode) {
+        List<Integer> waypoints = waypointIndices != null ? waypointIndices : List.of();
+        if (waypoints.size() > maxWaypoints) {
+            throw new IllegalArgumentException("At most " + maxWaypoints + " waypoints are supported");
+        }
+        
+        int[] stops = new int[waypoints.size() + 2];
+        int[] waypointNodes = toNodes(waypoints, entry.locationCount(), "Waypoint", entry::nodeOf);
+        System.arraycopy(waypointNodes, 0, stops, 1, waypointNodes.length);
+        stops[0] = startNode;
+        stops[stops.length - 1] = endNode;
+        return stops;
+    }
+    
+    /**
+     * Resolves a query endpoint, given as a location index or as a point that is snapped to
+     * the nearest location
+     * 
+     * @return node id in the current snapshot of the graph
      */
-    private void validateIndices(PathRequest request) {
-        int size = request.getLocations().size();
-        if (request.getStartIndex() < 0 || request.getStartIndex() >= size) {
-            throw new IllegalArgumentException("Start index out of bounds");
+    private int endpoint(GraphRegistry.RegisteredGraph entry, Integer index, PointDTO point, String label) {
+        if (index != null) {
+            if (index < 0 || index >= entry.locationCount()) {
+                throw new IllegalArgumentException(label + " index out of bounds");
+            }
+            return entry.nodeOf(index);
         }
-        if (request.getEndIndex() < 0 || request.getEndIndex() >= size) {
-            throw new IllegalArgumentException("End index out of bounds");
+        if (point == null) {
+            throw new IllegalArgumentException(label + " location index or point is required");
         }
+        return entry.graph().getCsrGraph().nearestNode(point.getLatitude(), point.getLongitude());
     }
     
     /**
      * Converts LocationDTOs to Location domain objects
      */
-    private List<Location> convertToLocations(List<LocationDTO> dtos) {
+    static List<Location> convertToLocations(List<LocationDTO> dtos) {
         return dtos.stream()
             .map(dto -> new Location(dto.getName(), dto.getLatitude(), dto.getLongitude()))
             .collect(Collectors.toList());
@@ -141,25 +1260,41 @@ public class PathFinderService {
     }
     
     /**
-     * Builds a geographic graph from locations and connections
+     * Builds a geographic graph from locations and connections with Haversine edge weights
      */
-    private GeographicGraph buildGraph(List<Location> locations, 
+    static GeographicGraph buildGraph(List<Location> locations, 
                                        List<PathRequest.Connection> connections) {
-        GeographicGraph graph = new GeographicGraph();
+        return buildGraph(locations, connections, GeoDistance.Mode.HAVERSINE);
+    }
+    
+    /**
+     * Builds a geographic graph from locations and connections
+     */
+    static GeographicGraph buildGraph(List<Location> locations, 
+                                       List<PathRequest.Connection> connections,
+                                       GeoDistance.Mode distanceMode) {
+        GeographicGraph graph = new GeographicGraph(distanceMode);
         
         // Add all locations
-        locations.forEach(graph::addLocation);
+        int[] nodeIds = new int[locations.size()];
+        for (int i = 0; i < nodeIds.length; i++) {
+            nodeIds[i] = graph.addLocation(locations.get(i));
+        }
         
-        // Add connections
-        for (PathRequest.Connection conn : connections) {
+        // Add connections as one batch, so that their weights are computed in parallel
+        int[] from = new int[connections.size()];
+        int[] to = new int[connections.size()];
+        for (int i = 0; i < from.length; i++) {
+            PathRequest.Connection conn = connections.get(i);
             if (conn.getFrom() < 0 || conn.getFrom() >= locations.size() ||
                 conn.getTo() < 0 || conn.getTo() >= locations.size()) {
                 throw new IllegalArgumentException("Invalid connection indices");
             }
             
-            graph.addEdge(locations.get(conn.getFrom()), 
-                         locations.get(conn.getTo()));
+            from[i] = nodeIds[conn.getFrom()];
+            to[i] = nodeIds[conn.getTo()];
         }
+        graph.addEdges(from, to);
         
         return graph;
     }
@@ -0,0 +1,151 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 29-Nov-2025 10:17:52 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+import com.nopaper.work.dijkstra.model.SearchResult;
+
+/**
+ * Histograms of the path-finding hot path, exported in the Prometheus text format.
+ * <p>
+ * Timers cover graph building, DTO conversion, the search itself and response
+ * serialization; per-query search effort (settled nodes, relaxed edges, queue pushes)
+ * is recorded per algorithm. Recording is lock-free, so it can stay on in production.
+ */
+@Component
+public class PathMetrics {
+
+    private static final double[] SECONDS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+    private static final double[] COUNTS = { 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000 };
+
+    private final Histogram graphBuild = new Histogram(SECONDS, "");
+    private final Histogram dtoConversion = new Histogram(SECONDS, "");
+    private final Histogram serialization = new Histogram(SECONDS, "");
+    private final Map<SearchAlgorithm, Histogram> searchTime = perAlgorithm(SECONDS);
+    private final Map<SearchAlgorithm, Histogram> settledNodes = perAlgorithm(COUNTS);
+    private final Map<SearchAlgorithm, Histogram> relaxedEdges = perAlgorithm(COUNTS);
+    private final Map<SearchAlgorithm, Histogram> queuePushes = perAlgorithm(COUNTS);
+
+    /**
+     * Building and compiling a graph from request locations and connections
+     */
+    public void recordGraphBuild(long nanos) {
+        graphBuild.record(nanos / 1e9);
+    }
+
+    /**
+     * Converting between DTOs and domain objects
+     */
+    public void recordConversion(long nanos) {
+        dtoConversion.record(nanos / 1e9);
+    }
+
+    /**
+     * Writing a response body
+     */
+    public void recordSerialization(long nanos) {
+        serialization.record(nanos / 1e9);
+    }
+
+    public void recordSearch(SearchAlgorithm algorithm, long nanos, SearchResult result) {
+        searchTime.get(algorithm).record(nanos / 1e9);
+        settledNodes.get(algorithm).record(result.getSettledNodes());
+        relaxedEdges.get(algorithm).record(result.getRelaxedEdges());
+        queuePushes.get(algorithm).record(result.getQueuePushes());
+    }
+
+    /**
+     * @return all histograms in the Prometheus text exposition format, version 0.0.4
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        write(out, "dijkstra_graph_build_seconds", "Time to build and compile a graph from a request",
+              List.of(graphBuild));
+        write(out, "dijkstra_dto_conversion_seconds", "Time to convert between DTOs and domain objects",
+              List.of(dtoConversion));
+        write(out, "dijkstra_search_seconds", "Time of point-to-point searches", searchTime.values());
+        write(out, "dijkstra_search_settled_nodes", "Nodes settled per search", settledNodes.values());
+        write(out, "dijkstra_search_relaxed_edges", "Edges relaxed per search", relaxedEdges.values());
+        write(out, "dijkstra_search_queue_pushes", "Priority queue inserts and decrease-keys per search",
+              queuePushes.values());
+        write(out, "dijkstra_response_serialization_seconds", "Time to write JSON response bodies",
+              List.of(serialization));
+        return out.toString();
+    }
+
+    private static void write(StringBuilder out, String name, String help, Collection<Histogram> series) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        for (Histogram histogram : series) {
+            histogram.write(out, name);
+        }
+    }
+
+    private static Map<SearchAlgorithm, Histogram> perAlgorithm(double[] bounds) {
+        Map<SearchAlgorithm, Histogram> histograms = new EnumMap<>(SearchAlgorithm.class);
+        for (SearchAlgorithm algorithm : SearchAlgorithm.values()) {
+            histograms.put(algorithm, new Histogram(bounds, "algorithm=\"" + algorithm.name() + "\""));
+        }
+        return histograms;
+    }
+
+    /**
+     * Fixed-bucket histogram; bucket counts are kept per bucket and summed on export
+     */
+    private static final class Histogram {
+
+        private final double[] bounds;
+        private final String labels;
+        private final LongAdder[] buckets;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        Histogram(double[] bounds, String labels) {
+            this.bounds = bounds;
+            this.labels = labels;
+            this.buckets = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(double value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            sum.add(value);
+        }
+
+        void write(StringBuilder out, String name) {
+            String separator = labels.isEmpty() ? "" : ",";
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += buckets[i].sum();
+                String bound = i < bounds.length ? Double.toString(bounds[i]) : "+Inf";
+                out.append(name).append("_bucket{").append(labels).append(separator)
+                   .append("le=\"").append(bound).append("\"} ").append(cumulative).append('\n');
+            }
+            String suffix = labels.isEmpty() ? " " : "{" + labels + "} ";
+            out.append(name).append("_sum").append(suffix).append(sum.sum()).append('\n');
+            out.append(name).append("_count").append(suffix).append(count.sum()).append('\n');
+        }
+    }
+}
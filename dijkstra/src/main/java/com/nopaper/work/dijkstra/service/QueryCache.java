@@ -0,0 +1,161 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 26-Nov-2025 10:12:44 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Bounded, concurrent result cache with LRU and time-to-live eviction.
+ * <p>
+ * Keys are spread over a fixed number of segments, each an access-ordered
+ * {@link LinkedHashMap} guarded by its own lock, so concurrent lookups of different
+ * keys rarely contend and every segment evicts its least recently used entry once it
+ * holds its share of the capacity. Expired entries are dropped when they are looked up.
+ * A miss does not block other lookups of the same key; concurrent misses may compute
+ * the same value twice, which is harmless for pure query results.
+ */
+public class QueryCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Counters since the cache was created
+     */
+    public record Stats(long size, long hits, long misses, long evictions, long expirations) {
+
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    public QueryCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+    
+    /**
+     * @param nanoClock source of {@link System#nanoTime()}-like readings, replaced in tests
+     */
+    @SuppressWarnings("unchecked")
+    QueryCache(int maxEntries, Duration ttl, LongSupplier nanoClock) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Cache size must not be negative");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = (maxEntries + SEGMENTS - 1) / SEGMENTS;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment, evictions);
+        }
+    }
+
+    /**
+     * @return the cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+                segment.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches, e.g. all results of a removed graph
+     * @return number of entries removed
+     */
+    public int invalidateIf(Predicate<? super K> condition) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                int before = segment.size();
+                segment.keySet().removeIf(condition);
+                removed += before - segment.size();
+            }
+        }
+        return removed;
+    }
+
+    public void clear() {
+        invalidateIf(key -> true);
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public Stats getStats() {
+        return new Stats(size(), hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    // Access-ordered map that evicts its eldest entry beyond capacity
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+        private final int capacity;
+        private final LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            if (size() <= capacity) {
+                return false;
+            }
+            evictions.increment();
+            return true;
+        }
+    }
+}
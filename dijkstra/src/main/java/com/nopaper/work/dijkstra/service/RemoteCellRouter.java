@@ -0,0 +1,100 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 03:27:44 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.dto.BoundaryResponse;
+import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.PathResponse;
+import com.nopaper.work.dijkstra.model.CellRouter;
+import com.nopaper.work.dijkstra.model.Location;
+import com.nopaper.work.dijkstra.model.RoutePath;
+
+/**
+ * {@link CellRouter} of a shard served by another instance, calling its internal shard
+ * endpoints over HTTP
+ */
+final class RemoteCellRouter implements CellRouter {
+    
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final Duration timeout;
+    
+    /**
+     * @param baseUrl URL of the instance including its context path, e.g.
+     *                {@code http://localhost:8081/api}
+     */
+    RemoteCellRouter(HttpClient client, ObjectMapper objectMapper, String baseUrl, Duration timeout) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+    }
+    
+    @Override
+    public double[] boundaryDistances(int node) {
+        BoundaryResponse response = get("/v1/path/shard/boundary?node=" + node, BoundaryResponse.class);
+        if (!response.isComputed()) {
+            throw new IllegalStateException("Shard at " + baseUrl + ": " + response.getMessage());
+        }
+        
+        Double[] distancesKm = response.getDistancesKm();
+        double[] distances = new double[distancesKm.length];
+        for (int i = 0; i < distances.length; i++) {
+            distances[i] = distancesKm[i] != null ? distancesKm[i] : Double.POSITIVE_INFINITY;
+        }
+        return distances;
+    }
+    
+    @Override
+    public RoutePath cellPath(int from, int to) {
+        PathResponse response = get("/v1/path/shard/cell-path?from=" + from + "&to=" + to, PathResponse.class);
+        if (!response.isPathFound()) {
+            return RoutePath.EMPTY;
+        }
+        
+        List<Location> locations = new ArrayList<>(response.getPath().size());
+        for (LocationDTO location : response.getPath()) {
+            locations.add(new Location(location.getName(), location.getLatitude(), location.getLongitude()));
+        }
+        return new RoutePath(response.getPathIndices(), locations, response.getSegmentDistancesKm());
+    }
+    
+    /**
+     * Shard endpoints answer errors with a response body too, so any status is parsed
+     */
+    private <T> T get(String path, Class<T> type) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 500) {
+                throw new IllegalStateException("Shard at " + baseUrl + " answered status " + response.statusCode());
+            }
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Shard at " + baseUrl + " is not reachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calling shard at " + baseUrl, e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 03-Dec-2025 03:58:10 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.model.CellRouter;
+import com.nopaper.work.dijkstra.model.GraphShard;
+import com.nopaper.work.dijkstra.model.RoutePath;
+
+/**
+ * Maps shard {@code api.shard.index} of the partitioned graph in {@code api.shard.dir}
+ * (see {@link GraphPartitioner}) at startup and routes across all shards, asking the
+ * instances listed in {@code api.shard.peers} for the cells this instance does not hold.
+ * Without a directory the instance serves no shard.
+ * <p>
+ * Routing waits on peers, so legs and the searches they fork run on virtual threads of
+ * this router rather than on the common pool.
+ */
+@Component
+public class ShardRouter implements ApplicationRunner, DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ShardRouter.class);
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${api.shard.dir:}")
+    private String directory;
+    
+    @Value("${api.shard.index:0}")
+    private int index;
+    
+    @Value("${api.shard.peers:}")
+    private List<String> peers;
+    
+    @Value("${api.shard.timeout:10s}")
+    private Duration timeout;
+    
+    private volatile GraphShard shard;
+    private volatile CellRouter[] routers;
+    
+    // Unbounded, so a leg waiting on the searches it forked never starves them of a thread
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (directory.isBlank()) {
+            return;
+        }
+        
+        Path path = Path.of(directory.strip());
+        long start = System.nanoTime();
+        GraphShard opened = GraphShard.open(path, index);
+        int shardCount = opened.getPartition().getShardCount();
+        if (shardCount > 1 && peers.size() != shardCount) {
+            throw new IllegalStateException("api.shard.peers must list the URLs of all " + shardCount
+                                            + " shards in order, found " + peers.size());
+        }
+        
+        // The own entry of the peer list is not called, so every instance can share the list
+        HttpClient client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        CellRouter[] created = new CellRouter[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            created[i] = i == index ? opened : new RemoteCellRouter(client, objectMapper, peers.get(i).strip(), timeout);
+        }
+        routers = created;
+        shard = opened;
+        
+        logger.info("Mapped shard {} of {} from {} in {} ms", index, shardCount, path,
+                    (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * @throws IllegalStateException if this instance serves no shard
+     */
+    public GraphShard getShard() {
+        GraphShard current = shard;
+        if (current == null) {
+            throw new IllegalStateException("This instance serves no graph shard");
+        }
+        return current;
+    }
+    
+    /**
+     * Finds the shortest path between two nodes of the partitioned graph, which may lie
+     * in shards of other instances
+     */
+    public RoutePath route(int startNode, int endNode) {
+        GraphShard current = getShard();
+        CellRouter[] currentRouters = routers;
+        return current.route(startNode, endNode, i -> currentRouters[i], executor);
+    }
+    
+    /**
+     * Routes the legs between consecutive stops concurrently
+     * 
+     * @param stops node ids of the partitioned graph, at least two
+     * @return one path per leg, empty if its end is unreachable
+     */
+    public RoutePath[] route(int[] stops) {
+        List<CompletableFuture<RoutePath>> pending = new ArrayList<>(stops.length - 1);
+        for (int i = 0; i < stops.length - 1; i++) {
+            int from = stops[i];
+            int to = stops[i + 1];
+            pending.add(CompletableFuture.supplyAsync(() -> route(from, to), executor));
+        }
+        
+        RoutePath[] legs = new RoutePath[pending.size()];
+        for (int i = 0; i < legs.length; i++) {
+            try {
+                legs[i] = pending.get(i).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return legs;
+    }
+    
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * @package com.nopaper.work.dijkstra.controller -> dijkstra
+ * @author saikatbarman
+ * @date 2025 05-Dec-2025 03:18:05 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.dto.EdgeUpdateRequest;
+import com.nopaper.work.dijkstra.dto.GraphPathRequest;
+import com.nopaper.work.dijkstra.dto.GraphRequest;
+import com.nopaper.work.dijkstra.dto.GraphResponse;
+import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.dto.PathResponse;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EdgeUpdateControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void edgeUpdateInvalidatesCachedPaths() throws Exception {
+        // A triangle whose direct edge A - B is the shortest path until it is made longer
+        GraphRequest graph = new GraphRequest();
+        graph.setLocations(List.of(new LocationDTO("A", 22.57, 88.36),
+                                   new LocationDTO("B", 22.57, 88.38),
+                                   new LocationDTO("C", 22.58, 88.37)));
+        graph.setConnections(List.of(new PathRequest.Connection(0, 1),
+                                     new PathRequest.Connection(0, 2),
+                                     new PathRequest.Connection(2, 1)));
+        GraphResponse registered = objectMapper.readValue(
+            mockMvc.perform(post("/v1/path/graphs")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(graph)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(),
+            GraphResponse.class);
+        String graphId = registered.getGraphId();
+
+        PathResponse first = shortest(graphId);
+        assertNotEquals(Boolean.TRUE, first.getCached());
+        assertEquals(List.of("A", "B"), names(first));
+        assertEquals(Boolean.TRUE, shortest(graphId).getCached());
+
+        EdgeUpdateRequest update = new EdgeUpdateRequest(List.of(new EdgeUpdateRequest.EdgeUpdate(0, 1, 10.0)));
+        mockMvc.perform(patch("/v1/path/graphs/" + graphId + "/edges")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk());
+
+        PathResponse updated = shortest(graphId);
+        assertNotEquals(Boolean.TRUE, updated.getCached());
+        assertEquals(List.of("A", "C", "B"), names(updated));
+        assertTrue(updated.getTotalDistanceKm() < 10.0);
+    }
+
+    @Test
+    void rejectsEdgeWeightsBelowTheGreatCircleDistance() throws Exception {
+        GraphRequest graph = new GraphRequest();
+        graph.setLocations(List.of(new LocationDTO("A", 22.57, 88.36),
+                                   new LocationDTO("B", 22.57, 88.38)));
+        graph.setConnections(List.of(new PathRequest.Connection(0, 1)));
+        GraphResponse registered = objectMapper.readValue(
+            mockMvc.perform(post("/v1/path/graphs")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(graph)))
+                .andReturn().getResponse().getContentAsString(),
+            GraphResponse.class);
+
+        EdgeUpdateRequest update = new EdgeUpdateRequest(List.of(new EdgeUpdateRequest.EdgeUpdate(0, 1, 0.5)));
+        mockMvc.perform(patch("/v1/path/graphs/" + registered.getGraphId() + "/edges")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isBadRequest());
+    }
+
+    private PathResponse shortest(String graphId) throws Exception {
+        String body = mockMvc.perform(post("/v1/path/graphs/" + graphId + "/shortest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GraphPathRequest(0, 1))))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, PathResponse.class);
+    }
+
+    private static List<String> names(PathResponse response) {
+        return response.getPath().stream().map(LocationDTO::getName).toList();
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * @package com.nopaper.work.dijkstra.controller -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 11:02:41 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.dto.GraphResponse;
+import com.nopaper.work.dijkstra.dto.PathResponse;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StreamedRequestControllerTest {
+
+    private static final String GRAPH = """
+        "locations": [{"name": "A", "latitude": 22.57, "longitude": 88.36},
+                      {"name": "B", "latitude": 22.57, "longitude": 88.38},
+                      {"name": "C", "latitude": 22.58, "longitude": 88.37}],
+        "connections": [{"from": 0, "to": 1}, {"from": 1, "to": 2}]
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void validStreamedRequestsAreAccepted() throws Exception {
+        PathResponse path = shortest("{" + GRAPH + ", \"start\": {\"latitude\": 22.57, \"longitude\": 88.36}, "
+                                     + "\"endIndex\": 2, \"alternatives\": 0}", 200);
+        assertTrue(path.isPathFound());
+        assertEquals(3, path.getPath().size());
+
+        String body = mockMvc.perform(post("/v1/path/graphs/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{" + GRAPH + ", \"preprocess\": [\"ALT\"]}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        assertTrue(objectMapper.readValue(body, GraphResponse.class).isRegistered());
+    }
+
+    @Test
+    void rejectsAPointWithoutLongitude() throws Exception {
+        PathResponse path = shortest("{" + GRAPH + ", \"start\": {\"latitude\": 1}, \"endIndex\": 2}", 404);
+        assertFalse(path.isPathFound());
+        assertTrue(path.getMessage().contains("start.longitude: Longitude is required"), path.getMessage());
+    }
+
+    @Test
+    void rejectsAPointOutOfRange() throws Exception {
+        PathResponse path = shortest("{" + GRAPH + ", \"startIndex\": 0, "
+                                     + "\"end\": {\"latitude\": 91, \"longitude\": 88.37}}", 404);
+        assertTrue(path.getMessage().contains("end.latitude: Latitude must be between -90 and 90"), path.getMessage());
+    }
+
+    @Test
+    void rejectsNegativeAlternativesAndMissingEndpoints() throws Exception {
+        PathResponse path = shortest("{" + GRAPH + ", \"startIndex\": 0, \"alternatives\": -1}", 404);
+        assertTrue(path.getMessage().contains("alternatives: Alternatives cannot be negative"), path.getMessage());
+        assertTrue(path.getMessage().contains("endGiven: End location index or point is required"), path.getMessage());
+    }
+
+    private PathResponse shortest(String json, int expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/v1/path/shortest/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+            .andExpect(status().is(expectedStatus))
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, PathResponse.class);
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * @package com.nopaper.work.dijkstra.controller -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 04:02:19 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.dto.PathResponse;
+
+@SpringBootTest(properties = "api.routes.max-waypoints=2")
+@AutoConfigureMockMvc
+class WaypointControllerTest {
+
+    // A road A - B - C - D - E with a shortcut B - D, and F off the road
+    private static final List<LocationDTO> LOCATIONS = List.of(
+        new LocationDTO("A", 22.570, 88.360),
+        new LocationDTO("B", 22.570, 88.370),
+        new LocationDTO("C", 22.575, 88.380),
+        new LocationDTO("D", 22.570, 88.390),
+        new LocationDTO("E", 22.570, 88.400),
+        new LocationDTO("F", 22.600, 88.400));
+
+    private static final List<PathRequest.Connection> CONNECTIONS = List.of(
+        new PathRequest.Connection(0, 1),
+        new PathRequest.Connection(1, 2),
+        new PathRequest.Connection(2, 3),
+        new PathRequest.Connection(3, 4),
+        new PathRequest.Connection(1, 3));
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void legsAddUpToTheRoute() throws Exception {
+        PathResponse route = shortest(0, List.of(2), 4, false, 200);
+
+        assertEquals(List.of("A", "B", "C", "D", "E"), names(route));
+        assertEquals(2, route.getLegs().size());
+        assertLeg(route.getLegs().get(0), 0, 2, shortest(0, null, 2, false, 200));
+        assertLeg(route.getLegs().get(1), 2, 4, shortest(2, null, 4, false, 200));
+        assertEquals(route.getSegments().size(),
+                     route.getLegs().stream().mapToInt(PathResponse.RouteLeg::getSegmentCount).sum());
+        assertEquals(route.getTotalDistanceKm(),
+                     route.getLegs().stream().mapToDouble(PathResponse.RouteLeg::getDistanceKm).sum(), 0.011);
+    }
+
+    @Test
+    void joinsLegsWithoutRepeatingTheWaypoint() throws Exception {
+        // Without the waypoint the route takes the shortcut B - D
+        assertEquals(List.of("A", "B", "D", "E"), names(shortest(0, null, 4, false, 200)));
+
+        PathResponse backtrack = shortest(0, List.of(3, 1), 2, false, 200);
+        assertEquals(List.of("A", "B", "D", "B", "C"), names(backtrack));
+        assertEquals(3, backtrack.getLegs().size());
+        assertEquals(List.of(2, 1, 1), backtrack.getLegs().stream().map(PathResponse.RouteLeg::getSegmentCount).toList());
+
+        PathResponse compact = shortest(0, List.of(2), 4, true, 200);
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4 }, compact.getPathIndices());
+    }
+
+    @Test
+    void waypointEqualToTheStartAddsAnEmptyLeg() throws Exception {
+        PathResponse route = shortest(0, List.of(0), 2, false, 200);
+
+        assertEquals(List.of("A", "B", "C"), names(route));
+        assertEquals(0, route.getLegs().get(0).getSegmentCount());
+        assertEquals(0.0, route.getLegs().get(0).getDistanceKm());
+        assertEquals(2, route.getLegs().get(1).getSegmentCount());
+    }
+
+    @Test
+    void reportsTheLegWithoutAPath() throws Exception {
+        PathResponse route = shortest(0, List.of(2, 5), 4, false, 404);
+
+        assertFalse(route.isPathFound());
+        assertEquals("No path found for leg 2 of the route", route.getMessage());
+    }
+
+    @Test
+    void rejectsMoreWaypointsThanConfigured() throws Exception {
+        PathResponse route = shortest(0, List.of(1, 2, 3), 4, false, 404);
+
+        assertFalse(route.isPathFound());
+        assertEquals("Error: At most 2 waypoints are supported", route.getMessage());
+        assertNull(route.getLegs());
+    }
+
+    private PathResponse shortest(int start, List<Integer> waypoints, int end, boolean compact,
+                                  int expectedStatus) throws Exception {
+        PathRequest request = new PathRequest();
+        request.setLocations(LOCATIONS);
+        request.setConnections(CONNECTIONS);
+        request.setStartIndex(start);
+        request.setWaypointIndices(waypoints);
+        request.setEndIndex(end);
+        request.setCompact(compact);
+        String body = mockMvc.perform(post("/v1/path/shortest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().is(expectedStatus))
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, PathResponse.class);
+    }
+
+    private static void assertLeg(PathResponse.RouteLeg leg, int from, int to, PathResponse direct) {
+        assertEquals(from, leg.getFromIndex());
+        assertEquals(to, leg.getToIndex());
+        assertEquals(direct.getTotalDistanceKm(), leg.getDistanceKm(), 0.011);
+        assertEquals(direct.getSegments().size(), leg.getSegmentCount());
+    }
+
+    private static List<String> names(PathResponse response) {
+        return response.getPath().stream().map(LocationDTO::getName).toList();
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * @package com.nopaper.work.dijkstra.dto -> dijkstra
+ * @author saikatbarman
+ * @date 2025 05-Dec-2025 05:02:19 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.dto;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+class BinaryPathCodecTest {
+
+    @Test
+    void roundTripsPathRequests() throws IOException {
+        PathRequest request = new PathRequest();
+        request.setLocations(List.of(new LocationDTO("A", 22.57, 88.36), new LocationDTO(null, 22.58, null)));
+        request.setConnections(List.of(new PathRequest.Connection(0, 1)));
+        request.setStartIndex(0);
+        request.setEndIndex(1);
+        request.setAlgorithm(SearchAlgorithm.ALT);
+        request.setCompact(true);
+        request.setAlternatives(2);
+        request.setWaypointIndices(List.of(1, 0));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryPathCodec.write(request, out);
+        PathRequest read = BinaryPathCodec.readPathRequest(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(2, read.getLocations().size());
+        assertEquals("A", read.getLocations().get(0).getName());
+        assertNull(read.getLocations().get(1).getName());
+        assertEquals(22.58, read.getLocations().get(1).getLatitude());
+        assertNull(read.getLocations().get(1).getLongitude());
+        assertEquals(1, read.getConnections().get(0).getTo());
+        assertEquals(0, read.getStartIndex());
+        assertEquals(1, read.getEndIndex());
+        assertEquals(SearchAlgorithm.ALT, read.getAlgorithm());
+        assertEquals(Boolean.FALSE, read.getIncludeStatistics());
+        assertEquals(Boolean.TRUE, read.getCompact());
+        assertEquals(2, read.getAlternatives());
+        assertNull(read.getStart());
+        assertNull(read.getEnd());
+        assertEquals(List.of(1, 0), read.getWaypointIndices());
+    }
+
+    @Test
+    void roundTripsGraphPathRequestsWithPointsAndAbsentValues() throws IOException {
+        GraphPathRequest request = new GraphPathRequest(null, 3);
+        request.setStart(new PointDTO(22.57, 88.36));
+
+        GraphPathRequest read = roundTrip(request);
+        assertNull(read.getStartIndex());
+        assertEquals(3, read.getEndIndex());
+        assertEquals(22.57, read.getStart().getLatitude());
+        assertEquals(88.36, read.getStart().getLongitude());
+        assertNull(read.getEnd());
+        assertNull(read.getAlgorithm());
+        assertNull(read.getAlternatives());
+        assertNull(read.getWaypointIndices());
+
+        request.setAlternatives(0);
+        request.setWaypointIndices(List.of());
+        read = roundTrip(request);
+        assertEquals(0, read.getAlternatives());
+        assertEquals(List.of(), read.getWaypointIndices());
+    }
+
+    @Test
+    void roundTripsResponsesWithLegsAndAlternatives() throws IOException {
+        LocationDTO a = new LocationDTO("A", 22.57, 88.36);
+        LocationDTO b = new LocationDTO("B", 22.57, 88.38);
+        LocationDTO c = new LocationDTO("C", 22.58, 88.37);
+        PathResponse response = new PathResponse();
+        response.setPathFound(true);
+        response.setMessage("Shortest path found successfully");
+        response.setAlgorithm("DIJKSTRA");
+        response.setTotalDistanceKm(3.03);
+        response.setTotalDistanceMiles(1.88);
+        response.setSettledNodes(3);
+        response.setPath(List.of(a, c, b));
+        response.setSegments(List.of(new PathResponse.PathSegment(a, c, 1.51),
+                                     new PathResponse.PathSegment(c, b, 1.52)));
+        response.setLegs(List.of(new PathResponse.RouteLeg(0, 2, 1.51, 0.94, 1),
+                                 new PathResponse.RouteLeg(2, 1, 1.52, 0.94, 1)));
+        PathResponse alternative = new PathResponse();
+        alternative.setPathFound(true);
+        alternative.setPathIndices(new int[] { 0, 1 });
+        alternative.setCoordinates(new double[] { 22.57, 88.36, 22.57, 88.38 });
+        alternative.setSegmentDistancesKm(new double[] { 2.05 });
+        response.setAlternatives(List.of(alternative));
+
+        PathResponse read = roundTrip(response);
+        assertTrue(read.isPathFound());
+        assertNull(read.getCached());
+        assertEquals("DIJKSTRA", read.getAlgorithm());
+        assertEquals(3.03, read.getTotalDistanceKm());
+        assertEquals(3, read.getSettledNodes());
+        assertEquals(List.of("A", "C", "B"), read.getPath().stream().map(LocationDTO::getName).toList());
+        assertEquals("C", read.getSegments().get(1).getFrom().getName());
+        assertEquals(1.52, read.getSegments().get(1).getDistanceKm());
+        assertNull(read.getStatistics());
+
+        assertEquals(2, read.getLegs().size());
+        PathResponse.RouteLeg leg = read.getLegs().get(1);
+        assertEquals(2, leg.getFromIndex());
+        assertEquals(1, leg.getToIndex());
+        assertEquals(1.52, leg.getDistanceKm());
+        assertEquals(0.94, leg.getDistanceMiles());
+        assertEquals(1, leg.getSegmentCount());
+
+        assertEquals(1, read.getAlternatives().size());
+        PathResponse readAlternative = read.getAlternatives().get(0);
+        assertArrayEquals(new int[] { 0, 1 }, readAlternative.getPathIndices());
+        assertArrayEquals(new double[] { 22.57, 88.36, 22.57, 88.38 }, readAlternative.getCoordinates());
+        assertArrayEquals(new double[] { 2.05 }, readAlternative.getSegmentDistancesKm());
+        assertNull(readAlternative.getPath());
+        assertNull(readAlternative.getLegs());
+        assertNull(readAlternative.getAlternatives());
+    }
+
+    @Test
+    void distinguishesAbsentFromEmptyAlternatives() throws IOException {
+        PathResponse response = new PathResponse();
+        response.setMessage("No path found between the specified locations");
+        response.setCached(true);
+        PathResponse.SearchStatistics statistics = new PathResponse.SearchStatistics();
+        statistics.setSearchMs(0.25);
+        response.setStatistics(statistics);
+
+        PathResponse read = roundTrip(response);
+        assertNull(read.getAlternatives());
+        assertNull(read.getLegs());
+        assertEquals(Boolean.TRUE, read.getCached());
+        assertEquals(0.25, read.getStatistics().getSearchMs());
+        assertNull(read.getStatistics().getGraphMs());
+        assertNull(read.getStatistics().getSettledNodes());
+
+        response.setAlternatives(List.of());
+        response.setLegs(List.of());
+        read = roundTrip(response);
+        assertEquals(List.of(), read.getAlternatives());
+        assertEquals(List.of(), read.getLegs());
+    }
+
+    @Test
+    void rejectsCountsBeyondTheMessage() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(BinaryPathCodec.MAGIC);
+        data.writeByte(0);
+        data.writeUTF("");
+        data.writeUTF("");
+        data.writeDouble(0);
+        data.writeDouble(0);
+        data.writeInt(-1);
+        data.writeInt(0);
+        data.writeInt(0);
+        // Path indices claimed for the whole int range, followed by a single one
+        data.writeInt(Integer.MAX_VALUE);
+        data.writeInt(7);
+        data.flush();
+
+        assertThrows(IOException.class,
+                     () -> BinaryPathCodec.readPathResponse(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    private static GraphPathRequest roundTrip(GraphPathRequest request) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryPathCodec.write(request, out);
+        return BinaryPathCodec.readGraphPathRequest(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static PathResponse roundTrip(PathResponse response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryPathCodec.write(response, out);
+        return BinaryPathCodec.readPathResponse(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 02:48:15 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AStarSearchTest {
+
+    private static final int SIDE = 60;
+    private static final int PAIRS = 300;
+
+    @Test
+    void matchesDijkstraWithEveryQueue() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 31));
+        for (SearchQueueType queueType : SearchQueueType.values())
+            assertMatchesDijkstra(graph, queueType, 32);
+    }
+
+    @Test
+    void settlesFewerNodesThanDijkstra() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 33));
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        Random random = new Random(34);
+        long dijkstra = 0;
+        long aStar = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            dijkstra += graph.search(start, end, SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT).getSettledNodes();
+            aStar += graph.search(start, end, SearchAlgorithm.A_STAR, SearchQueueType.DEFAULT).getSettledNodes();
+        }
+        assertTrue(aStar < dijkstra, aStar + " >= " + dijkstra);
+    }
+
+    @Test
+    void handlesTrivialAndUnreachableTargets() {
+        CsrGraph.Builder builder = CsrGraph.builder();
+        int a = builder.addLocation(new Location("A", 22.57, 88.36));
+        int b = builder.addLocation(new Location("B", 22.57, 88.38));
+        int c = builder.addLocation(new Location("C", 22.60, 88.40));
+        builder.addEdge(a, b);
+        GeographicGraph graph = GeographicGraph.of(builder.build());
+
+        SearchResult same = graph.search(a, a, SearchAlgorithm.A_STAR, SearchQueueType.DEFAULT);
+        assertTrue(same.isPathFound());
+        assertEquals(0.0, same.getDistance());
+        assertArrayEquals(new int[] { a }, same.getNodes());
+
+        assertFalse(graph.search(a, c, SearchAlgorithm.A_STAR, SearchQueueType.DEFAULT).isPathFound());
+    }
+
+    // Weights are stretched at random, so shortest paths are unique and must match node for node
+    private static void assertMatchesDijkstra(GeographicGraph graph, SearchQueueType queueType, long seed) {
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        Random random = new Random(seed);
+        for (int i = 0; i < PAIRS; i++) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            SearchResult expected = graph.search(start, end, SearchAlgorithm.DIJKSTRA, queueType);
+            SearchResult actual = graph.search(start, end, SearchAlgorithm.A_STAR, queueType);
+
+            String label = queueType + " " + start + " -> " + end;
+            assertEquals(expected.isPathFound(), actual.isPathFound(), label);
+            if (expected.isPathFound()) {
+                assertEquals(expected.getDistance(), actual.getDistance(), 1e-9, label);
+                assertArrayEquals(expected.getNodes(), actual.getNodes(), label);
+            }
+        }
+    }
+}
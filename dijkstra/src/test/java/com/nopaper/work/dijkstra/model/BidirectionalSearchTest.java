@@ -0,0 +1,81 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 03:10:52 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BidirectionalSearchTest {
+
+    private static final int SIDE = 60;
+    private static final int PAIRS = 300;
+
+    @Test
+    void bidirectionalDijkstraMatchesDijkstraWithEveryQueue() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 41));
+        for (SearchQueueType queueType : SearchQueueType.values())
+            assertMatchesDijkstra(graph, SearchAlgorithm.BIDIRECTIONAL_DIJKSTRA, queueType, 42);
+    }
+
+    @Test
+    void bidirectionalAStarMatchesDijkstraWithEveryQueue() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 43));
+        for (SearchQueueType queueType : SearchQueueType.values())
+            assertMatchesDijkstra(graph, SearchAlgorithm.BIDIRECTIONAL_A_STAR, queueType, 44);
+    }
+
+    @Test
+    void handlesTrivialAndUnreachableTargets() {
+        CsrGraph.Builder builder = CsrGraph.builder();
+        int a = builder.addLocation(new Location("A", 22.57, 88.36));
+        int b = builder.addLocation(new Location("B", 22.57, 88.38));
+        int c = builder.addLocation(new Location("C", 22.60, 88.40));
+        int d = builder.addLocation(new Location("D", 22.61, 88.41));
+        builder.addEdge(a, b);
+        builder.addEdge(c, d);
+        GeographicGraph graph = GeographicGraph.of(builder.build());
+
+        for (SearchAlgorithm algorithm : new SearchAlgorithm[] {
+                SearchAlgorithm.BIDIRECTIONAL_DIJKSTRA, SearchAlgorithm.BIDIRECTIONAL_A_STAR }) {
+            SearchResult same = graph.search(a, a, algorithm, SearchQueueType.DEFAULT);
+            assertTrue(same.isPathFound(), algorithm.toString());
+            assertEquals(0.0, same.getDistance(), algorithm.toString());
+            assertArrayEquals(new int[] { a }, same.getNodes(), algorithm.toString());
+
+            SearchResult adjacent = graph.search(b, a, algorithm, SearchQueueType.DEFAULT);
+            assertArrayEquals(new int[] { b, a }, adjacent.getNodes(), algorithm.toString());
+
+            assertFalse(graph.search(a, d, algorithm, SearchQueueType.DEFAULT).isPathFound(), algorithm.toString());
+        }
+    }
+
+    // Weights are stretched at random, so shortest paths are unique and must match node for node
+    private static void assertMatchesDijkstra(GeographicGraph graph, SearchAlgorithm algorithm,
+                                              SearchQueueType queueType, long seed) {
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        Random random = new Random(seed);
+        for (int i = 0; i < PAIRS; i++) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            SearchResult expected = graph.search(start, end, SearchAlgorithm.DIJKSTRA, queueType);
+            SearchResult actual = graph.search(start, end, algorithm, queueType);
+
+            String label = algorithm + " " + queueType + " " + start + " -> " + end;
+            assertEquals(expected.isPathFound(), actual.isPathFound(), label);
+            if (expected.isPathFound()) {
+                assertEquals(expected.getDistance(), actual.getDistance(), 1e-9, label);
+                assertArrayEquals(expected.getNodes(), actual.getNodes(), label);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 05-Dec-2025 10:41:12 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContractionHierarchyTest {
+
+    private static final int SIDE = 60;
+    private static final int PAIRS = 300;
+
+    @Test
+    void matchesDijkstraOnRandomPairs() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 1));
+        assertTrue(graph.getContractionHierarchy().getShortcutCount() > 0);
+
+        assertMatchesDijkstra(graph, 11);
+    }
+
+    @Test
+    void matchesDijkstraAfterStreamRoundTrip() throws IOException {
+        CsrGraph compiled = TestGraphs.grid(SIDE, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContractionHierarchy.build(compiled).write(out);
+
+        GeographicGraph graph = GeographicGraph.of(compiled);
+        graph.setContractionHierarchy(ContractionHierarchy.read(new ByteArrayInputStream(out.toByteArray()), compiled));
+
+        assertMatchesDijkstra(graph, 12);
+    }
+
+    @Test
+    void matchesDijkstraAfterGraphFileRoundTrip(@TempDir Path directory) throws IOException {
+        GeographicGraph built = GeographicGraph.of(TestGraphs.grid(SIDE, 3));
+        built.getContractionHierarchy();
+        Path file = directory.resolve("graph.djg");
+        GraphFile.write(file, built);
+
+        GeographicGraph opened = GraphFile.open(file);
+        assertTrue(opened.hasContractionHierarchy());
+        assertTrue(opened.getCsrGraph().isMapped());
+
+        assertMatchesDijkstra(opened, 13);
+    }
+
+    // Weights are stretched at random, so shortest paths are unique and must match node for node
+    private static void assertMatchesDijkstra(GeographicGraph graph, long seed) {
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        Random random = new Random(seed);
+        for (int i = 0; i < PAIRS; i++) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            SearchResult expected = graph.search(start, end, SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT);
+            SearchResult actual = graph.search(start, end, SearchAlgorithm.CONTRACTION_HIERARCHIES,
+                                               SearchQueueType.DEFAULT);
+
+            assertEquals(expected.isPathFound(), actual.isPathFound(), start + " -> " + end);
+            if (expected.isPathFound()) {
+                assertEquals(expected.getDistance(), actual.getDistance(), 1e-9, start + " -> " + end);
+                assertEquals(expected.getPath(), actual.getPath(), start + " -> " + end);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 06-Dec-2025 02:14:37 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs in the default test JVM and again with one and with four common-pool threads (see
+ * the surefire executions in the pom), since the parallel paths split work by that count.
+ */
+class CsrGraphBuilderTest {
+
+    private static final int NODES = 20_000;
+    // Above the threshold both as edges for addEdges and as arcs for build
+    private static final int EDGES = CsrGraph.Builder.PARALLEL_THRESHOLD + 20_000;
+
+    @Test
+    void parallelSortMatchesASequentialCountingSort() {
+        Random random = new Random(61);
+        CsrGraph.Builder builder = withLocations(random);
+        int[] from = new int[EDGES];
+        int[] to = new int[EDGES];
+        double[] weights = new double[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            from[i] = random.nextInt(NODES);
+            to[i] = (from[i] + 1 + random.nextInt(NODES - 1)) % NODES;
+            weights[i] = 1 + random.nextDouble();
+            builder.addEdge(from[i], to[i], weights[i]);
+        }
+
+        CsrGraph graph = builder.build();
+
+        // A stable sort by source keeps every node's arcs in the order they were added
+        List<List<Integer>> arcs = new ArrayList<>(NODES);
+        for (int node = 0; node < NODES; node++)
+            arcs.add(new ArrayList<>());
+        for (int i = 0; i < EDGES; i++) {
+            arcs.get(from[i]).add(i);
+            arcs.get(to[i]).add(~i);
+        }
+        assertEquals(2 * EDGES, graph.getEdgeCount());
+        int edge = 0;
+        for (int node = 0; node < NODES; node++) {
+            assertEquals(edge, graph.getEdgeStart(node), "start of node " + node);
+            for (int arc : arcs.get(node)) {
+                assertEquals(arc >= 0 ? to[arc] : from[~arc], graph.getTarget(edge), "target of edge " + edge);
+                assertEquals(weights[arc >= 0 ? arc : ~arc], graph.getWeight(edge), "weight of edge " + edge);
+                edge++;
+            }
+            assertEquals(edge, graph.getEdgeEnd(node), "end of node " + node);
+        }
+    }
+
+    @Test
+    void batchedEdgesMatchEdgesAddedOneByOne() {
+        Random random = new Random(62);
+        CsrGraph.Builder single = withLocations(random);
+        random = new Random(62);
+        CsrGraph.Builder batched = withLocations(random);
+        int[] from = new int[EDGES];
+        int[] to = new int[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            from[i] = random.nextInt(NODES);
+            to[i] = (from[i] + 1 + random.nextInt(NODES - 1)) % NODES;
+            single.addEdge(from[i], to[i]);
+        }
+        batched.addEdges(from, to);
+
+        CsrGraph expected = single.build();
+        CsrGraph actual = batched.build();
+
+        // Vectorized batch weights may differ from the scalar formula in the last bits
+        double tolerance = GeoDistance.VECTORIZED ? 1e-12 : 0;
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int node = 0; node < NODES; node++) {
+            assertEquals(expected.getEdgeStart(node), actual.getEdgeStart(node), "start of node " + node);
+            assertEquals(expected.getEdgeEnd(node), actual.getEdgeEnd(node), "end of node " + node);
+        }
+        for (int edge = 0; edge < expected.getEdgeCount(); edge++) {
+            assertEquals(expected.getTarget(edge), actual.getTarget(edge), "target of edge " + edge);
+            double weight = expected.getWeight(edge);
+            assertEquals(weight, actual.getWeight(edge), tolerance * weight, "weight of edge " + edge);
+        }
+    }
+
+    // Random distinct locations around Kolkata
+    private static CsrGraph.Builder withLocations(Random random) {
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int node = 0; node < NODES; node++) {
+            Location location = new Location("N" + node, 22.4 + 0.4 * random.nextDouble(),
+                                             88.2 + 0.4 * random.nextDouble());
+            if (builder.addLocation(location) != node)
+                throw new IllegalStateException("Duplicate location");
+        }
+        return builder;
+    }
+}
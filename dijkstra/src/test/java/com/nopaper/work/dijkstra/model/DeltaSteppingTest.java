@@ -0,0 +1,87 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 06-Dec-2025 10:07:52 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class DeltaSteppingTest {
+
+    // Large enough that big deltas give frontiers above DeltaStepping.PARALLEL_THRESHOLD
+    private static final int SIDE = 200;
+    private static final double[] DELTAS = { 0.05, 0.5, 5, 50 };
+
+    private static GeographicGraph graph;
+
+    @BeforeAll
+    static void buildGraph() {
+        graph = GeographicGraph.of(TestGraphs.grid(SIDE, 31));
+    }
+
+    @Test
+    void matchesDijkstraOnOneWorker() {
+        try (ForkJoinPool pool = new ForkJoinPool(1)) {
+            assertMatchesDijkstra(pool, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    @Test
+    void matchesDijkstraOnSeveralWorkers() {
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            assertMatchesDijkstra(pool, Double.POSITIVE_INFINITY);
+        }
+    }
+
+    @Test
+    void stopsAtTheMaximumDistance() {
+        try (ForkJoinPool pool = new ForkJoinPool(4)) {
+            assertMatchesDijkstra(pool, 5);
+        }
+    }
+
+    @Test
+    void usesTheDefaultDelta() {
+        int source = SIDE * SIDE / 2;
+        assertSameTree(graph.shortestPathTree(source, Double.POSITIVE_INFINITY),
+                       graph.parallelShortestPathTree(source, Double.POSITIVE_INFINITY));
+    }
+
+    private static void assertMatchesDijkstra(ForkJoinPool pool, double maxDistance) {
+        int[] sources = { 0, SIDE * SIDE / 2, SIDE * SIDE - 1 };
+        for (int source : sources) {
+            ShortestPathTree expected = graph.shortestPathTree(source, maxDistance);
+            for (double delta : DELTAS)
+                assertSameTree(expected, graph.parallelShortestPathTree(source, maxDistance, delta, pool));
+        }
+    }
+
+    // Parents may differ between equally short paths, so they are checked against the distances
+    private static void assertSameTree(ShortestPathTree expected, ShortestPathTree actual) {
+        assertEquals(expected.getSource(), actual.getSource());
+        assertEquals(expected.size(), actual.size());
+        double[] expectedDistances = expected.toDistanceArray();
+        double[] actualDistances = actual.toDistanceArray();
+        for (int node = 0; node < expectedDistances.length; node++)
+            assertEquals(expectedDistances[node], actualDistances[node], 1e-9, "node " + node);
+
+        CsrGraph compiled = actual.getGraph();
+        for (int i = 0; i < actual.size(); i++) {
+            int node = actual.getNode(i);
+            int parent = actual.getParent(i);
+            if (node == actual.getSource()) {
+                assertEquals(-1, parent);
+                continue;
+            }
+            assertEquals(actualDistances[node], actualDistances[parent] + compiled.getEdgeWeight(parent, node), 1e-9,
+                         "parent of node " + node);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 05-Dec-2025 02:36:48 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class EdgeWeightUpdateTest {
+
+    private static final int SIDE = 40;
+    private static final int PAIRS = 200;
+
+    @Test
+    void reweightsBothDirectionsAndKeepsTheOldSnapshot() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 21));
+        CsrGraph before = graph.getCsrGraph();
+        int from = 0;
+        int to = before.getTarget(before.getEdgeStart(from));
+        double weight = before.getEdgeWeight(from, to);
+        long version = graph.getVersion();
+
+        graph.updateEdgeWeights(new int[] { from }, new int[] { to }, new double[] { weight * 3 });
+
+        CsrGraph after = graph.getCsrGraph();
+        assertNotEquals(version, graph.getVersion());
+        assertEquals(weight * 3, after.getEdgeWeight(from, to));
+        assertEquals(weight * 3, after.getEdgeWeight(to, from));
+        assertEquals(weight, before.getEdgeWeight(from, to));
+        assertSameEdgesExcept(before, after, from, to);
+    }
+
+    @Test
+    void removesEdgesWithInfiniteWeight() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 22));
+        CsrGraph before = graph.getCsrGraph();
+        int from = SIDE + 1;
+        int to = before.getTarget(before.getEdgeStart(from));
+
+        graph.updateEdgeWeights(new int[] { from }, new int[] { to },
+                                new double[] { Double.POSITIVE_INFINITY });
+
+        CsrGraph after = graph.getCsrGraph();
+        assertEquals(Double.POSITIVE_INFINITY, after.getEdgeWeight(from, to));
+        assertEquals(Double.POSITIVE_INFINITY, after.getEdgeWeight(to, from));
+        assertEquals(before.getEdgeCount() - 2, after.getEdgeCount());
+        assertSameEdgesExcept(before, after, from, to);
+
+        SearchResult result = graph.search(from, to, SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT);
+        if (result.isPathFound())
+            assertTrue(result.getNodes().length > 2);
+    }
+
+    @Test
+    void rejectsWeightsBelowTheGreatCircleDistance() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 23));
+        CsrGraph before = graph.getCsrGraph();
+        int from = 0;
+        int to = before.getTarget(before.getEdgeStart(from));
+        double greatCircle = before.getLocation(from).distanceTo(before.getLocation(to));
+        long version = graph.getVersion();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            graph.updateEdgeWeights(new int[] { from }, new int[] { to }, new double[] { greatCircle * 0.9 }));
+
+        assertSame(before, graph.getCsrGraph());
+        assertEquals(version, graph.getVersion());
+    }
+
+    @Test
+    void reusesLandmarksWhenNoWeightWentDown() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 24));
+        LandmarkIndex landmarks = graph.getLandmarkIndex();
+        graph.getContractionHierarchy();
+        int[] from = new int[20];
+        int[] to = new int[20];
+        double[] weights = new double[20];
+        pickEdges(graph.getCsrGraph(), from, to, weights, 25);
+        for (int i = 0; i < weights.length; i++)
+            weights[i] *= 2;
+
+        graph.updateEdgeWeights(from, to, weights);
+
+        assertTrue(graph.hasLandmarkIndex());
+        assertFalse(graph.hasContractionHierarchy());
+        assertSame(graph.getCsrGraph(), graph.getLandmarkIndex().getGraph());
+        assertArrayEquals(landmarks.getLandmarks(), graph.getLandmarkIndex().getLandmarks());
+        assertAltMatchesDijkstra(graph, 26);
+    }
+
+    @Test
+    void recomputesLandmarksAfterADecrease() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 27));
+        LandmarkIndex landmarks = graph.getLandmarkIndex();
+        int[] from = new int[20];
+        int[] to = new int[20];
+        double[] weights = new double[20];
+        pickEdges(graph.getCsrGraph(), from, to, weights, 28);
+        CsrGraph before = graph.getCsrGraph();
+        for (int i = 0; i < weights.length; i++)
+            weights[i] = before.getLocation(from[i]).distanceTo(before.getLocation(to[i]));
+
+        graph.updateEdgeWeights(from, to, weights);
+
+        assertFalse(graph.hasLandmarkIndex());
+        LandmarkIndex recomputed = graph.getLandmarkIndex();
+        assertSame(graph.getCsrGraph(), recomputed.getGraph());
+        assertArrayEquals(landmarks.getLandmarks(), recomputed.getLandmarks());
+        assertAltMatchesDijkstra(graph, 29);
+    }
+
+    // Picks distinct edges by their first direction, with their current weights
+    private static void pickEdges(CsrGraph graph, int[] from, int[] to, double[] weights, long seed) {
+        Random random = new Random(seed);
+        for (int i = 0; i < from.length; i++) {
+            int node;
+            do {
+                node = random.nextInt(graph.getNodeCount());
+            } while (graph.getEdgeStart(node) == graph.getEdgeEnd(node) || contains(from, i, node));
+            from[i] = node;
+            to[i] = graph.getTarget(graph.getEdgeStart(node));
+            weights[i] = graph.getWeight(graph.getEdgeStart(node));
+        }
+    }
+
+    private static boolean contains(int[] nodes, int length, int node) {
+        for (int i = 0; i < length; i++) {
+            if (nodes[i] == node)
+                return true;
+        }
+        return false;
+    }
+
+    private static void assertSameEdgesExcept(CsrGraph before, CsrGraph after, int from, int to) {
+        for (int node = 0; node < before.getNodeCount(); node++) {
+            for (int edge = before.getEdgeStart(node); edge < before.getEdgeEnd(node); edge++) {
+                int target = before.getTarget(edge);
+                boolean updated = node == from && target == to || node == to && target == from;
+                if (!updated)
+                    assertEquals(before.getWeight(edge), after.getEdgeWeight(node, target), node + " -> " + target);
+            }
+        }
+    }
+
+    private static void assertAltMatchesDijkstra(GeographicGraph graph, long seed) {
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        Random random = new Random(seed);
+        for (int i = 0; i < PAIRS; i++) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            SearchResult expected = graph.search(start, end, SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT);
+            SearchResult actual = graph.search(start, end, SearchAlgorithm.ALT, SearchQueueType.DEFAULT);
+            assertEquals(expected.getDistance(), actual.getDistance(), 1e-9, start + " -> " + end);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 12:21:53 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphFileTest {
+
+    private static final int SIDE = 30;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripKeepsTheCompiledGraph() throws IOException {
+        GeographicGraph built = GeographicGraph.of(TestGraphs.grid(SIDE, 1));
+        GeographicGraph opened = roundTrip(built);
+
+        assertTrue(opened.getCsrGraph().isMapped());
+        assertFalse(opened.hasContractionHierarchy());
+        assertFalse(opened.hasLandmarkIndex());
+        assertGraphEquals(built.getCsrGraph(), opened.getCsrGraph());
+    }
+
+    @Test
+    void roundTripKeepsHierarchyAndLandmarks() throws IOException {
+        GeographicGraph built = GeographicGraph.of(TestGraphs.grid(SIDE, 2));
+        ContractionHierarchy hierarchy = built.getContractionHierarchy();
+        LandmarkIndex landmarks = built.getLandmarkIndex();
+        GeographicGraph opened = roundTrip(built);
+
+        assertGraphEquals(built.getCsrGraph(), opened.getCsrGraph());
+        assertTrue(opened.hasContractionHierarchy());
+        ContractionHierarchy mappedHierarchy = opened.getContractionHierarchy();
+        assertEquals(hierarchy.getEdgeCount(), mappedHierarchy.getEdgeCount());
+        assertEquals(hierarchy.ranks(), mappedHierarchy.ranks());
+        assertEquals(hierarchy.offsets(), mappedHierarchy.offsets());
+        assertEquals(hierarchy.targets(), mappedHierarchy.targets());
+        assertEquals(hierarchy.weights(), mappedHierarchy.weights());
+        assertEquals(hierarchy.middles(), mappedHierarchy.middles());
+
+        assertTrue(opened.hasLandmarkIndex());
+        LandmarkIndex mappedLandmarks = opened.getLandmarkIndex();
+        assertArrayEquals(landmarks.getLandmarks(), mappedLandmarks.getLandmarks());
+        assertEquals(landmarks.distances(), mappedLandmarks.distances());
+    }
+
+    @Test
+    void sectionsAreOptionalIndependently() throws IOException {
+        GeographicGraph built = GeographicGraph.of(TestGraphs.grid(SIDE, 3));
+        built.getLandmarkIndex();
+        GeographicGraph opened = roundTrip(built);
+
+        assertFalse(opened.hasContractionHierarchy());
+        assertTrue(opened.hasLandmarkIndex());
+        assertArrayEquals(built.getLandmarkIndex().getLandmarks(), opened.getLandmarkIndex().getLandmarks());
+    }
+
+    @Test
+    void namesAreStoredAsUtf8() throws IOException {
+        CsrGraph.Builder builder = CsrGraph.builder();
+        int a = builder.addLocation(new Location("Kolkātā", 22.5726, 88.3639));
+        int b = builder.addLocation(new Location("হাওড়া", 22.5958, 88.2636));
+        int c = builder.addLocation(new Location("Salt Lake", 22.5867, 88.4171));
+        builder.addEdge(a, b);
+        builder.addEdge(a, c);
+        GeographicGraph opened = roundTrip(GeographicGraph.of(builder.build()));
+
+        assertEquals("Kolkātā", opened.getCsrGraph().getName(a));
+        assertEquals("হাওড়া", opened.getCsrGraph().getName(b));
+        assertEquals("Salt Lake", opened.getCsrGraph().getName(c));
+    }
+
+    @Test
+    void rejectsBadMagic() throws IOException {
+        Path file = directory.resolve("graph.djg");
+        GraphFile.write(file, GeographicGraph.of(TestGraphs.grid(4, 4)));
+        overwriteInt(file, 0, 0x12345678);
+
+        IOException error = assertThrows(IOException.class, () -> GraphFile.open(file));
+        assertTrue(error.getMessage().startsWith("Not a graph file"), error.getMessage());
+    }
+
+    @Test
+    void rejectsUnknownVersion() throws IOException {
+        Path file = directory.resolve("graph.djg");
+        GraphFile.write(file, GeographicGraph.of(TestGraphs.grid(4, 5)));
+        overwriteInt(file, 4, 2);
+
+        IOException error = assertThrows(IOException.class, () -> GraphFile.open(file));
+        assertEquals("Unsupported graph file version 2", error.getMessage());
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path file = directory.resolve("graph.djg");
+        GraphFile.write(file, GeographicGraph.of(TestGraphs.grid(4, 6)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 8);
+        }
+
+        IOException error = assertThrows(IOException.class, () -> GraphFile.open(file));
+        assertTrue(error.getMessage().startsWith("Graph file is truncated"), error.getMessage());
+    }
+
+    private GeographicGraph roundTrip(GeographicGraph graph) throws IOException {
+        Path file = directory.resolve("graph.djg");
+        GraphFile.write(file, graph);
+        assertFalse(Files.exists(directory.resolve("graph.djg.tmp")));
+        return GraphFile.open(file);
+    }
+
+    private static void assertGraphEquals(CsrGraph expected, CsrGraph actual) {
+        assertEquals(expected.getNodeCount(), actual.getNodeCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        assertEquals(expected.offsets(), actual.offsets());
+        assertEquals(expected.targets(), actual.targets());
+        assertEquals(expected.weights(), actual.weights());
+        assertEquals(expected.latitudes(), actual.latitudes());
+        assertEquals(expected.longitudes(), actual.longitudes());
+        for (int v = 0; v < expected.getNodeCount(); v++)
+            assertEquals(expected.getName(v), actual.getName(v));
+    }
+
+    private static void overwriteInt(Path file, long position, int value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(value);
+            channel.write(buffer.flip(), position);
+        }
+    }
+}
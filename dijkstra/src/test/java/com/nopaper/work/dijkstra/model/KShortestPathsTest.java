@@ -0,0 +1,100 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 06-Dec-2025 10:41:15 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class KShortestPathsTest {
+
+    private static final int SIDE = 30;
+    private static final int PAIRS = 40;
+    private static final int K = 8;
+
+    @Test
+    void findsDistinctLooplessPathsInOrderOfDistance() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 41));
+        CsrGraph compiled = graph.getCsrGraph();
+        Random random = new Random(42);
+        for (int pair = 0; pair < PAIRS; pair++) {
+            int start = random.nextInt(compiled.getNodeCount());
+            int end = random.nextInt(compiled.getNodeCount());
+            SearchResult shortest = graph.search(start, end, SearchAlgorithm.DIJKSTRA, SearchQueueType.BINARY_HEAP);
+
+            for (SearchQueueType queueType : SearchQueueType.values()) {
+                List<SearchResult> routes = graph.kShortestPaths(start, end, K, queueType);
+                if (!shortest.isPathFound()) {
+                    assertTrue(routes.isEmpty());
+                    continue;
+                }
+
+                String name = start + " -> " + end + " with " + queueType;
+                assertFalse(routes.isEmpty(), name);
+                assertTrue(routes.size() <= K, name);
+                assertArrayEquals(shortest.getNodes(), routes.get(0).getNodes(), name);
+                assertEquals(shortest.getDistance(), routes.get(0).getDistance(), 1e-9, name);
+                for (int i = 0; i < routes.size(); i++) {
+                    SearchResult route = routes.get(i);
+                    assertRoute(compiled, start, end, route, name);
+                    if (i > 0)
+                        assertTrue(route.getDistance() >= routes.get(i - 1).getDistance() - 1e-9, name);
+                    for (int j = 0; j < i; j++)
+                        assertFalse(Arrays.equals(routes.get(j).getNodes(), route.getNodes()), name);
+                }
+            }
+        }
+    }
+
+    @Test
+    void returnsFewerPathsWhenNoMoreExist() {
+        // A square with one diagonal has exactly four loopless paths between opposite corners
+        CsrGraph.Builder builder = CsrGraph.builder();
+        int a = builder.addLocation(new Location("A", 22.50, 88.30));
+        int b = builder.addLocation(new Location("B", 22.50, 88.31));
+        int c = builder.addLocation(new Location("C", 22.51, 88.30));
+        int d = builder.addLocation(new Location("D", 22.51, 88.31));
+        builder.addEdge(a, b, 1.2).addEdge(a, c, 1.2).addEdge(b, d, 1.2).addEdge(c, d, 1.3).addEdge(b, c, 1.6);
+        GeographicGraph graph = GeographicGraph.of(builder.build());
+
+        List<SearchResult> routes = graph.kShortestPaths(a, d, K, SearchQueueType.BINARY_HEAP);
+
+        assertEquals(4, routes.size());
+        assertArrayEquals(new int[] { a, b, d }, routes.get(0).getNodes());
+        assertArrayEquals(new int[] { a, c, d }, routes.get(1).getNodes());
+        assertArrayEquals(new int[] { a, c, b, d }, routes.get(2).getNodes());
+        assertArrayEquals(new int[] { a, b, c, d }, routes.get(3).getNodes());
+        assertEquals(2.4, routes.get(0).getDistance(), 1e-9);
+        assertEquals(4.0, routes.get(2).getDistance(), 1e-9);
+        assertEquals(4.1, routes.get(3).getDistance(), 1e-9);
+    }
+
+    private static void assertRoute(CsrGraph graph, int start, int end, SearchResult route, String name) {
+        int[] nodes = route.getNodes();
+        assertEquals(start, nodes[0], name);
+        assertEquals(end, nodes[nodes.length - 1], name);
+        assertEquals(nodes.length, route.getPath().size(), name);
+
+        BitSet visited = new BitSet(graph.getNodeCount());
+        double distance = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            assertFalse(visited.get(nodes[i]), name + " revisits node " + nodes[i]);
+            visited.set(nodes[i]);
+            if (i > 0)
+                distance += graph.getEdgeWeight(nodes[i - 1], nodes[i]);
+        }
+        assertEquals(distance, route.getDistance(), 1e-9, name);
+    }
+}
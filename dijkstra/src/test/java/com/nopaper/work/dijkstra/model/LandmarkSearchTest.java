@@ -0,0 +1,116 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 03:34:26 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LandmarkSearchTest {
+
+    private static final int SIDE = 60;
+    private static final int PAIRS = 300;
+
+    @Test
+    void matchesDijkstraWithEveryQueue() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 51));
+        for (SearchQueueType queueType : SearchQueueType.values())
+            assertMatchesDijkstra(graph, queueType, 52);
+    }
+
+    @Test
+    void matchesDijkstraWithEverySelectionAndFewLandmarks() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 53));
+        for (LandmarkIndex.Selection selection : LandmarkIndex.Selection.values()) {
+            for (int count : new int[] { 1, 4 }) {
+                graph.setLandmarkIndex(LandmarkIndex.build(graph.getCsrGraph(), count, selection));
+                assertEquals(count, graph.getLandmarkIndex().getLandmarkCount());
+                assertMatchesDijkstra(graph, SearchQueueType.DEFAULT, 54 + count);
+            }
+        }
+    }
+
+    @Test
+    void matchesDijkstraAfterWeightsWentUp() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 55));
+        LandmarkIndex landmarks = graph.getLandmarkIndex();
+        CsrGraph before = graph.getCsrGraph();
+        int[] from = new int[200];
+        int[] to = new int[200];
+        double[] weights = new double[200];
+        pickEdges(before, from, to, 56);
+        for (int i = 0; i < from.length; i++)
+            weights[i] = before.getEdgeWeight(from[i], to[i]) * 3;
+
+        graph.updateEdgeWeights(from, to, weights);
+
+        // The old distances remain lower bounds, so the index is reused as is
+        assertTrue(graph.hasLandmarkIndex());
+        assertSame(graph.getCsrGraph(), graph.getLandmarkIndex().getGraph());
+        assertArrayEquals(landmarks.getLandmarks(), graph.getLandmarkIndex().getLandmarks());
+        for (SearchQueueType queueType : SearchQueueType.values())
+            assertMatchesDijkstra(graph, queueType, 57);
+    }
+
+    @Test
+    void matchesDijkstraAfterWeightsWentDown() {
+        GeographicGraph graph = GeographicGraph.of(TestGraphs.grid(SIDE, 58));
+        graph.getLandmarkIndex();
+        CsrGraph before = graph.getCsrGraph();
+        int[] from = new int[200];
+        int[] to = new int[200];
+        double[] weights = new double[200];
+        pickEdges(before, from, to, 59);
+        for (int i = 0; i < from.length; i++)
+            weights[i] = before.getLocation(from[i]).distanceTo(before.getLocation(to[i]));
+
+        graph.updateEdgeWeights(from, to, weights);
+
+        assertSame(graph.getCsrGraph(), graph.getLandmarkIndex().getGraph());
+        for (SearchQueueType queueType : SearchQueueType.values())
+            assertMatchesDijkstra(graph, queueType, 60);
+    }
+
+    // Distinct nodes, each with the first edge it has
+    private static void pickEdges(CsrGraph graph, int[] from, int[] to, long seed) {
+        Random random = new Random(seed);
+        boolean[] picked = new boolean[graph.getNodeCount()];
+        for (int i = 0; i < from.length; i++) {
+            int node;
+            do {
+                node = random.nextInt(graph.getNodeCount());
+            } while (picked[node] || graph.getEdgeStart(node) == graph.getEdgeEnd(node));
+            picked[node] = true;
+            from[i] = node;
+            to[i] = graph.getTarget(graph.getEdgeStart(node));
+        }
+    }
+
+    // Weights are stretched at random, so shortest paths are unique and must match node for node
+    private static void assertMatchesDijkstra(GeographicGraph graph, SearchQueueType queueType, long seed) {
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        Random random = new Random(seed);
+        for (int i = 0; i < PAIRS; i++) {
+            int start = random.nextInt(nodeCount);
+            int end = random.nextInt(nodeCount);
+            SearchResult expected = graph.search(start, end, SearchAlgorithm.DIJKSTRA, queueType);
+            SearchResult actual = graph.search(start, end, SearchAlgorithm.ALT, queueType);
+
+            String label = queueType + " " + start + " -> " + end;
+            assertEquals(expected.isPathFound(), actual.isPathFound(), label);
+            if (expected.isPathFound()) {
+                assertEquals(expected.getDistance(), actual.getDistance(), 1e-9, label);
+                assertArrayEquals(expected.getNodes(), actual.getNodes(), label);
+            }
+        }
+    }
+}
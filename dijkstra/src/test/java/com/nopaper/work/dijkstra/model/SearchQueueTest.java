@@ -0,0 +1,123 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 11:40:12 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SearchQueueTest {
+
+    private static final int IDS = 2_000;
+    private static final int OPERATIONS = 50_000;
+
+    @Test
+    void monotoneSequencesDrainLikeAPriorityQueue() {
+        for (SearchQueueType type : SearchQueueType.values()) {
+            for (long seed = 1; seed <= 5; seed++)
+                drain(type.create(IDS / 4), new Random(seed), true, type + " seed " + seed);
+        }
+    }
+
+    @Test
+    void heapsDrainArbitrarySequencesLikeAPriorityQueue() {
+        for (int arity = 2; arity <= 5; arity++) {
+            for (long seed = 1; seed <= 5; seed++)
+                drain(new IndexedDaryHeap(arity, IDS), new Random(seed), false, arity + "-ary seed " + seed);
+        }
+    }
+
+    @Test
+    void radixHeapClampsKeysBelowTheLastPolledKey() {
+        RadixHeap heap = new RadixHeap(4);
+        heap.insertOrDecrease(0, 10.0);
+        heap.insertOrDecrease(1, 12.0);
+        assertEquals(0, heap.poll());
+
+        // A key that fell below the last polled one by rounding error is treated as equal
+        heap.insertOrDecrease(2, Math.nextDown(10.0));
+        assertEquals(10.0, heap.peekKey());
+        assertEquals(2, heap.poll());
+
+        heap.insertOrDecrease(1, 9.0);
+        assertEquals(10.0, heap.peekKey());
+        assertEquals(1, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void clearedQueuesAcceptSmallerKeysAgain() {
+        for (SearchQueueType type : SearchQueueType.values()) {
+            SearchQueue queue = type.create(2);
+            queue.insertOrDecrease(0, 100.0);
+            queue.insertOrDecrease(1, 200.0);
+            queue.poll();
+            queue.clear();
+            assertTrue(queue.isEmpty(), type.toString());
+            assertFalse(queue.contains(1), type.toString());
+
+            queue.ensureCapacity(3);
+            queue.insertOrDecrease(2, 5.0);
+            queue.insertOrDecrease(1, 1.0);
+            assertEquals(1.0, queue.peekKey(), type.toString());
+            assertEquals(1, queue.poll(), type.toString());
+            assertEquals(2, queue.poll(), type.toString());
+        }
+    }
+
+    /**
+     * Runs random inserts, decrease-keys and polls against the queue and a
+     * {@link PriorityQueue} with stale entries. Polled ids may differ on equal keys, so
+     * the polled id must hold the smallest queued key.
+     */
+    private static void drain(SearchQueue queue, Random random, boolean monotone, String label) {
+        queue.ensureCapacity(IDS);
+        double[] keys = new double[IDS];
+        boolean[] queued = new boolean[IDS];
+        PriorityQueue<double[]> reference = new PriorityQueue<>(Comparator.comparingDouble(entry -> entry[0]));
+        int size = 0;
+        double last = 0;
+        for (int op = 0; op < OPERATIONS || size > 0; op++) {
+            if (op < OPERATIONS && (size == 0 || random.nextInt(3) > 0)) {
+                int id = random.nextInt(IDS);
+                // Whole numbers make ties common
+                double key = random.nextBoolean() ? random.nextInt(50) : random.nextDouble() * 50;
+                if (monotone)
+                    key += last;
+                queue.insertOrDecrease(id, key);
+                if (!queued[id] || key < keys[id]) {
+                    if (!queued[id])
+                        size++;
+                    keys[id] = key;
+                    queued[id] = true;
+                    reference.add(new double[] { key, id });
+                }
+                assertTrue(queue.contains(id), label);
+            } else {
+                while (keys[(int) reference.peek()[1]] != reference.peek()[0] || !queued[(int) reference.peek()[1]])
+                    reference.poll();
+                double min = reference.peek()[0];
+                assertEquals(min, queue.peekKey(), label);
+                int id = queue.poll();
+                assertTrue(queued[id], label);
+                assertEquals(min, keys[id], label);
+                assertFalse(queue.contains(id), label);
+                queued[id] = false;
+                last = min;
+                size--;
+            }
+            assertEquals(size, queue.size(), label);
+        }
+        assertTrue(queue.isEmpty(), label);
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 06-Dec-2025 11:26:09 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShardedRouteTest {
+
+    private static final int SIDE = 60;
+    private static final int MAX_CELL_SIZE = 200;
+    private static final int SHARDS = 3;
+    private static final int PAIRS = 300;
+
+    private static GeographicGraph graph;
+    private static PartitionedGraph partitioned;
+    private static ExecutorService executor;
+
+    @BeforeAll
+    static void partition() {
+        graph = GeographicGraph.of(TestGraphs.grid(SIDE, 51));
+        partitioned = PartitionedGraph.build(graph.getCsrGraph(), MAX_CELL_SIZE, SHARDS);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterAll
+    static void close() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void routesLikeDijkstraOnTheWholeGraph() {
+        GraphShard[] shards = shards();
+        Random random = new Random(52);
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        for (int pair = 0; pair < PAIRS; pair++)
+            assertRoute(shards, random.nextInt(nodeCount), random.nextInt(nodeCount));
+    }
+
+    @Test
+    void routesWithinACellThroughOtherCells() {
+        GraphShard[] shards = shards();
+        GraphPartition partition = partitioned.getPartition();
+        Random random = new Random(53);
+        int leavingCell = 0;
+        // Cells are contiguous id ranges of the partition
+        for (int cellStart = 0, cellEnd; cellStart < partition.getNodeCount(); cellStart = cellEnd) {
+            int cell = partition.cellOf(cellStart);
+            cellEnd = cellStart;
+            while (cellEnd < partition.getNodeCount() && partition.cellOf(cellEnd) == cell)
+                cellEnd++;
+
+            GraphShard owner = shards[partition.shardOfCell(cell)];
+            for (int pair = 0; pair < 20; pair++) {
+                int from = cellStart + random.nextInt(cellEnd - cellStart);
+                int to = cellStart + random.nextInt(cellEnd - cellStart);
+                RoutePath route = assertRoute(shards, partition.originalNodeOf(from), partition.originalNodeOf(to));
+                RoutePath inCell = owner.cellPath(from, to);
+                if (inCell.isEmpty() || inCell.distance() > route.distance() + 1e-9)
+                    leavingCell++;
+            }
+        }
+        assertTrue(leavingCell > 0, "No pair of a cell has a shorter route through other cells");
+    }
+
+    @Test
+    void opensTheShardsWrittenToADirectory(@TempDir Path directory) throws IOException {
+        partitioned.write(directory);
+        GraphShard[] shards = new GraphShard[SHARDS];
+        for (int i = 0; i < SHARDS; i++)
+            shards[i] = GraphShard.open(directory, i);
+
+        GraphPartition partition = shards[0].getPartition();
+        for (int node = 0; node < partition.getNodeCount(); node++) {
+            assertEquals(partitioned.getPartition().originalNodeOf(node), partition.originalNodeOf(node));
+            assertEquals(node, partition.nodeOf(partition.originalNodeOf(node)));
+        }
+        Random random = new Random(54);
+        int nodeCount = graph.getCsrGraph().getNodeCount();
+        for (int pair = 0; pair < PAIRS / 3; pair++)
+            assertRoute(shards, random.nextInt(nodeCount), random.nextInt(nodeCount));
+    }
+
+    private static GraphShard[] shards() {
+        GraphShard[] shards = new GraphShard[SHARDS];
+        for (int i = 0; i < SHARDS; i++)
+            shards[i] = new GraphShard(partitioned.getPartition(), i, partitioned.getShard(i),
+                                       partitioned.getOverlay());
+        return shards;
+    }
+
+    // Routes between two node ids of the whole graph, checks the route against Dijkstra and returns it
+    private static RoutePath assertRoute(GraphShard[] shards, int start, int end) {
+        GraphPartition partition = shards[0].getPartition();
+        CsrGraph whole = graph.getCsrGraph();
+        int startNode = partition.nodeOf(start);
+        int endNode = partition.nodeOf(end);
+        RoutePath route = shards[partition.shardOf(startNode)].route(startNode, endNode, i -> shards[i], executor);
+        SearchResult expected = graph.search(start, end, SearchAlgorithm.DIJKSTRA, SearchQueueType.DEFAULT);
+
+        String name = start + " -> " + end;
+        assertEquals(expected.isPathFound(), !route.isEmpty(), name);
+        if (route.isEmpty())
+            return route;
+        assertEquals(expected.getDistance(), route.distance(), 1e-9, name);
+
+        int[] nodes = route.nodes();
+        assertEquals(startNode, nodes[0], name);
+        assertEquals(endNode, nodes[nodes.length - 1], name);
+        assertEquals(nodes.length, route.locations().size(), name);
+        assertEquals(nodes.length - 1, route.segmentDistances().length, name);
+        for (int i = 0; i < nodes.length; i++) {
+            int original = partition.originalNodeOf(nodes[i]);
+            assertEquals(whole.getLocation(original), route.locations().get(i), name);
+            if (i > 0)
+                assertEquals(whole.getEdgeWeight(partition.originalNodeOf(nodes[i - 1]), original),
+                             route.segmentDistances()[i - 1], 1e-9, name);
+        }
+        return route;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 06-Dec-2025 03:02:48 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SpatialIndexTest {
+
+    private static final int QUERIES = 2000;
+
+    @Test
+    void findsTheNearestNodeOfPointsAcrossTheGlobe() {
+        Random random = new Random(71);
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int i = 0; i < 5000; i++)
+            builder.addLocation(new Location("G" + i, randomLatitude(random), randomLongitude(random)));
+        CsrGraph graph = builder.build();
+
+        for (int i = 0; i < QUERIES; i++)
+            assertNearest(graph, randomLatitude(random), randomLongitude(random));
+    }
+
+    @Test
+    void findsTheNearestNodeAroundThePolesAndTheAntimeridian() {
+        Random random = new Random(72);
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int i = 0; i < 3000; i++) {
+            double longitude = randomLongitude(random);
+            builder.addLocation(new Location("N" + i, 90 - random.nextDouble(), longitude));
+            builder.addLocation(new Location("S" + i, -90 + random.nextDouble(), longitude));
+            // Within a degree of longitude 180, on both sides of it
+            double nearAntimeridian = 179 + 2 * random.nextDouble();
+            builder.addLocation(new Location("A" + i, randomLatitude(random),
+                                             nearAntimeridian > 180 ? nearAntimeridian - 360 : nearAntimeridian));
+        }
+        builder.addLocation(new Location("North pole", 90, 0));
+        builder.addLocation(new Location("South pole", -90, 45));
+        CsrGraph graph = builder.build();
+
+        for (int i = 0; i < QUERIES; i++) {
+            assertNearest(graph, 90 - 2 * random.nextDouble(), randomLongitude(random));
+            assertNearest(graph, -90 + 2 * random.nextDouble(), randomLongitude(random));
+            assertNearest(graph, randomLatitude(random), random.nextBoolean() ? 180 - random.nextDouble()
+                                                                              : -180 + random.nextDouble());
+        }
+        assertNearest(graph, 90, 123);
+        assertNearest(graph, -90, -77);
+        assertNearest(graph, 0, 180);
+        assertNearest(graph, 0, -180);
+    }
+
+    @Test
+    void findsANearestNodeAmongDuplicateCoordinates() {
+        Random random = new Random(73);
+        CsrGraph.Builder builder = CsrGraph.builder();
+        double[] latitudes = new double[200];
+        double[] longitudes = new double[200];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = 22.4 + 0.2 * random.nextDouble();
+            longitudes[i] = 88.3 + 0.2 * random.nextDouble();
+        }
+        // Every coordinate is shared by several nodes of different names
+        for (int copy = 0; copy < 8; copy++) {
+            for (int i = 0; i < latitudes.length; i++)
+                builder.addLocation(new Location("D" + copy + "-" + i, latitudes[i], longitudes[i]));
+        }
+        CsrGraph graph = builder.build();
+
+        for (int i = 0; i < latitudes.length; i++) {
+            int nearest = graph.nearestNode(latitudes[i], longitudes[i]);
+            assertEquals(latitudes[i], graph.getLatitude(nearest));
+            assertEquals(longitudes[i], graph.getLongitude(nearest));
+        }
+        for (int i = 0; i < QUERIES; i++)
+            assertNearest(graph, 22.4 + 0.2 * random.nextDouble(), 88.3 + 0.2 * random.nextDouble());
+    }
+
+    @Test
+    void answersBatchesLikeSingleLookups() {
+        Random random = new Random(74);
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int i = 0; i < 3000; i++)
+            builder.addLocation(new Location("B" + i, randomLatitude(random), randomLongitude(random)));
+        CsrGraph graph = builder.build();
+        double[] latitudes = new double[QUERIES];
+        double[] longitudes = new double[QUERIES];
+        int[] expected = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            latitudes[i] = randomLatitude(random);
+            longitudes[i] = randomLongitude(random);
+            expected[i] = graph.nearestNode(latitudes[i], longitudes[i]);
+        }
+
+        assertArrayEquals(expected, graph.nearestNodes(latitudes, longitudes));
+    }
+
+    @Test
+    void findsNoNodeInAnEmptyGraph() {
+        assertEquals(-1, new SpatialIndex(CsrGraph.builder().build()).nearest(22.57, 88.36));
+    }
+
+    // Compares the distance of the node found with that of a linear scan, since ties may pick either node
+    private static void assertNearest(CsrGraph graph, double latitude, double longitude) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int node = 0; node < graph.getNodeCount(); node++)
+            best = Math.min(best, Location.distanceKm(latitude, longitude,
+                                                      graph.getLatitude(node), graph.getLongitude(node)));
+
+        int nearest = graph.nearestNode(latitude, longitude);
+        assertEquals(best, Location.distanceKm(latitude, longitude, graph.getLatitude(nearest),
+                                               graph.getLongitude(nearest)), 1e-6,
+                     "nearest node of (" + latitude + ", " + longitude + ")");
+    }
+
+    // Uniform over the sphere rather than over latitudes
+    private static double randomLatitude(Random random) {
+        return Math.toDegrees(Math.asin(2 * random.nextDouble() - 1));
+    }
+
+    private static double randomLongitude(Random random) {
+        return 360 * random.nextDouble() - 180;
+    }
+}
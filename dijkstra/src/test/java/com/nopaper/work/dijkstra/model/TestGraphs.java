@@ -0,0 +1,54 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 05-Dec-2025 10:14:37 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import java.util.Random;
+
+/**
+ * Seeded random graphs for comparing search variants against plain Dijkstra.
+ */
+final class TestGraphs {
+
+    private TestGraphs() {}
+
+    /**
+     * Builds a jittered square grid around Kolkata of {@code side * side} nodes. Each
+     * node is joined to its right and lower neighbour with probability 0.85 and to its
+     * lower right one with probability 0.3, so that the graph has holes and detours. The
+     * weight of an edge is its great-circle length stretched by a random factor of 1 to 2,
+     * which keeps equally short paths unlikely and great-circle distances lower bounds.
+     */
+    static CsrGraph grid(int side, long seed) {
+        Random random = new Random(seed);
+        CsrGraph.Builder builder = CsrGraph.builder();
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                double lat = 22.0 + row * 0.001 + random.nextDouble() * 0.0005;
+                double lon = 88.0 + col * 0.001 + random.nextDouble() * 0.0005;
+                builder.addLocation(new Location("n" + (row * side + col), lat, lon));
+            }
+        }
+
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int id = row * side + col;
+                if (col + 1 < side && random.nextDouble() < 0.85)
+                    addEdge(builder, random, id, id + 1);
+                if (row + 1 < side && random.nextDouble() < 0.85)
+                    addEdge(builder, random, id, id + side);
+                if (col + 1 < side && row + 1 < side && random.nextDouble() < 0.3)
+                    addEdge(builder, random, id, id + side + 1);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void addEdge(CsrGraph.Builder builder, Random random, int from, int to) {
+        double length = builder.getLocation(from).distanceTo(builder.getLocation(to));
+        builder.addEdge(from, to, length * (1 + random.nextDouble()));
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 01:26:44 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.dijkstra.dto.LocationDTO;
+import com.nopaper.work.dijkstra.dto.PathRequest;
+import com.nopaper.work.dijkstra.model.GeoDistance;
+
+class GraphBuildCacheTest {
+
+    // Estimated at 2 x (200 + 2) bytes for the locations plus 100 for the connection
+    private static final long PAYLOAD_BYTES = 504;
+
+    private static final List<PathRequest.Connection> CONNECTIONS = List.of(new PathRequest.Connection(0, 1));
+
+    @Test
+    void identicalPayloadsReuseTheGraph() {
+        GraphBuildCache cache = cache(10 * PAYLOAD_BYTES);
+        GraphRegistry.RegisteredGraph first = cache.getOrBuild(payload("A", "B"), CONNECTIONS);
+        GraphRegistry.RegisteredGraph second = cache.getOrBuild(payload("A", "B"), CONNECTIONS);
+
+        assertSame(first, second);
+        assertEquals(GraphBuildCache.hash(payload("A", "B"), CONNECTIONS), first.id());
+        QueryCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.size());
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedGraphBeyondTheByteBound() {
+        GraphBuildCache cache = cache(2 * PAYLOAD_BYTES + 50);
+        GraphRegistry.RegisteredGraph a = cache.getOrBuild(payload("A", "B"), CONNECTIONS);
+        cache.getOrBuild(payload("C", "D"), CONNECTIONS);
+        assertSame(a, cache.getOrBuild(payload("A", "B"), CONNECTIONS));
+        cache.getOrBuild(payload("E", "F"), CONNECTIONS);
+
+        QueryCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.size());
+        assertEquals(1, stats.evictions());
+        assertSame(a, cache.getOrBuild(payload("A", "B"), CONNECTIONS));
+        long misses = cache.getStats().misses();
+        cache.getOrBuild(payload("C", "D"), CONNECTIONS);
+        assertEquals(misses + 1, cache.getStats().misses());
+    }
+
+    @Test
+    void payloadsLargerThanTheBoundAreNotCached() {
+        GraphBuildCache cache = cache(PAYLOAD_BYTES - 1);
+        GraphRegistry.RegisteredGraph first = cache.getOrBuild(payload("A", "B"), CONNECTIONS);
+        GraphRegistry.RegisteredGraph second = cache.getOrBuild(payload("A", "B"), CONNECTIONS);
+
+        assertNotSame(first, second);
+        QueryCache.Stats stats = cache.getStats();
+        assertEquals(0, stats.size());
+        assertEquals(0, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(0, stats.evictions());
+    }
+
+    @Test
+    void hashCoversNamesCoordinatesConnectionsAndOrder() {
+        String hash = GraphBuildCache.hash(payload("ab", "c"), CONNECTIONS);
+        assertEquals(hash, GraphBuildCache.hash(payload("ab", "c"), CONNECTIONS));
+        assertNotEquals(hash, GraphBuildCache.hash(payload("a", "bc"), CONNECTIONS));
+        assertNotEquals(hash, GraphBuildCache.hash(payload("c", "ab"), CONNECTIONS));
+        assertNotEquals(hash, GraphBuildCache.hash(payload("ab", "c"), List.of(new PathRequest.Connection(1, 0))));
+        assertNotEquals(hash, GraphBuildCache.hash(List.of(new LocationDTO("ab", 22.57, 88.36),
+                                                           new LocationDTO("c", 22.58, 88.38)), CONNECTIONS));
+    }
+
+    @Test
+    void rejectsConnectionsToUnknownLocations() {
+        GraphBuildCache cache = cache(10 * PAYLOAD_BYTES);
+        assertThrows(IllegalArgumentException.class,
+                     () -> cache.getOrBuild(payload("A", "B"), List.of(new PathRequest.Connection(0, 2))));
+        assertEquals(0, cache.getStats().size());
+    }
+
+    private static GraphBuildCache cache(long maxBytes) {
+        return new GraphBuildCache(maxBytes, GeoDistance.Mode.HAVERSINE, new PathMetrics());
+    }
+
+    private static List<LocationDTO> payload(String first, String second) {
+        return List.of(new LocationDTO(first, 22.57, 88.36), new LocationDTO(second, 22.57, 88.38));
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 02:05:37 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.nopaper.work.dijkstra.dto.GraphRequest;
+import com.nopaper.work.dijkstra.model.CsrGraph;
+import com.nopaper.work.dijkstra.model.GeoDistance;
+import com.nopaper.work.dijkstra.model.GeographicGraph;
+import com.nopaper.work.dijkstra.model.Location;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+class GraphStreamReaderTest {
+
+    private static final String A = "{\"name\": \"A\", \"latitude\": 22.57, \"longitude\": 88.36}";
+    private static final String B = "{\"name\": \"B\", \"latitude\": 22.57, \"longitude\": 88.38}";
+    private static final String C = "{\"name\": \"C\", \"latitude\": 22.58, \"longitude\": 88.37}";
+
+    // Configured like the mapper of Spring Boot, which ignores unknown properties
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Test
+    void buildsTheSameGraphAsTheDtoPath() throws IOException {
+        // Connections first, a repeated location and an unknown field
+        assertSameGraph("{\"connections\": [{\"from\": 0, \"to\": 1}, {\"from\": 1, \"to\": 2},"
+                        + " {\"from\": 3, \"to\": 2}, {\"from\": 2, \"to\": 0}],"
+                        + " \"preprocess\": [\"ALT\"],"
+                        + " \"locations\": [" + A + ", " + B + ", " + C + ", " + A + "], \"extra\": 1}");
+        assertSameGraph("{\"locations\": [" + A + ", " + B + ", " + C + "],"
+                        + " \"connections\": [{\"from\": 2, \"to\": 1, \"weight\": 5}, {\"from\": 0, \"to\": 2}]}");
+    }
+
+    @Test
+    void keepsOtherFieldsForBinding() throws IOException {
+        GraphStreamReader.StreamedGraph streamed = stream("{\"preprocess\": [\"ALT\"], \"locations\": ["
+                                                          + A + ", " + B + "], \"connections\": [{\"from\": 0, \"to\": 1}]}");
+        assertEquals("[\"ALT\"]", streamed.fields().get("preprocess").toString());
+        assertEquals(1, streamed.fields().size());
+    }
+
+    @Test
+    void rejectsWhatTheDtoPathRejects() {
+        String connections = "\"connections\": [{\"from\": 0, \"to\": 1}]";
+        List<String> invalid = List.of(
+            // Missing or too few locations and connections
+            "{" + connections + "}",
+            "{\"locations\": [], " + connections + "}",
+            "{\"locations\": [" + A + "], " + connections + "}",
+            "{\"locations\": [" + A + ", " + B + "]}",
+            "{\"locations\": [" + A + ", " + B + "], \"connections\": []}",
+            // Missing or blank name
+            "{\"locations\": [" + A + ", {\"latitude\": 22.57, \"longitude\": 88.38}], " + connections + "}",
+            "{\"locations\": [" + A + ", {\"name\": \" \", \"latitude\": 22.57, \"longitude\": 88.38}], "
+                + connections + "}",
+            // Missing and out-of-range coordinates
+            "{\"locations\": [" + A + ", {\"name\": \"B\", \"longitude\": 88.38}], " + connections + "}",
+            "{\"locations\": [" + A + ", {\"name\": \"B\", \"latitude\": null, \"longitude\": 88.38}], "
+                + connections + "}",
+            "{\"locations\": [" + A + ", {\"name\": \"B\", \"latitude\": 90.5, \"longitude\": 88.38}], "
+                + connections + "}",
+            "{\"locations\": [" + A + ", {\"name\": \"B\", \"latitude\": 22.57, \"longitude\": -180.5}], "
+                + connections + "}",
+            // Connection indices out of range, missing, or given before the locations
+            "{\"locations\": [" + A + ", " + B + "], \"connections\": [{\"from\": 0, \"to\": 2}]}",
+            "{\"locations\": [" + A + ", " + B + "], \"connections\": [{\"from\": -1, \"to\": 1}]}",
+            "{\"connections\": [{\"from\": 0, \"to\": 2}], \"locations\": [" + A + ", " + B + "]}",
+            "{\"locations\": [" + A + ", " + B + "], \"connections\": [{\"from\": 0}]}");
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            for (String json : invalid) {
+                assertTrue(dtoRejects(validator, json), json);
+                assertThrows(IllegalArgumentException.class, () -> stream(json), json);
+            }
+        }
+    }
+
+    // Data binding keeps the last of repeated fields; the reader has consumed the first
+    // already, so it rejects them instead of silently merging
+    @Test
+    void rejectsRepeatedOrMalformedArrays() {
+        String locations = "\"locations\": [" + A + ", " + B + "]";
+        String connections = "\"connections\": [{\"from\": 0, \"to\": 1}]";
+        List<String> invalid = List.of(
+            "{" + locations + ", " + locations + ", " + connections + "}",
+            "{" + locations + ", " + connections + ", " + connections + "}",
+            "{\"locations\": {}, " + connections + "}",
+            "{" + locations + ", \"connections\": [[0, 1]]}",
+            "{\"locations\": [" + A + ", {\"name\": \"B\", \"latitude\": \"north\", \"longitude\": 88.38}], "
+                + connections + "}",
+            "[]");
+
+        for (String json : invalid)
+            assertThrows(IllegalArgumentException.class, () -> stream(json), json);
+    }
+
+    private void assertSameGraph(String json) throws IOException {
+        GraphStreamReader.StreamedGraph streamed = stream(json);
+        GraphRequest request = objectMapper.readValue(json, GraphRequest.class);
+        List<Location> locations = PathFinderService.convertToLocations(request.getLocations());
+        GeographicGraph built = PathFinderService.buildGraph(locations, request.getConnections());
+        GraphRegistry.RegisteredGraph entry = GraphRegistry.RegisteredGraph.of(null, built, locations);
+
+        assertArrayEquals(entry.nodeIds(), streamed.nodeIds());
+        CsrGraph expected = built.getCsrGraph();
+        CsrGraph actual = streamed.graph().getCsrGraph();
+        assertEquals(expected.getNodeCount(), actual.getNodeCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int v = 0; v < expected.getNodeCount(); v++) {
+            assertEquals(expected.getLocation(v), actual.getLocation(v));
+            assertEquals(expected.getEdgeStart(v), actual.getEdgeStart(v));
+            assertEquals(expected.getEdgeEnd(v), actual.getEdgeEnd(v));
+            for (int e = expected.getEdgeStart(v); e < expected.getEdgeEnd(v); e++) {
+                assertEquals(expected.getTarget(e), actual.getTarget(e));
+                assertEquals(expected.getWeight(e), actual.getWeight(e));
+            }
+        }
+    }
+
+    private boolean dtoRejects(Validator validator, String json) {
+        try {
+            GraphRequest request = objectMapper.readValue(json, GraphRequest.class);
+            if (!validator.validate(request).isEmpty())
+                return true;
+            PathFinderService.buildGraph(PathFinderService.convertToLocations(request.getLocations()),
+                                         request.getConnections());
+            return false;
+        } catch (IOException | IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private GraphStreamReader.StreamedGraph stream(String json) throws IOException {
+        return GraphStreamReader.read(objectMapper, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                                      GeoDistance.Mode.HAVERSINE);
+    }
+}
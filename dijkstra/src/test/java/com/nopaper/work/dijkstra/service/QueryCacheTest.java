@@ -0,0 +1,125 @@
+/**
+ * @package com.nopaper.work.dijkstra.service -> dijkstra
+ * @author saikatbarman
+ * @date 2025 18-Dec-2025 12:58:09 pm
+ * @git 
+ */
+package com.nopaper.work.dijkstra.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.nopaper.work.dijkstra.model.SearchAlgorithm;
+
+class QueryCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    // Integer keys below 65536 land in segment key % 16, so 0, 16 and 32 share one
+    @Test
+    void evictsTheLeastRecentlyUsedEntryOfAFullSegment() {
+        QueryCache<Integer, String> cache = new QueryCache<>(32, TTL, clock::get);
+        cache.put(0, "a");
+        cache.put(16, "b");
+        assertEquals("a", cache.get(0));
+        cache.put(32, "c");
+
+        assertNull(cache.get(16));
+        assertEquals("a", cache.get(0));
+        assertEquals("c", cache.get(32));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getStats().evictions());
+    }
+
+    @Test
+    void otherSegmentsKeepTheirShare() {
+        QueryCache<Integer, String> cache = new QueryCache<>(32, TTL, clock::get);
+        for (int key = 0; key < 32; key++)
+            cache.put(key, "v" + key);
+
+        assertEquals(32, cache.size());
+        assertEquals(0, cache.getStats().evictions());
+        for (int key = 0; key < 32; key++)
+            assertEquals("v" + key, cache.get(key));
+    }
+
+    @Test
+    void entriesExpireAfterTheirTimeToLive() {
+        QueryCache<Integer, String> cache = new QueryCache<>(32, TTL, clock::get);
+        cache.put(1, "a");
+        clock.addAndGet(TTL.toNanos() - 1);
+        assertEquals("a", cache.get(1));
+
+        clock.incrementAndGet();
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+
+        QueryCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.expirations());
+        assertEquals(0, stats.evictions());
+    }
+
+    @Test
+    void rewritingAnEntryRestartsItsTimeToLive() {
+        QueryCache<Integer, String> cache = new QueryCache<>(32, TTL, clock::get);
+        cache.put(1, "a");
+        clock.addAndGet(TTL.toNanos() / 2);
+        cache.put(1, "b");
+        clock.addAndGet(TTL.toNanos() / 2);
+
+        assertEquals("b", cache.get(1));
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        QueryCache<Integer, String> cache = new QueryCache<>(32, TTL, clock::get);
+        assertEquals(0.0, cache.getStats().getHitRate());
+        cache.get(1);
+        cache.put(1, "a");
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+
+        QueryCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.size());
+        assertEquals(2, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(0.5, stats.getHitRate());
+    }
+
+    @Test
+    void aNewGraphVersionMissesAndInvalidationIsPerGraph() {
+        QueryCache<PathCacheKey, String> cache = new QueryCache<>(32, TTL, clock::get);
+        cache.put(new PathCacheKey("g1", 1, 0, 5, SearchAlgorithm.DIJKSTRA), "old");
+        cache.put(new PathCacheKey("g1", 1, 5, 0, SearchAlgorithm.DIJKSTRA), "old reverse");
+        cache.put(new PathCacheKey("g2", 1, 0, 5, SearchAlgorithm.DIJKSTRA), "other");
+
+        assertNull(cache.get(new PathCacheKey("g1", 2, 0, 5, SearchAlgorithm.DIJKSTRA)));
+        assertNull(cache.get(new PathCacheKey("g1", 1, 0, 5, SearchAlgorithm.A_STAR)));
+        assertEquals("old", cache.get(new PathCacheKey("g1", 1, 0, 5, SearchAlgorithm.DIJKSTRA)));
+
+        assertEquals(2, cache.invalidateIf(key -> key.graphKey().equals("g1")));
+        assertNull(cache.get(new PathCacheKey("g1", 1, 0, 5, SearchAlgorithm.DIJKSTRA)));
+        assertEquals("other", cache.get(new PathCacheKey("g2", 1, 0, 5, SearchAlgorithm.DIJKSTRA)));
+    }
+
+    @Test
+    void sizeZeroDisablesCaching() {
+        QueryCache<Integer, String> cache = new QueryCache<>(0, TTL, clock::get);
+        cache.put(1, "a");
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+
+        assertThrows(IllegalArgumentException.class, () -> new QueryCache<Integer, String>(-1, TTL));
+    }
+}
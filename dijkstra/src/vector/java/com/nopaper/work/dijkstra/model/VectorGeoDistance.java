@@ -0,0 +1,68 @@
+/**
+ * @package com.nopaper.work.dijkstra.model -> dijkstra
+ * @author saikatbarman
+ * @date 2025 01-Dec-2025 10:31:17 am
+ * @git 
+ */
+package com.nopaper.work.dijkstra.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernels of {@link GeoDistance}, built only by the {@code vector} profile and
+ * loaded by name when the incubator module is present; each kernel handles the whole
+ * vectors of a batch and returns how many pairs it computed, leaving the tail to the
+ * scalar formulas.
+ */
+final class VectorGeoDistance implements GeoDistance.Kernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double RADIANS = Math.PI / 180;
+
+    VectorGeoDistance() {}
+
+    @Override
+    public int haversineKm(double[] lat1, double[] lon1, double[] lat2, double[] lon2,
+                           double[] distances, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector phi1 = DoubleVector.fromArray(SPECIES, lat1, i).mul(RADIANS);
+            DoubleVector phi2 = DoubleVector.fromArray(SPECIES, lat2, i).mul(RADIANS);
+            DoubleVector lambda1 = DoubleVector.fromArray(SPECIES, lon1, i);
+            DoubleVector lambda2 = DoubleVector.fromArray(SPECIES, lon2, i);
+
+            DoubleVector sinLat = phi2.sub(phi1).mul(0.5).lanewise(VectorOperators.SIN);
+            DoubleVector sinLon = lambda2.sub(lambda1).mul(RADIANS * 0.5).lanewise(VectorOperators.SIN);
+            DoubleVector cosLat = phi1.lanewise(VectorOperators.COS).mul(phi2.lanewise(VectorOperators.COS));
+            DoubleVector a = sinLat.mul(sinLat).add(cosLat.mul(sinLon).mul(sinLon));
+            DoubleVector c = a.sqrt().lanewise(VectorOperators.ATAN2, a.neg().add(1).sqrt());
+            c.mul(2 * GeoDistance.EARTH_RADIUS_KM).intoArray(distances, i);
+        }
+        return bound;
+    }
+
+    @Override
+    public int equirectangularKm(double[] lat1, double[] lon1, double[] lat2, double[] lon2,
+                                 double[] distances, int count) {
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector latitude1 = DoubleVector.fromArray(SPECIES, lat1, i);
+            DoubleVector latitude2 = DoubleVector.fromArray(SPECIES, lat2, i);
+            DoubleVector deltaLon = DoubleVector.fromArray(SPECIES, lon2, i)
+                .sub(DoubleVector.fromArray(SPECIES, lon1, i));
+            VectorMask<Double> east = deltaLon.compare(VectorOperators.GT, 180);
+            VectorMask<Double> west = deltaLon.compare(VectorOperators.LT, -180);
+            deltaLon = deltaLon.lanewise(VectorOperators.SUB, 360, east)
+                               .lanewise(VectorOperators.ADD, 360, west);
+
+            DoubleVector cosMean = latitude1.add(latitude2).mul(RADIANS * 0.5).lanewise(VectorOperators.COS);
+            DoubleVector x = deltaLon.mul(RADIANS).mul(cosMean);
+            DoubleVector y = latitude2.sub(latitude1).mul(RADIANS);
+            x.fma(x, y.mul(y)).sqrt().mul(GeoDistance.EARTH_RADIUS_KM).intoArray(distances, i);
+        }
+        return bound;
+    }
+}